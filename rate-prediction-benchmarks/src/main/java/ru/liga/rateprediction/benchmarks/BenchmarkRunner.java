@@ -0,0 +1,24 @@
+package ru.liga.rateprediction.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks jar. Accepts usual JMH command line options and always enables
+ * allocation profiling ({@code -prof gc}), so every run reports {@code gc.alloc.rate.norm} next to timings.
+ * <p>
+ * Usage: {@code java -jar rate-prediction-benchmarks/target/benchmarks.jar [JMH options] [benchmark regexp]}
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
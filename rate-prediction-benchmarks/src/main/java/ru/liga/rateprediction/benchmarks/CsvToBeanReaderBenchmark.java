@@ -0,0 +1,52 @@
+package ru.liga.rateprediction.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.liga.rateprediction.core.datasource.files.csv.CsvParserParams;
+import ru.liga.rateprediction.core.datasource.files.csv.CsvToBeanReader;
+import ru.liga.rateprediction.core.datasource.files.csv.RateCBRFCsvRow;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of synthetic multi-year CBRF files by available {@link CsvToBeanReader} implementations
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvToBeanReaderBenchmark {
+    private static final CsvParserParams PARAMS = CsvParserParams.builder().separator(';').build();
+
+    @Param({"openCSV", "cbrf"})
+    private String reader;
+
+    @Param({"20", "50"})
+    private int years;
+
+    @Param({"7", "365", "2147483647"})
+    private int count;
+
+    private CsvToBeanReader csvToBeanReader;
+
+    private byte[] csv;
+
+    @Setup
+    public void setUp() {
+        csvToBeanReader = switch (reader) {
+            case "openCSV" -> CsvToBeanReader.openCSV();
+            case "cbrf" -> CsvToBeanReader.cbrf();
+            default -> throw new IllegalArgumentException("Unknown reader = " + reader);
+        };
+        csv = SyntheticRates.cbrfCsv(years, 42);
+    }
+
+    @Benchmark
+    public List<RateCBRFCsvRow> readLines() throws IOException {
+        return csvToBeanReader.readLines(new ByteArrayInputStream(csv), PARAMS, RateCBRFCsvRow.class, count);
+    }
+}
@@ -0,0 +1,63 @@
+package ru.liga.rateprediction.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RateSeries;
+import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
+import ru.liga.rateprediction.core.algorithm.RatePredictor;
+import ru.liga.rateprediction.core.algorithm.RatePredictorFactory;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mean predictor over short and long horizons, counted in days after the newest known rate
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MeanRatePredictorBenchmark {
+    private static final int WINDOW = 7;
+
+    @Param({"1", "7", "30", "365", "3650"})
+    private int horizonDays;
+
+    private RatePredictor ratePredictor;
+
+    private List<RatePrediction> initialData;
+
+    private RateSeries initialSeries;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        final LocalDate lastKnownDate = LocalDate.now().minusDays(1);
+        ratePredictor = new RatePredictorFactory().create(RatePredictionAlgorithm.MEAN);
+        initialData = SyntheticRates.history(WINDOW, lastKnownDate, 42);
+        initialSeries = RateSeries.fromPredictions(initialData);
+        startDate = lastKnownDate.plusDays(1);
+        endDate = lastKnownDate.plusDays(horizonDays);
+    }
+
+    @Benchmark
+    public RatePrediction predictSingle() {
+        return ratePredictor.predictSingle(initialData, endDate);
+    }
+
+    @Benchmark
+    public List<RatePrediction> predictRange() {
+        return ratePredictor.predictRange(initialData, startDate, endDate);
+    }
+
+    @Benchmark
+    public List<RatePrediction> predictRangeFromSeries() {
+        return ratePredictor.predict(initialSeries, startDate, endDate);
+    }
+}
@@ -0,0 +1,53 @@
+package ru.liga.rateprediction.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.liga.rateprediction.core.CurrencyType;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.datasource.PredictionDataSource;
+import ru.liga.rateprediction.core.datasource.PredictionDataSourceFactory;
+import ru.liga.rateprediction.core.datasource.files.csv.CsvToBeanReader;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading of bundled currency files by CSV data sources with available {@link CsvToBeanReader} implementations
+ * and hits of cached data sources of {@link PredictionDataSourceFactory}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PredictionDataSourceBenchmark {
+    @Param({"EUR", "TRY"})
+    private String currencyCode;
+
+    @Param({"openCSV", "cbrf", "cacheHit"})
+    private String source;
+
+    @Param({"7", "365", "5399"})
+    private int rowsCount;
+
+    private PredictionDataSource predictionDataSource;
+
+    @Setup
+    public void setUp() {
+        final PredictionDataSourceFactory factory = new PredictionDataSourceFactory();
+        final CurrencyType currencyType = factory.getCurrencyCatalog().byCode(currencyCode).orElseThrow();
+        predictionDataSource = switch (source) {
+            case "openCSV" -> factory.createCsv(currencyType, CsvToBeanReader.openCSV());
+            case "cbrf" -> factory.createCsv(currencyType, CsvToBeanReader.cbrf());
+            case "cacheHit" -> factory.create(currencyType);
+            default -> throw new IllegalArgumentException("Unknown source = " + source);
+        };
+        // the first query of cached data source reads file, so it is made before measurement
+        predictionDataSource.getData(rowsCount);
+    }
+
+    @Benchmark
+    public List<RatePrediction> getData() {
+        return predictionDataSource.getData(rowsCount);
+    }
+}
@@ -0,0 +1,67 @@
+package ru.liga.rateprediction.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RateSeries;
+import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
+import ru.liga.rateprediction.core.algorithm.RatePredictor;
+import ru.liga.rateprediction.core.algorithm.RatePredictorFactory;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Streamed mean prediction of a long horizon with different levels of predictor logger. Compare
+ * {@code gc.alloc.rate.norm} of levels: below TRACE it is the same as allocation of predictions themselves,
+ * so the prediction loop allocates nothing for logging. Benchmarks config has no appenders, so TRACE measures
+ * the cost of sampled window descriptions rather than of console output.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PredictionLoggingBenchmark {
+    private static final int WINDOW = 7;
+    private static final int HORIZON_DAYS = 3650;
+    private static final String PREDICTOR_LOGGER = "ru.liga.rateprediction.core.algorithm.MeanRatePredictor";
+
+    @Param({"WARN", "DEBUG", "TRACE"})
+    private String predictorLogLevel;
+
+    private RatePredictor ratePredictor;
+
+    private RateSeries initialSeries;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(PREDICTOR_LOGGER)).setLevel(Level.toLevel(predictorLogLevel));
+        final LocalDate lastKnownDate = LocalDate.now().minusDays(1);
+        ratePredictor = new RatePredictorFactory().create(RatePredictionAlgorithm.MEAN);
+        initialSeries = RateSeries.fromPredictions(SyntheticRates.history(WINDOW, lastKnownDate, 42));
+        startDate = lastKnownDate.plusDays(1);
+        endDate = lastKnownDate.plusDays(HORIZON_DAYS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ((Logger) LoggerFactory.getLogger(PREDICTOR_LOGGER)).setLevel(null);
+    }
+
+    @Benchmark
+    public void predictStream(Blackhole blackhole) {
+        try (Stream<RatePrediction> predictions = ratePredictor.predictStream(initialSeries, startDate, endDate)) {
+            predictions.forEach(blackhole::consume);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ru.liga.rateprediction.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.liga.rateprediction.core.CurrencyType;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RatePredictionFacade;
+import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end predictions through {@link RatePredictionFacade}: with warm history cache
+ * and with a new facade per call, which includes loading of currency history
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RatePredictionFacadeBenchmark {
+    @Param({"EUR", "USD", "TRY"})
+    private String currencyCode;
+
+    private CurrencyType currencyType;
+
+    @Param({"1", "7"})
+    private int rangeDays;
+
+    private RatePredictionFacade warmFacade;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        warmFacade = new RatePredictionFacade();
+        currencyType = warmFacade.findCurrencyType(currencyCode).orElseThrow();
+        startDate = LocalDate.now().plusDays(1);
+        endDate = rangeDays == 1 ? null : LocalDate.now().plusDays(rangeDays);
+    }
+
+    @TearDown
+    public void tearDown() {
+        warmFacade.close();
+    }
+
+    @Benchmark
+    public List<RatePrediction> predictRateWarm() {
+        return warmFacade.predictRate(RatePredictionAlgorithm.MEAN, currencyType, startDate, endDate);
+    }
+
+    @Benchmark
+    public List<RatePrediction> predictRateCold() {
+        try (RatePredictionFacade coldFacade = new RatePredictionFacade()) {
+            return coldFacade.predictRate(RatePredictionAlgorithm.MEAN, currencyType, startDate, endDate);
+        }
+    }
+}
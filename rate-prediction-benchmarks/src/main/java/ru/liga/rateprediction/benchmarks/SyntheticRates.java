@@ -0,0 +1,63 @@
+package ru.liga.rateprediction.benchmarks;
+
+import lombok.experimental.UtilityClass;
+import ru.liga.rateprediction.core.RatePrediction;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generator of reproducible synthetic rate histories: a daily random walk with 4 decimal digits.
+ */
+@UtilityClass
+public class SyntheticRates {
+    private static final long INITIAL_RATE = 300_000L;
+
+    /**
+     * Method generates history of daily rates ordered by date descending, as in CBRF exports
+     *
+     * @param days     count of days in history
+     * @param lastDate date of the newest row
+     * @param seed     random seed
+     * @return {@link List} of rates, newest first
+     */
+    public static List<RatePrediction> history(int days, LocalDate lastDate, long seed) {
+        final SplittableRandom random = new SplittableRandom(seed);
+        final List<RatePrediction> history = new ArrayList<>(days);
+        long rate = INITIAL_RATE;
+        for (int i = 0; i < days; i++) {
+            rate = Math.max(1, rate + random.nextInt(-500, 501));
+            history.add(new RatePrediction(lastDate.minusDays(i), BigDecimal.valueOf(rate, 4)));
+        }
+
+        return history;
+    }
+
+    /**
+     * Method generates CSV file content in CBRF format (header "nominal;data;curs;cdx", dates as M/d/yyyy)
+     *
+     * @param years count of years in history
+     * @param seed  random seed
+     * @return UTF-8 encoded CSV file content
+     */
+    public static byte[] cbrfCsv(int years, long seed) {
+        final List<RatePrediction> history = history(years * 365, LocalDate.of(2023, 10, 13), seed);
+        final StringBuilder csv = new StringBuilder(history.size() * 40);
+        csv.append("\"nominal\";\"data\";\"curs\";\"cdx\"\n");
+        for (RatePrediction row : history) {
+            final LocalDate date = row.getDate();
+            csv.append("1;")
+                    .append(date.getMonthValue()).append('/')
+                    .append(date.getDayOfMonth()).append('/')
+                    .append(date.getYear()).append(';')
+                    .append(row.getRate().toPlainString())
+                    .append(";\"Синтетика\"\n");
+        }
+
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
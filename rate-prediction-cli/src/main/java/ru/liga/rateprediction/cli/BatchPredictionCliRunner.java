@@ -0,0 +1,193 @@
+package ru.liga.rateprediction.cli;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.liga.rateprediction.cli.commands.PredictionCliCommand;
+import ru.liga.rateprediction.cli.commands.PredictionCliCommandParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-interactive runner of commands read from a script, one command per line. Independent commands are executed
+ * concurrently and their output is written in order of commands, so output is the same as of sequential execution:
+ * the first unwritten command writes straight into output, and only the commands behind it are buffered until their
+ * turn comes. Other commands wait until all previous commands are written.
+ * Run ends at the end of input or after exit command.
+ */
+class BatchPredictionCliRunner {
+    /**
+     * The maximum count of commands that are executed or wait to be written,
+     * so memory use does not depend on script length
+     */
+    private static final int MAX_PENDING_COMMANDS = 256;
+
+    private final PredictionCliCommandParser predictionCliCommandParser;
+
+    private final Executor executor;
+
+    /**
+     * @param predictionCliCommandParser parser of commands, not null
+     * @param executor                   executor of independent commands, not null
+     */
+    BatchPredictionCliRunner(@NotNull PredictionCliCommandParser predictionCliCommandParser,
+                             @NotNull Executor executor) {
+        this.predictionCliCommandParser = predictionCliCommandParser;
+        this.executor = executor;
+    }
+
+    /**
+     * @param reader source of commands, not null. It is read until its end or exit command, but not closed
+     * @param out    writer of commands output, not null. It is flushed at the end of run
+     * @return summary of run
+     * @throws IOException if reading of commands failed
+     */
+    @NotNull
+    Summary run(@NotNull BufferedReader reader, @NotNull PrintWriter out) throws IOException {
+        final long startNanos = System.nanoTime();
+        final Deque<CompletableFuture<Void>> pending = new ArrayDeque<>();
+        long commandsCount = 0;
+        String input;
+        while ((input = reader.readLine()) != null) {
+            if (input.isBlank()) {
+                continue;
+            }
+            commandsCount++;
+
+            final PredictionCliCommand command = predictionCliCommandParser.parse(input.strip());
+            if (command.isIndependent()) {
+                pending.add(executeInOrder(command, input, out, pending.peekLast()));
+                if (pending.size() >= MAX_PENDING_COMMANDS) {
+                    pending.poll().join();
+                }
+                continue;
+            }
+
+            awaitAll(pending);
+            execute(command, input, out);
+            if (command.isExit()) {
+                break;
+            }
+        }
+        awaitAll(pending);
+        out.flush();
+
+        return new Summary(commandsCount, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Method executes command and reports its failure into output instead of stopping the run
+     *
+     * @param command command to execute, not null
+     * @param input   user input of command, not null
+     * @param out     writer of command output, not null
+     */
+    static void execute(@NotNull PredictionCliCommand command, @NotNull String input, @NotNull PrintWriter out) {
+        try {
+            command.execute(out);
+        } catch (Exception e) {
+            out.printf("Something went wrong during execution of \"%s\": %s\n", input, e.getMessage());
+        }
+    }
+
+    /**
+     * Method executes command concurrently and switches its output to the shared writer once the previous command
+     * is written, so output of the command is buffered only while it waits for its turn
+     *
+     * @param previous completion of writing of the previous command, nullable if there is no such command
+     * @return completion of writing of the whole command output
+     */
+    private CompletableFuture<Void> executeInOrder(PredictionCliCommand command,
+                                                   String input,
+                                                   PrintWriter out,
+                                                   @Nullable CompletableFuture<Void> previous) {
+        final OrderedOutput output = new OrderedOutput();
+        if (previous == null) {
+            output.attach(out);
+        }
+        final CompletableFuture<Void> executed = CompletableFuture.runAsync(
+                () -> execute(command, input, new PrintWriter(output)), executor
+        );
+        return previous == null
+                ? executed
+                : CompletableFuture.allOf(executed, previous.thenRun(() -> output.attach(out)));
+    }
+
+    private static void awaitAll(Deque<CompletableFuture<Void>> pending) {
+        while (!pending.isEmpty()) {
+            pending.poll().join();
+        }
+    }
+
+    /**
+     * Output of single command, that buffers written characters until it is attached to the shared writer
+     * and then writes them straight into it. Writes and attachment are guarded by this object, as well as writes
+     * of {@link PrintWriter} over it
+     */
+    private static class OrderedOutput extends Writer {
+        private StringBuilder buffer = new StringBuilder();
+
+        private PrintWriter target;
+
+        synchronized void attach(PrintWriter out) {
+            out.append(buffer);
+            buffer = null;
+            target = out;
+        }
+
+        @Override
+        public synchronized void write(char[] chars, int offset, int length) {
+            if (target == null) {
+                buffer.append(chars, offset, length);
+            } else {
+                target.write(chars, offset, length);
+            }
+        }
+
+        @Override
+        public synchronized void write(String string, int offset, int length) {
+            if (target == null) {
+                buffer.append(string, offset, offset + length);
+            } else {
+                target.write(string, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() {
+            // shared writer is flushed by runner
+        }
+
+        @Override
+        public void close() {
+            // shared writer is closed by its owner
+        }
+    }
+
+    /**
+     * @param commandsCount count of executed commands
+     * @param elapsedNanos  duration of run
+     */
+    record Summary(long commandsCount, long elapsedNanos) {
+        /**
+         * @return count of commands per second
+         */
+        double getThroughput() {
+            return elapsedNanos == 0 ? 0 : commandsCount * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "Executed %d commands in %d ms, %.1f commands per second",
+                    commandsCount, elapsedNanos / 1_000_000, getThroughput()
+            );
+        }
+    }
+}
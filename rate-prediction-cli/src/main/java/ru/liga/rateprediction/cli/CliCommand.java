@@ -12,6 +12,9 @@ import java.util.Optional;
 public enum CliCommand {
     RATE("rate"),
     HELP("help"),
+    IMPORT("import"),
+    BACKTEST("backtest"),
+    STATS("stats"),
     EXIT("exit");
 
     private final String code;
@@ -2,6 +2,6 @@ package ru.liga.rateprediction.cli;
 
 public class Main {
     public static void main(String[] args) {
-        RatePredictionCli.start();
+        RatePredictionCli.start(args);
     }
 }
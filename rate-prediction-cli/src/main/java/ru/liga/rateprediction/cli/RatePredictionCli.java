@@ -1,29 +1,127 @@
 package ru.liga.rateprediction.cli;
 
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
 import ru.liga.rateprediction.cli.commands.PredictionCliCommand;
 import ru.liga.rateprediction.cli.commands.PredictionCliCommandParser;
 import ru.liga.rateprediction.core.RatePredictionFacade;
+import ru.liga.rateprediction.core.algorithm.RatePredictorFactory;
+import ru.liga.rateprediction.core.concurrent.PredictionExecutors;
+import ru.liga.rateprediction.core.datasource.PredictionDataSourceFactory;
+import ru.liga.rateprediction.core.metrics.PredictionMetrics;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
 
 public class RatePredictionCli {
+    private static final String FILE_OPTION = "f";
+    private static final String BATCH_OPTION = "batch";
+    private static final Options OPTIONS = new Options()
+            .addOption(Option.builder(FILE_OPTION)
+                    .hasArg()
+                    .argName("file")
+                    .desc("file with commands, one per line, that are executed in batch mode")
+                    .build())
+            .addOption(Option.builder(BATCH_OPTION)
+                    .desc("execute commands from standard input in batch mode")
+                    .build());
+
     public static void start() {
-        final Scanner scanner = new Scanner(System.in);
-        final PredictionCliCommandParser predictionCliCommandParser = new PredictionCliCommandParser(
-                new RatePredictionFacade()
-        );
+        start(new String[0]);
+    }
+
+    /**
+     * Method starts interactive session, or batch run if {@value #FILE_OPTION} or {@value #BATCH_OPTION} option
+     * is set. Batch run writes commands output to standard output and summary of run to standard error.
+     *
+     * @param args command line arguments
+     */
+    public static void start(String[] args) {
+        final CommandLine commandLine;
+        try {
+            commandLine = new DefaultParser().parse(OPTIONS, args);
+        } catch (ParseException e) {
+            System.err.println("Invalid arguments: " + e.getMessage());
+            new HelpFormatter().printHelp("rate-prediction-cli", OPTIONS);
+            return;
+        }
+
+        final PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+        try (final RatePredictionFacade facade = createFacade()) {
+            final PredictionCliCommandParser predictionCliCommandParser = new PredictionCliCommandParser(facade);
+            if (commandLine.hasOption(FILE_OPTION)) {
+                try (final BufferedReader reader = Files.newBufferedReader(
+                        Path.of(commandLine.getOptionValue(FILE_OPTION)), Charset.defaultCharset()
+                )) {
+                    runBatch(predictionCliCommandParser, reader, out);
+                }
+            } else if (commandLine.hasOption(BATCH_OPTION)) {
+                runBatch(predictionCliCommandParser, new BufferedReader(new InputStreamReader(System.in)), out);
+            } else {
+                runInteractive(predictionCliCommandParser, new Scanner(System.in), out);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-        predictionCliCommandParser.executeHelp();
+    private static RatePredictionFacade createFacade() {
+        final PredictionDataSourceFactory predictionDataSourceFactory =
+                PredictionDataSourceFactory.fromSystemProperties();
+        if (predictionDataSourceFactory.hasDataDirectory()) {
+            predictionDataSourceFactory.watchDataDirectory();
+        }
+        PredictionMetrics.registerGlobalMBean();
+
+        return new RatePredictionFacade(new RatePredictorFactory(), predictionDataSourceFactory);
+    }
+
+    private static void runInteractive(PredictionCliCommandParser predictionCliCommandParser,
+                                       Scanner scanner,
+                                       PrintWriter out) {
+        predictionCliCommandParser.executeHelp(out);
         while (true) {
-            System.out.print("Input your command: ");
+            out.print("Input your command: ");
+            out.flush();
+            if (!scanner.hasNextLine()) {
+                break;
+            }
             final String input = scanner.nextLine();
 
             final PredictionCliCommand command = predictionCliCommandParser.parse(input);
-            try {
-                command.execute();
-            } catch (Exception e) {
-                System.out.printf("Something went wrong during execution of \"%s\": %s\n", input, e.getMessage());
+            BatchPredictionCliRunner.execute(command, input, out);
+            out.flush();
+            if (command.isExit()) {
+                break;
             }
         }
+        out.flush();
+    }
+
+    private static void runBatch(PredictionCliCommandParser predictionCliCommandParser,
+                                 BufferedReader reader,
+                                 PrintWriter out) throws IOException {
+        final ExecutorService executor = PredictionExecutors.newDefaultExecutor("rate-prediction-cli");
+        try {
+            final BatchPredictionCliRunner.Summary summary = new BatchPredictionCliRunner(
+                    predictionCliCommandParser, executor
+            ).run(reader, out);
+            System.err.println(summary);
+        } finally {
+            executor.shutdown();
+        }
     }
 }
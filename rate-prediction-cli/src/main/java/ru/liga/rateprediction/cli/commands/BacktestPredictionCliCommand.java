@@ -0,0 +1,32 @@
+package ru.liga.rateprediction.cli.commands;
+
+import org.jetbrains.annotations.NotNull;
+
+import ru.liga.rateprediction.core.RatePredictionFacade;
+import ru.liga.rateprediction.core.backtest.BacktestResult;
+
+import java.io.PrintWriter;
+import java.util.List;
+
+class BacktestPredictionCliCommand implements PredictionCliCommand {
+    private final RatePredictionFacade ratePredictionFacade;
+
+    public BacktestPredictionCliCommand(RatePredictionFacade ratePredictionFacade) {
+        this.ratePredictionFacade = ratePredictionFacade;
+    }
+
+    @Override
+    public void execute(@NotNull PrintWriter out) {
+        final List<BacktestResult> results = ratePredictionFacade.backtest();
+        out.printf("%-8s %-10s %6s %10s %10s %8s\n", "currency", "algorithm", "days", "MAE", "RMSE", "MAPE");
+        results.forEach(result -> out.printf(
+                "%-8s %-10s %6d %10.4f %10.4f %7.3f%%\n",
+                result.getCurrencyType(),
+                result.getAlgorithm().getCode(),
+                result.getCount(),
+                result.getMeanAbsoluteError(),
+                result.getRootMeanSquaredError(),
+                result.getMeanAbsolutePercentageError()
+        ));
+    }
+}
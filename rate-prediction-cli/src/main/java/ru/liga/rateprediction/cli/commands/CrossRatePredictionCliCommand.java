@@ -0,0 +1,69 @@
+package ru.liga.rateprediction.cli.commands;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import ru.liga.rateprediction.core.output.RatePredictionFormat;
+import ru.liga.rateprediction.core.output.RatePredictionWriter;
+import ru.liga.rateprediction.core.CurrencyPair;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RatePredictionFacade;
+import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
+import ru.liga.rateprediction.core.algorithm.RatePredictorParams;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Command that predicts cross rates of currency pair, e.g. {@code rate EUR/USD week}
+ */
+@Getter
+class CrossRatePredictionCliCommand implements PredictionCliCommand {
+    private final RatePredictionAlgorithm ratePredictionAlgorithm;
+    private final RatePredictorParams ratePredictorParams;
+    private final CurrencyPair currencyPair;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final RatePredictionFormat outputFormat;
+    private final RatePredictionFacade ratePredictionFacade;
+
+    public CrossRatePredictionCliCommand(RatePredictionAlgorithm ratePredictionAlgorithm,
+                                         RatePredictorParams ratePredictorParams,
+                                         CurrencyPair currencyPair,
+                                         LocalDate startDate,
+                                         LocalDate endDate,
+                                         RatePredictionFormat outputFormat,
+                                         RatePredictionFacade ratePredictionFacade) {
+        this.ratePredictionAlgorithm = ratePredictionAlgorithm;
+        this.ratePredictorParams = ratePredictorParams;
+        this.currencyPair = currencyPair;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.outputFormat = outputFormat;
+        this.ratePredictionFacade = ratePredictionFacade;
+    }
+
+    @Override
+    public void execute(@NotNull PrintWriter out) {
+        final RatePredictionWriter writer = outputFormat.newWriter(out);
+        try (Stream<RatePrediction> predictions = ratePredictionFacade.predictRateStream(
+                ratePredictionAlgorithm, ratePredictorParams, currencyPair, startDate, endDate
+        )) {
+            writer.writeHeader(currencyPair.getCode(), ratePredictionAlgorithm);
+            final Iterator<RatePrediction> iterator = predictions.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+            writer.writeFooter();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public boolean isIndependent() {
+        return true;
+    }
+}
@@ -1,9 +1,17 @@
 package ru.liga.rateprediction.cli.commands;
 
+import org.jetbrains.annotations.NotNull;
+
+import java.io.PrintWriter;
+
 class ExitPredictionCliCommand implements PredictionCliCommand {
     @Override
-    public void execute() {
-        System.out.println("Stopping program...");
-        System.exit(0);
+    public void execute(@NotNull PrintWriter out) {
+        out.println("Stopping program...");
+    }
+
+    @Override
+    public boolean isExit() {
+        return true;
     }
 }
@@ -1,29 +1,54 @@
 package ru.liga.rateprediction.cli.commands;
 
+import org.jetbrains.annotations.NotNull;
+
 import ru.liga.rateprediction.cli.CliCommand;
-import ru.liga.rateprediction.cli.PredictionRange;
-import ru.liga.rateprediction.core.CurrencyType;
+import ru.liga.rateprediction.core.PredictionRange;
+import ru.liga.rateprediction.core.output.RatePredictionFormat;
+import ru.liga.rateprediction.core.RatePredictionFacade;
 
+import java.io.PrintWriter;
 import java.util.Arrays;
 
+/**
+ * Command prints usage. Currencies and algorithms are discovered at runtime, so text is built on every call
+ */
 class HelpPredictionCliCommand implements PredictionCliCommand {
-    private static final String HELP_TEXT =
-            String.format(
-                    """
-                            Input your command in format: (command) [currency_type] [prediction_range]. For example "rate TRY tomorrow" or "rate USD week".
-                                        
-                            Supported commands: %s.
-                            Supported currencies: %s.
-                            Supported ranges: %s.
-                            Good luck!
-                            """,
-                    Arrays.toString(CliCommand.values()),
-                    Arrays.toString(CurrencyType.values()),
-                    Arrays.toString(PredictionRange.values())
-            );
+    private static final String HELP_TEMPLATE = """
+            Input your command in format: (command) [currency_type] [prediction_range]. For example "rate TRY tomorrow" or "rate USD week".
+            Currency pair instead of currency predicts cross rate, for example "rate EUR/USD week" is price of euro in dollars.
+            Option "-alg" selects prediction algorithm, for example "rate USD week -alg linear".
+            Option "-window" sets count of the latest known rates used by algorithm, at most 365, for example "rate USD week -window 30".
+            Options "-date" and "-period" replace prediction range, for example "rate USD -date 2031-01-01" or "rate EUR -period 90".
+            Option "--format" selects output format, for example "rate USD week --format json".
+            Command "import" converts currency files into binary snapshots for faster start.
+            Command "backtest" measures accuracy of all algorithms on known history of all currencies.
+            Command "stats" shows latencies of predictions, data loading and algorithms since start.
+            Start application with "-f commands.txt" or "-batch" to execute commands from file or standard input without prompts.
+
+            Supported commands: %s.
+            Supported currencies: %s.
+            Supported ranges: %s.
+            Supported algorithms: %s.
+            Supported formats: %s.
+            Good luck!
+            """;
+
+    private final RatePredictionFacade ratePredictionFacade;
+
+    HelpPredictionCliCommand(RatePredictionFacade ratePredictionFacade) {
+        this.ratePredictionFacade = ratePredictionFacade;
+    }
 
     @Override
-    public void execute() {
-        System.out.println(HELP_TEXT);
+    public void execute(@NotNull PrintWriter out) {
+        out.println(String.format(
+                HELP_TEMPLATE,
+                Arrays.toString(CliCommand.values()),
+                ratePredictionFacade.getCurrencyTypes(),
+                Arrays.toString(PredictionRange.values()),
+                ratePredictionFacade.getAlgorithms(),
+                Arrays.toString(RatePredictionFormat.codes())
+        ));
     }
 }
@@ -0,0 +1,23 @@
+package ru.liga.rateprediction.cli.commands;
+
+import org.jetbrains.annotations.NotNull;
+
+import ru.liga.rateprediction.core.RatePredictionFacade;
+
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.List;
+
+class ImportPredictionCliCommand implements PredictionCliCommand {
+    private final RatePredictionFacade ratePredictionFacade;
+
+    public ImportPredictionCliCommand(RatePredictionFacade ratePredictionFacade) {
+        this.ratePredictionFacade = ratePredictionFacade;
+    }
+
+    @Override
+    public void execute(@NotNull PrintWriter out) {
+        final List<Path> snapshots = ratePredictionFacade.importSnapshots();
+        snapshots.forEach(snapshot -> out.printf("Imported snapshot %s\n", snapshot));
+    }
+}
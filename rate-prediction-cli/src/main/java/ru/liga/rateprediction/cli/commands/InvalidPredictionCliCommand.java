@@ -2,6 +2,8 @@ package ru.liga.rateprediction.cli.commands;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.io.PrintWriter;
+
 class InvalidPredictionCliCommand implements PredictionCliCommand {
     @NotNull
     private final String reason;
@@ -11,7 +13,7 @@ class InvalidPredictionCliCommand implements PredictionCliCommand {
     }
 
     @Override
-    public void execute() {
-        System.out.printf("Something wrong with your command: %s. Please try again.\n", reason);
+    public void execute(@NotNull PrintWriter out) {
+        out.printf("Something wrong with your command: %s. Please try again.\n", reason);
     }
 }
@@ -1,5 +1,26 @@
 package ru.liga.rateprediction.cli.commands;
 
+import org.jetbrains.annotations.NotNull;
+
+import java.io.PrintWriter;
+
 public interface PredictionCliCommand {
-    void execute();
+    /**
+     * @param out writer of command output, not null. Command does not flush it
+     */
+    void execute(@NotNull PrintWriter out);
+
+    /**
+     * @return true if command only reads data, so it can be executed concurrently with other such commands
+     */
+    default boolean isIndependent() {
+        return false;
+    }
+
+    /**
+     * @return true if application stops after this command
+     */
+    default boolean isExit() {
+        return false;
+    }
 }
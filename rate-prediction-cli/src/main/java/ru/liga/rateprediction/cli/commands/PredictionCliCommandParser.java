@@ -1,17 +1,60 @@
 package ru.liga.rateprediction.cli.commands;
 
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
 import ru.liga.rateprediction.cli.CliCommand;
-import ru.liga.rateprediction.cli.PredictionRange;
+import ru.liga.rateprediction.core.PredictionRange;
+import ru.liga.rateprediction.core.output.RatePredictionFormat;
+import ru.liga.rateprediction.core.CurrencyPair;
 import ru.liga.rateprediction.core.CurrencyType;
 import ru.liga.rateprediction.core.RatePredictionFacade;
 import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
+import ru.liga.rateprediction.core.algorithm.RatePredictorParams;
 
+import java.io.PrintWriter;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.Optional;
 import java.util.regex.Pattern;
 
 public class PredictionCliCommandParser {
     private static final Pattern ARGS_DELIMITER = Pattern.compile("\\s");
+    static final String ALGORITHM_OPTION = "alg";
+    static final String WINDOW_OPTION = "window";
+    static final String FORMAT_OPTION = "format";
+    static final String DATE_OPTION = "date";
+    static final String PERIOD_OPTION = "period";
+    private static final Options RATE_OPTIONS = new Options()
+            .addOption(Option.builder(ALGORITHM_OPTION)
+                    .hasArg()
+                    .argName("algorithm")
+                    .desc("prediction algorithm, mean by default")
+                    .build())
+            .addOption(Option.builder(WINDOW_OPTION)
+                    .hasArg()
+                    .argName("days")
+                    .desc("count of the latest known rates used by algorithm, algorithm default if absent")
+                    .build())
+            .addOption(Option.builder(FORMAT_OPTION)
+                    .longOpt(FORMAT_OPTION)
+                    .hasArg()
+                    .argName("format")
+                    .desc("output format: text (default), json or csv")
+                    .build())
+            .addOption(Option.builder(DATE_OPTION)
+                    .hasArg()
+                    .argName("yyyy-MM-dd")
+                    .desc("date of prediction instead of range, or start of period if it is set")
+                    .build())
+            .addOption(Option.builder(PERIOD_OPTION)
+                    .hasArg()
+                    .argName("days")
+                    .desc("count of predicted days instead of range, starting tomorrow or at date if it is set")
+                    .build());
 
     private final RatePredictionFacade ratePredictionFacade;
 
@@ -33,52 +76,181 @@ public class PredictionCliCommandParser {
         return parseCommand(predictionCommand.get(), args);
     }
 
-    public void executeHelp() {
-        new HelpPredictionCliCommand().execute();
+    public void executeHelp(PrintWriter out) {
+        new HelpPredictionCliCommand(ratePredictionFacade).execute(out);
     }
 
     //TODO сюда явно стоит прикрутить стратегию, но получается, что это стратегия, внутри команды...
     // не слишком ли чересчур
     private PredictionCliCommand parseCommand(CliCommand cliCommand, String[] args) {
         return switch (cliCommand) {
-            case HELP -> new HelpPredictionCliCommand();
+            case HELP -> new HelpPredictionCliCommand(ratePredictionFacade);
             case EXIT -> new ExitPredictionCliCommand();
+            case IMPORT -> new ImportPredictionCliCommand(ratePredictionFacade);
+            case BACKTEST -> new BacktestPredictionCliCommand(ratePredictionFacade);
+            case STATS -> new StatsPredictionCliCommand(ratePredictionFacade);
             case RATE -> parseRateCommand(args);
         };
     }
 
-    private PredictionCliCommand parseRateCommand(String[] args) {
-        if (args.length != 3) {
+    private PredictionCliCommand parseRateCommand(String[] userArgs) {
+        final CommandLine commandLine;
+        try {
+            commandLine = new DefaultParser().parse(RATE_OPTIONS, userArgs);
+        } catch (ParseException e) {
+            return new InvalidPredictionCliCommand("Invalid command options: " + e.getMessage());
+        }
+
+        final String[] args = commandLine.getArgs();
+        final boolean explicitDates = commandLine.hasOption(DATE_OPTION) || commandLine.hasOption(PERIOD_OPTION);
+        if (args.length != (explicitDates ? 2 : 3)) {
             return new InvalidPredictionCliCommand(
-                    "Command must contain exactly 3 parameters: prediction type, currency type, prediction range"
+                    "Command must contain exactly 3 parameters: prediction type, currency type, prediction range."
+                            + " Prediction range must be omitted if -date or -period option is set"
             );
         }
 
-        final Optional<CurrencyType> currencyType = CurrencyType.byCode(args[1]);
-        if (currencyType.isEmpty()) {
+        final boolean crossRate = args[1].indexOf(CurrencyPair.SEPARATOR) >= 0;
+        final Optional<CurrencyType> currencyType = ratePredictionFacade.findCurrencyType(args[1]);
+        final Optional<CurrencyPair> currencyPair = ratePredictionFacade.findCurrencyPair(args[1]);
+        if (crossRate ? currencyPair.isEmpty() : currencyType.isEmpty()) {
             return new InvalidPredictionCliCommand(String.format(
-                    "Invalid currency type = %s! Supported currency types = %s",
+                    "Invalid currency type = %s! Supported currency types = %s"
+                            + ", or pair of two different of them, e.g. EUR/USD",
                     args[1],
-                    Arrays.toString(CurrencyType.values())
+                    ratePredictionFacade.getCurrencyTypes()
             ));
         }
 
-        final Optional<PredictionRange> predictionRange = PredictionRange.byCode(args[2]);
-        if (predictionRange.isEmpty()) {
+        final LocalDate today = LocalDate.now();
+        final PredictionRange.Dates dates;
+        if (explicitDates) {
+            try {
+                dates = parseExplicitDates(
+                        commandLine.getOptionValue(DATE_OPTION), commandLine.getOptionValue(PERIOD_OPTION), today
+                );
+            } catch (IllegalArgumentException e) {
+                return new InvalidPredictionCliCommand(e.getMessage());
+            }
+        } else {
+            final Optional<PredictionRange> predictionRange = PredictionRange.byCode(args[2]);
+            if (predictionRange.isEmpty()) {
+                return new InvalidPredictionCliCommand(String.format(
+                        "Invalid prediction range = %s! Available prediction ranges = %s",
+                        args[2],
+                        Arrays.toString(PredictionRange.values())
+                ));
+            }
+            dates = predictionRange.get().toDates(today);
+        }
+
+        final String algorithmCode = commandLine.getOptionValue(
+                ALGORITHM_OPTION, RatePredictionAlgorithm.MEAN.getCode()
+        );
+        final Optional<RatePredictionAlgorithm> algorithm = ratePredictionFacade.findAlgorithm(algorithmCode);
+        if (algorithm.isEmpty()) {
             return new InvalidPredictionCliCommand(String.format(
-                    "Invalid prediction range = %s! Available prediction ranges = %s",
-                    args[2],
-                    Arrays.toString(PredictionRange.values())
+                    "Invalid algorithm = %s! Available algorithms = %s",
+                    algorithmCode,
+                    ratePredictionFacade.getAlgorithms()
             ));
         }
-        final PredictionRange.Dates dates = predictionRange.get().toDates();
+
+        final Integer window;
+        try {
+            window = parseWindow(commandLine.getOptionValue(WINDOW_OPTION));
+        } catch (NumberFormatException e) {
+            return new InvalidPredictionCliCommand(String.format(
+                    "Invalid window = %s! Window must be integer from 1 to %s",
+                    commandLine.getOptionValue(WINDOW_OPTION),
+                    RatePredictorParams.MAX_WINDOW
+            ));
+        }
+
+        final String formatCode = commandLine.getOptionValue(FORMAT_OPTION, RatePredictionFormat.TEXT.getCode());
+        final Optional<RatePredictionFormat> outputFormat = RatePredictionFormat.byCode(formatCode);
+        if (outputFormat.isEmpty()) {
+            return new InvalidPredictionCliCommand(String.format(
+                    "Invalid format = %s! Available formats = %s",
+                    formatCode,
+                    Arrays.toString(RatePredictionFormat.codes())
+            ));
+        }
+
+        if (crossRate) {
+            return new CrossRatePredictionCliCommand(
+                    algorithm.get(),
+                    RatePredictorParams.builder().window(window).build(),
+                    currencyPair.get(),
+                    dates.getStart(),
+                    dates.getEnd(),
+                    outputFormat.get(),
+                    ratePredictionFacade
+            );
+        }
 
         return new RatePredictionCliCommand(
-                RatePredictionAlgorithm.MEAN,
+                algorithm.get(),
+                RatePredictorParams.builder().window(window).build(),
                 currencyType.get(),
                 dates.getStart(),
                 dates.getEnd(),
+                outputFormat.get(),
                 ratePredictionFacade
         );
     }
+
+    /**
+     * @param date   value of date option, nullable. Start of period or the only predicted date, tomorrow if absent
+     * @param period value of period option, nullable. Count of predicted days, single date if absent
+     * @param today  current date
+     * @throws IllegalArgumentException with message for user if any value is invalid
+     */
+    private static PredictionRange.Dates parseExplicitDates(String date, String period, LocalDate today) {
+        LocalDate start = today.plusDays(1);
+        if (date != null) {
+            try {
+                start = LocalDate.parse(date);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException(String.format(
+                        "Invalid date = %s! Date must be in format yyyy-MM-dd", date
+                ));
+            }
+            if (!start.isAfter(today)) {
+                throw new IllegalArgumentException(String.format(
+                        "Invalid date = %s! Date must be after today", date
+                ));
+            }
+        }
+
+        if (period == null) {
+            return PredictionRange.Dates.builder().start(start).build();
+        }
+        final int days;
+        try {
+            days = Integer.parseInt(period);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid period = %s! Period must be positive integer", period
+            ));
+        }
+        if (days <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid period = %s! Period must be positive integer", period
+            ));
+        }
+        return PredictionRange.Dates.ofPeriod(start, days);
+    }
+
+    private static Integer parseWindow(String window) {
+        if (window == null) {
+            return null;
+        }
+
+        final int parsed = Integer.parseInt(window);
+        if (parsed <= 0 || parsed > RatePredictorParams.MAX_WINDOW) {
+            throw new NumberFormatException("Window must be positive and at most " + RatePredictorParams.MAX_WINDOW);
+        }
+        return parsed;
+    }
 }
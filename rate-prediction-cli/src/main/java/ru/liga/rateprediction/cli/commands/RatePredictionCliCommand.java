@@ -1,57 +1,66 @@
 package ru.liga.rateprediction.cli.commands;
 
 import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import ru.liga.rateprediction.core.output.RatePredictionFormat;
+import ru.liga.rateprediction.core.output.RatePredictionWriter;
 import ru.liga.rateprediction.core.CurrencyType;
 import ru.liga.rateprediction.core.RatePrediction;
 import ru.liga.rateprediction.core.RatePredictionFacade;
 import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
+import ru.liga.rateprediction.core.algorithm.RatePredictorParams;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-import java.text.NumberFormat;
+import java.io.IOException;
+import java.io.PrintWriter;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.Locale;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 @Getter
 class RatePredictionCliCommand implements PredictionCliCommand {
-    private static final DateTimeFormatter CLI_DATE_FORMATTER = DateTimeFormatter
-            .ofPattern("E dd.MM.yyyy")
-            .withLocale(Locale.forLanguageTag("ru"));
-    private static final NumberFormat CLI_RATE_FORMATTER = new DecimalFormat(
-            "##.00", new DecimalFormatSymbols(Locale.forLanguageTag("ru"))
-    );
     private final RatePredictionAlgorithm ratePredictionAlgorithm;
+    private final RatePredictorParams ratePredictorParams;
     private final CurrencyType currencyType;
     private final LocalDate startDate;
     private final LocalDate endDate;
+    private final RatePredictionFormat outputFormat;
     private final RatePredictionFacade ratePredictionFacade;
 
     public RatePredictionCliCommand(RatePredictionAlgorithm ratePredictionAlgorithm,
+                                    RatePredictorParams ratePredictorParams,
                                     CurrencyType currencyType,
                                     LocalDate startDate,
                                     LocalDate endDate,
+                                    RatePredictionFormat outputFormat,
                                     RatePredictionFacade ratePredictionFacade) {
         this.ratePredictionAlgorithm = ratePredictionAlgorithm;
+        this.ratePredictorParams = ratePredictorParams;
         this.currencyType = currencyType;
         this.startDate = startDate;
         this.endDate = endDate;
+        this.outputFormat = outputFormat;
         this.ratePredictionFacade = ratePredictionFacade;
     }
 
     @Override
-    public void execute() {
-        ratePredictionFacade.predictRate(ratePredictionAlgorithm, currencyType, startDate, endDate)
-                .stream()
-                .map(this::predictionToString)
-                .forEach(System.out::println);
+    public void execute(@NotNull PrintWriter out) {
+        final RatePredictionWriter writer = outputFormat.newWriter(out);
+        try (Stream<RatePrediction> predictions = ratePredictionFacade.predictRateStream(
+                ratePredictionAlgorithm, ratePredictorParams, currencyType, startDate, endDate
+        )) {
+            writer.writeHeader(currencyType, ratePredictionAlgorithm);
+            final Iterator<RatePrediction> iterator = predictions.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+            writer.writeFooter();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
-    private String predictionToString(RatePrediction ratePrediction) {
-        return String.format(
-                "%s - %s",
-                CLI_DATE_FORMATTER.format(ratePrediction.getDate()),
-                CLI_RATE_FORMATTER.format(ratePrediction.getRate())
-        );
+    @Override
+    public boolean isIndependent() {
+        return true;
     }
 }
@@ -0,0 +1,49 @@
+package ru.liga.rateprediction.cli.commands;
+
+import org.jetbrains.annotations.NotNull;
+
+import ru.liga.rateprediction.core.RatePredictionFacade;
+import ru.liga.rateprediction.core.metrics.LatencySnapshot;
+import ru.liga.rateprediction.core.metrics.PredictionMetrics;
+
+import java.io.PrintWriter;
+
+/**
+ * Command prints metrics that were recorded since start, latencies are in microseconds
+ */
+class StatsPredictionCliCommand implements PredictionCliCommand {
+    private static final double NANOS_IN_MICRO = 1_000.0;
+
+    private final RatePredictionFacade ratePredictionFacade;
+
+    public StatsPredictionCliCommand(RatePredictionFacade ratePredictionFacade) {
+        this.ratePredictionFacade = ratePredictionFacade;
+    }
+
+    @Override
+    public void execute(@NotNull PrintWriter out) {
+        final PredictionMetrics metrics = ratePredictionFacade.getMetrics();
+        out.printf("%-22s %8s %10s %10s %10s %10s %10s\n", "metric", "count", "mean, us", "p50", "p90", "p99", "max");
+        metrics.getLatencies().forEach((name, latency) -> {
+            if (latency.getCount() > 0) {
+                printLatency(out, name, latency);
+            }
+        });
+        out.printf("prediction errors: %d\n", metrics.getPredictionErrorCount());
+        out.printf("predicted days: %d\n", metrics.getPredictedDayCount());
+        out.printf("CSV rows: %d, %d ns per row\n", metrics.getCsvRowCount(), metrics.getCsvRowNanos());
+    }
+
+    private static void printLatency(PrintWriter out, String name, LatencySnapshot latency) {
+        out.printf(
+                "%-22s %8d %10.1f %10.1f %10.1f %10.1f %10.1f\n",
+                name,
+                latency.getCount(),
+                latency.getMeanNanos() / NANOS_IN_MICRO,
+                latency.getP50Nanos() / NANOS_IN_MICRO,
+                latency.getP90Nanos() / NANOS_IN_MICRO,
+                latency.getP99Nanos() / NANOS_IN_MICRO,
+                latency.getMaxNanos() / NANOS_IN_MICRO
+        );
+    }
+}
@@ -0,0 +1,132 @@
+package ru.liga.rateprediction.cli;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.liga.rateprediction.cli.commands.PredictionCliCommand;
+import ru.liga.rateprediction.cli.commands.PredictionCliCommandParser;
+import ru.liga.rateprediction.core.RatePredictionFacade;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchPredictionCliRunnerTest {
+    private final RatePredictionFacade facade = new RatePredictionFacade();
+    private final PredictionCliCommandParser predictionCliCommandParser = new PredictionCliCommandParser(facade);
+
+    @AfterEach
+    void tearDown() {
+        facade.close();
+    }
+
+    @Test
+    void run_whenCommandsAreExecutedConcurrently_thenOutputIsInOrderOfCommands() throws IOException {
+        //given
+        final List<String> commands = List.of(
+                "rate USD week", "rate TRY tomorrow -alg linear", "", "qwe", "rate EUR week -alg smoothing",
+                "rate USD tomorrow -window 30", "rate EUR qwe", "rate TRY week"
+        );
+        final StringWriter expected = new StringWriter();
+        for (String command : commands) {
+            if (!command.isBlank()) {
+                BatchPredictionCliRunner.execute(
+                        predictionCliCommandParser.parse(command), command, new PrintWriter(expected)
+                );
+            }
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final StringWriter actual = new StringWriter();
+
+        //when
+        final BatchPredictionCliRunner.Summary summary = new BatchPredictionCliRunner(
+                predictionCliCommandParser, executor
+        ).run(new BufferedReader(new StringReader(String.join("\n", commands))), new PrintWriter(actual));
+        executor.shutdown();
+
+        //then
+        assertThat(actual.toString()).isEqualTo(expected.toString()).isNotEmpty();
+        assertThat(summary.commandsCount()).isEqualTo(7);
+    }
+
+    @Test
+    void run_whenFirstCommandIsNotFinished_thenItsOutputIsAlreadyWritten() throws IOException {
+        //given
+        // the first command finishes only after its output reaches the shared writer, so it is not buffered
+        final CountDownLatch firstWritten = new CountDownLatch(1);
+        final AtomicBoolean streamed = new AtomicBoolean();
+        final PredictionCliCommandParser parser = new PredictionCliCommandParser(facade) {
+            @Override
+            public PredictionCliCommand parse(String userInput) {
+                return new PredictionCliCommand() {
+                    @Override
+                    public void execute(@NotNull PrintWriter out) {
+                        out.println(userInput);
+                        if (userInput.equals("first")) {
+                            streamed.set(await(firstWritten));
+                        }
+                    }
+
+                    @Override
+                    public boolean isIndependent() {
+                        return true;
+                    }
+                };
+            }
+        };
+        final StringWriter actual = new StringWriter() {
+            @Override
+            public void write(String str, int off, int len) {
+                super.write(str, off, len);
+                if (toString().startsWith("first")) {
+                    firstWritten.countDown();
+                }
+            }
+        };
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        //when
+        new BatchPredictionCliRunner(parser, executor)
+                .run(new BufferedReader(new StringReader("first\nsecond\nthird")), new PrintWriter(actual));
+        executor.shutdown();
+
+        //then
+        assertThat(streamed).isTrue();
+        assertThat(actual.toString()).isEqualTo("first\nsecond\nthird\n");
+    }
+
+    @Test
+    void run_whenExitCommand_thenNextCommandsAreNotExecuted() throws IOException {
+        //given
+        final String commands = "rate USD tomorrow\nexit\nrate EUR tomorrow\n";
+        final StringWriter actual = new StringWriter();
+
+        //when
+        final BatchPredictionCliRunner.Summary summary = new BatchPredictionCliRunner(
+                predictionCliCommandParser, Runnable::run
+        ).run(new BufferedReader(new StringReader(commands)), new PrintWriter(actual));
+
+        //then
+        assertThat(actual.toString()).endsWith("Stopping program...\n").hasLineCount(2);
+        assertThat(summary.commandsCount()).isEqualTo(2);
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -6,8 +6,14 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import ru.liga.rateprediction.core.output.RatePredictionFormat;
+import ru.liga.rateprediction.core.CurrencyPair;
 import ru.liga.rateprediction.core.CurrencyType;
+import ru.liga.rateprediction.core.RatePredictionFacade;
 import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
+import ru.liga.rateprediction.core.algorithm.RatePredictorFactory;
+import ru.liga.rateprediction.core.algorithm.RatePredictorParams;
+import ru.liga.rateprediction.core.datasource.PredictionDataSourceFactory;
 
 import java.time.LocalDate;
 import java.util.stream.Stream;
@@ -15,15 +21,40 @@ import java.util.stream.Stream;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
 class PredictionCliCommandParserTest {
+    /**
+     * Facade resolves currencies of bundled catalog, it does not run batches, so its executor is not needed
+     */
+    private static final RatePredictionFacade FACADE = new RatePredictionFacade(
+            new RatePredictorFactory(), new PredictionDataSourceFactory(), Runnable::run
+    );
 
     public static Stream<Arguments> commandVariants() {
         return Stream.<Arguments>builder()
                 .add(Arguments.of("Help", HelpPredictionCliCommand.class))
                 .add(Arguments.of("exit", ExitPredictionCliCommand.class))
+                .add(Arguments.of("import", ImportPredictionCliCommand.class))
+                .add(Arguments.of("STATS", StatsPredictionCliCommand.class))
                 .add(Arguments.of("rate usd week", RatePredictionCliCommand.class))
                 .add(Arguments.of("qwe usd week", InvalidPredictionCliCommand.class))
                 .add(Arguments.of("rate qwe week", InvalidPredictionCliCommand.class))
                 .add(Arguments.of("rate usd qwe", InvalidPredictionCliCommand.class))
+                .add(Arguments.of("rate usd week -alg qwe", InvalidPredictionCliCommand.class))
+                .add(Arguments.of("rate usd week -alg", InvalidPredictionCliCommand.class))
+                .add(Arguments.of("rate usd week -qwe mean", InvalidPredictionCliCommand.class))
+                .add(Arguments.of("rate usd week -window 0", InvalidPredictionCliCommand.class))
+                .add(Arguments.of("rate usd week -window 366", InvalidPredictionCliCommand.class))
+                .add(Arguments.of("rate usd week -window qwe", InvalidPredictionCliCommand.class))
+                .add(Arguments.of("rate usd week --format xml", InvalidPredictionCliCommand.class))
+                .add(Arguments.of("rate usd week -period 3", InvalidPredictionCliCommand.class))
+                .add(Arguments.of("rate usd", InvalidPredictionCliCommand.class))
+                .add(Arguments.of("rate usd -date 01.01.2031", InvalidPredictionCliCommand.class))
+                .add(Arguments.of("rate usd -date " + LocalDate.now(), InvalidPredictionCliCommand.class))
+                .add(Arguments.of("rate usd -period 0", InvalidPredictionCliCommand.class))
+                .add(Arguments.of("rate usd -period qwe", InvalidPredictionCliCommand.class))
+                .add(Arguments.of("rate EUR/usd week", CrossRatePredictionCliCommand.class))
+                .add(Arguments.of("rate eur/eur week", InvalidPredictionCliCommand.class))
+                .add(Arguments.of("rate eur/qwe week", InvalidPredictionCliCommand.class))
+                .add(Arguments.of("rate eur/ week", InvalidPredictionCliCommand.class))
 
                 .build();
     }
@@ -32,24 +63,120 @@ class PredictionCliCommandParserTest {
         return Stream.<Arguments>builder()
                 .add(Arguments.of("rate usd week", new RatePredictionCliCommand(
                         RatePredictionAlgorithm.MEAN,
+                        RatePredictorParams.DEFAULT,
                         CurrencyType.USD,
                         LocalDate.now().plusDays(1),
                         LocalDate.now().plusDays(7),
-                        null
+                        RatePredictionFormat.TEXT,
+                        FACADE
                 )))
                 .add(Arguments.of("rate try tomorrow", new RatePredictionCliCommand(
                         RatePredictionAlgorithm.MEAN,
+                        RatePredictorParams.DEFAULT,
                         CurrencyType.TRY,
                         LocalDate.now().plusDays(1),
                         null,
-                        null
+                        RatePredictionFormat.TEXT,
+                        FACADE
                 )))
                 .add(Arguments.of("rate eur tomorrow", new RatePredictionCliCommand(
                         RatePredictionAlgorithm.MEAN,
+                        RatePredictorParams.DEFAULT,
                         CurrencyType.EUR,
                         LocalDate.now().plusDays(1),
                         null,
-                        null
+                        RatePredictionFormat.TEXT,
+                        FACADE
+                )))
+                .add(Arguments.of("rate eur tomorrow -alg linear", new RatePredictionCliCommand(
+                        RatePredictionAlgorithm.LINEAR_REGRESSION,
+                        RatePredictorParams.DEFAULT,
+                        CurrencyType.EUR,
+                        LocalDate.now().plusDays(1),
+                        null,
+                        RatePredictionFormat.TEXT,
+                        FACADE
+                )))
+                .add(Arguments.of("rate usd week -window 30 -alg mean", new RatePredictionCliCommand(
+                        RatePredictionAlgorithm.MEAN,
+                        RatePredictorParams.builder().window(30).build(),
+                        CurrencyType.USD,
+                        LocalDate.now().plusDays(1),
+                        LocalDate.now().plusDays(7),
+                        RatePredictionFormat.TEXT,
+                        FACADE
+                )))
+                .add(Arguments.of("rate -alg SMOOTHING usd week", new RatePredictionCliCommand(
+                        RatePredictionAlgorithm.EXPONENTIAL_SMOOTHING,
+                        RatePredictorParams.DEFAULT,
+                        CurrencyType.USD,
+                        LocalDate.now().plusDays(1),
+                        LocalDate.now().plusDays(7),
+                        RatePredictionFormat.TEXT,
+                        FACADE
+                )))
+                .add(Arguments.of("rate usd week --format json", new RatePredictionCliCommand(
+                        RatePredictionAlgorithm.MEAN,
+                        RatePredictorParams.DEFAULT,
+                        CurrencyType.USD,
+                        LocalDate.now().plusDays(1),
+                        LocalDate.now().plusDays(7),
+                        RatePredictionFormat.JSON,
+                        FACADE
+                )))
+                .add(Arguments.of("rate usd tomorrow -format CSV", new RatePredictionCliCommand(
+                        RatePredictionAlgorithm.MEAN,
+                        RatePredictorParams.DEFAULT,
+                        CurrencyType.USD,
+                        LocalDate.now().plusDays(1),
+                        null,
+                        RatePredictionFormat.CSV,
+                        FACADE
+                )))
+                .add(Arguments.of("rate eur month", new RatePredictionCliCommand(
+                        RatePredictionAlgorithm.MEAN,
+                        RatePredictorParams.DEFAULT,
+                        CurrencyType.EUR,
+                        LocalDate.now().plusDays(1),
+                        LocalDate.now().plusMonths(1),
+                        RatePredictionFormat.TEXT,
+                        FACADE
+                )))
+                .add(Arguments.of("rate eur YEAR -alg linear", new RatePredictionCliCommand(
+                        RatePredictionAlgorithm.LINEAR_REGRESSION,
+                        RatePredictorParams.DEFAULT,
+                        CurrencyType.EUR,
+                        LocalDate.now().plusDays(1),
+                        LocalDate.now().plusYears(1),
+                        RatePredictionFormat.TEXT,
+                        FACADE
+                )))
+                .add(Arguments.of("rate try -date 2031-01-01", new RatePredictionCliCommand(
+                        RatePredictionAlgorithm.MEAN,
+                        RatePredictorParams.DEFAULT,
+                        CurrencyType.TRY,
+                        LocalDate.of(2031, 1, 1),
+                        null,
+                        RatePredictionFormat.TEXT,
+                        FACADE
+                )))
+                .add(Arguments.of("rate try -period 90", new RatePredictionCliCommand(
+                        RatePredictionAlgorithm.MEAN,
+                        RatePredictorParams.DEFAULT,
+                        CurrencyType.TRY,
+                        LocalDate.now().plusDays(1),
+                        LocalDate.now().plusDays(90),
+                        RatePredictionFormat.TEXT,
+                        FACADE
+                )))
+                .add(Arguments.of("rate usd -period 10 -date 2031-01-01", new RatePredictionCliCommand(
+                        RatePredictionAlgorithm.MEAN,
+                        RatePredictorParams.DEFAULT,
+                        CurrencyType.USD,
+                        LocalDate.of(2031, 1, 1),
+                        LocalDate.of(2031, 1, 10),
+                        RatePredictionFormat.TEXT,
+                        FACADE
                 )))
                 .build();
     }
@@ -58,7 +185,7 @@ class PredictionCliCommandParserTest {
     @MethodSource("commandVariants")
     void parse_whenInput_thenReturnCommand(String command, Class<?> expectedClass) {
         //given
-        final PredictionCliCommandParser predictionCliCommandParser = new PredictionCliCommandParser(null);
+        final PredictionCliCommandParser predictionCliCommandParser = new PredictionCliCommandParser(FACADE);
 
         //when
         final PredictionCliCommand actual = predictionCliCommandParser.parse(command);
@@ -71,7 +198,7 @@ class PredictionCliCommandParserTest {
     @MethodSource("rateVariants")
     void parse_whenCommandIsRate_thenParseRateCommand(String command, RatePredictionCliCommand expected) {
         //given
-        final PredictionCliCommandParser predictionCliCommandParser = new PredictionCliCommandParser(null);
+        final PredictionCliCommandParser predictionCliCommandParser = new PredictionCliCommandParser(FACADE);
 
         //when
         final PredictionCliCommand actual = predictionCliCommandParser.parse(command);
@@ -81,9 +208,33 @@ class PredictionCliCommandParserTest {
                 .satisfies(ratePredictionCliCommand -> {
                     assertThat(ratePredictionCliCommand.getRatePredictionAlgorithm())
                             .isEqualTo(expected.getRatePredictionAlgorithm());
+                    assertThat(ratePredictionCliCommand.getRatePredictorParams())
+                            .isEqualTo(expected.getRatePredictorParams());
                     assertThat(ratePredictionCliCommand.getCurrencyType()).isEqualTo(expected.getCurrencyType());
                     assertThat(ratePredictionCliCommand.getStartDate()).isEqualTo(expected.getStartDate());
                     assertThat(ratePredictionCliCommand.getEndDate()).isEqualTo(expected.getEndDate());
+                    assertThat(ratePredictionCliCommand.getOutputFormat()).isEqualTo(expected.getOutputFormat());
+                });
+    }
+
+    @Test
+    void parse_whenCurrencyIsPair_thenParseCrossRateCommand() {
+        //given
+        final PredictionCliCommandParser predictionCliCommandParser = new PredictionCliCommandParser(FACADE);
+
+        //when
+        final PredictionCliCommand actual = predictionCliCommandParser.parse("rate try/EUR -period 3 -alg linear");
+
+        //then
+        assertThat(actual).asInstanceOf(InstanceOfAssertFactories.type(CrossRatePredictionCliCommand.class))
+                .satisfies(crossRatePredictionCliCommand -> {
+                    assertThat(crossRatePredictionCliCommand.getRatePredictionAlgorithm())
+                            .isEqualTo(RatePredictionAlgorithm.LINEAR_REGRESSION);
+                    assertThat(crossRatePredictionCliCommand.getCurrencyPair())
+                            .isEqualTo(new CurrencyPair(CurrencyType.TRY, CurrencyType.EUR));
+                    assertThat(crossRatePredictionCliCommand.getStartDate()).isEqualTo(LocalDate.now().plusDays(1));
+                    assertThat(crossRatePredictionCliCommand.getEndDate()).isEqualTo(LocalDate.now().plusDays(3));
+                    assertThat(crossRatePredictionCliCommand.getOutputFormat()).isEqualTo(RatePredictionFormat.TEXT);
                 });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,77 @@
+package ru.liga.rateprediction.core;
+
+import lombok.Value;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Pair of currencies whose cross rate is derived from their rates to ruble: price of one unit of base currency
+ * in quote currency, e.g. EUR/USD is count of dollars per euro
+ */
+@Value
+public class CurrencyPair {
+    public static final char SEPARATOR = '/';
+
+    @NotNull
+    CurrencyType base;
+
+    @NotNull
+    CurrencyType quote;
+
+    /**
+     * @throws IllegalArgumentException if base and quote currencies are the same
+     */
+    public CurrencyPair(@NotNull CurrencyType base, @NotNull CurrencyType quote) {
+        if (base.equals(quote)) {
+            throw new IllegalArgumentException(String.format(
+                    "Cross rate of currency = %s to itself is not supported", base.getCode()
+            ));
+        }
+
+        this.base = base;
+        this.quote = quote;
+    }
+
+    /**
+     * @return code of pair, e.g. EUR/USD
+     */
+    public String getCode() {
+        return base.getCode() + SEPARATOR + quote.getCode();
+    }
+
+    /**
+     * Method tries to determine {@link CurrencyPair} by provided code of two currencies separated by slash,
+     * e.g. EUR/USD
+     *
+     * @param code           provided String code, nullable
+     * @param currencyByCode lookup of known currency by its code, e.g. in currency catalog, not null
+     * @return {@link Optional} that contains {@link CurrencyPair} of provided currencies
+     * or {@link Optional#empty()} if code is not a pair of two different known currencies
+     */
+    public static Optional<CurrencyPair> byCode(String code,
+                                                @NotNull Function<String, Optional<CurrencyType>> currencyByCode) {
+        if (code == null) {
+            return Optional.empty();
+        }
+
+        final int separator = code.indexOf(SEPARATOR);
+        if (separator < 0) {
+            return Optional.empty();
+        }
+
+        final Optional<CurrencyType> base = currencyByCode.apply(code.substring(0, separator));
+        final Optional<CurrencyType> quote = currencyByCode.apply(code.substring(separator + 1));
+        if (base.isEmpty() || quote.isEmpty() || base.get().equals(quote.get())) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new CurrencyPair(base.get(), quote.get()));
+    }
+
+    @Override
+    public String toString() {
+        return getCode();
+    }
+}
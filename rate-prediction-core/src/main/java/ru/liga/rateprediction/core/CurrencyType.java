@@ -1,36 +1,67 @@
 package ru.liga.rateprediction.core;
 
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
 
-import java.util.Arrays;
-import java.util.Optional;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 /**
- * That enum represents supported currency types
+ * That class represents currency types. Currencies are not hardcoded: each
+ * {@link ru.liga.rateprediction.core.datasource.CurrencyCatalog} discovers its own currencies from data files,
+ * so known currencies are looked up by code in catalog, and only currencies bundled into classpath are predefined.
+ * Currencies are equal if their codes are equal.
  */
 @Getter
-@RequiredArgsConstructor
-public enum CurrencyType {
-    EUR("EUR"),
-    USD("USD"),
-    TRY("TRY");
+@EqualsAndHashCode
+public final class CurrencyType implements Comparable<CurrencyType> {
+    private static final Pattern CODE_PATTERN = Pattern.compile("[A-Z]{3}");
+
+    public static final CurrencyType EUR = new CurrencyType("EUR");
+
+    public static final CurrencyType USD = new CurrencyType("USD");
+
+    public static final CurrencyType TRY = new CurrencyType("TRY");
 
     /**
-     * Abbreviation code that mapped to enum object
+     * Currencies bundled into classpath ordered by code
+     */
+    public static final List<CurrencyType> PREDEFINED = List.of(EUR, TRY, USD);
+
+    /**
+     * Abbreviation code of currency in upper case, e.g. USD
      */
     private final String code;
 
+    private CurrencyType(String code) {
+        this.code = code;
+    }
+
     /**
-     * Method tries to determine {@link CurrencyType} enum object by provided {@link String} code.
-     *
-     * @param code provided String code, nullable
-     * @return {@link Optional} that contains {@link CurrencyType} object that mapped to provided currency abbreviation
-     * or {@link Optional#empty()} if there is no currency mapped to provided currency abbreviation code
+     * @param code three letter code of currency in any case, not null
+     * @return currency of provided code
+     * @throws IllegalArgumentException if code does not consist of three latin letters
      */
-    public static Optional<CurrencyType> byCode(String code) {
-        return Arrays.stream(values())
-                .filter(x -> x.code.equalsIgnoreCase(code))
-                .findFirst();
+    public static CurrencyType of(@NotNull String code) {
+        final String upperCaseCode = code.toUpperCase(Locale.ROOT);
+        if (!CODE_PATTERN.matcher(upperCaseCode).matches()) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid currency code = %s! Code must consist of three latin letters", code
+            ));
+        }
+
+        return new CurrencyType(upperCaseCode);
+    }
+
+    @Override
+    public int compareTo(@NotNull CurrencyType other) {
+        return code.compareTo(other.code);
+    }
+
+    @Override
+    public String toString() {
+        return code;
     }
 }
@@ -0,0 +1,97 @@
+package ru.liga.rateprediction.core;
+
+import lombok.experimental.UtilityClass;
+
+import java.math.BigDecimal;
+
+/**
+ * Arithmetic of rates that are scaled to longs with {@link RateSeries#SCALE} decimal digits, see
+ * {@link RateSeries#toScaled(java.math.BigDecimal)}. CBRF rates never have more digits, so sums of scaled rates are
+ * exact, and results are bit-identical to {@link java.math.BigDecimal} arithmetic with the same scale and rounding.
+ * Every operation throws {@link ArithmeticException} instead of silently overflowing.
+ */
+@UtilityClass
+public class FixedPointRates {
+    /**
+     * Scaled representation of one
+     */
+    private static final long ONE = RateSeries.toScaled(BigDecimal.ONE);
+
+    /**
+     * @return exact sum of scaled rates
+     * @throws ArithmeticException if sum overflows long
+     */
+    public static long add(long scaledRate, long otherScaledRate) {
+        return Math.addExact(scaledRate, otherScaledRate);
+    }
+
+    /**
+     * @return exact difference of scaled rates
+     * @throws ArithmeticException if difference overflows long
+     */
+    public static long subtract(long scaledRate, long otherScaledRate) {
+        return Math.subtractExact(scaledRate, otherScaledRate);
+    }
+
+    /**
+     * Method divides scaled rate by integer and keeps scale of dividend, as
+     * {@code dividend.divide(BigDecimal.valueOf(divisor), RateSeries.SCALE, RoundingMode.HALF_UP)} does
+     *
+     * @param scaledRate dividend, scaled rate
+     * @param divisor    not scaled divisor, not zero
+     * @return quotient rounded half away from zero, scaled as dividend
+     * @throws ArithmeticException if divisor is zero or quotient overflows long
+     */
+    public static long divideHalfUp(long scaledRate, long divisor) {
+        if (divisor == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (scaledRate == Long.MIN_VALUE && divisor == -1) {
+            throw new ArithmeticException("long overflow");
+        }
+
+        final long quotient = scaledRate / divisor;
+        // |remainder| < |divisor| <= 2^63, so doubled remainder and |divisor| both fit in unsigned long
+        final long doubledRemainder = Math.abs(scaledRate % divisor) << 1;
+        if (Long.compareUnsigned(doubledRemainder, Math.abs(divisor)) >= 0) {
+            return (scaledRate < 0) == (divisor < 0) ? quotient + 1 : quotient - 1;
+        }
+        return quotient;
+    }
+
+    /**
+     * @param scaledRates scaled rates, not empty
+     * @return mean of rates rounded as in {@link #divideHalfUp(long, long)}
+     * @throws ArithmeticException if sum of rates overflows long
+     */
+    public static long mean(long... scaledRates) {
+        if (scaledRates.length == 0) {
+            throw new IllegalArgumentException("No rates to average");
+        }
+
+        long sum = 0;
+        for (long scaledRate : scaledRates) {
+            sum = add(sum, scaledRate);
+        }
+        return divideHalfUp(sum, scaledRates.length);
+    }
+
+    /**
+     * Method computes cross rate of two currencies from their rates to the same third currency, as
+     * {@code (baseRate / baseNominal).divide(quoteRate / quoteNominal, RateSeries.SCALE, RoundingMode.HALF_UP)} does
+     * without rounding of intermediate per unit rates
+     *
+     * @param baseScaledRate  scaled rate of base currency
+     * @param baseNominal     count of base currency units which its rate is quoted for, positive
+     * @param quoteScaledRate scaled rate of quote currency, not zero
+     * @param quoteNominal    count of quote currency units which its rate is quoted for, positive
+     * @return scaled price of one unit of base currency in quote currency, rounded half away from zero
+     * @throws ArithmeticException if quote rate is zero or intermediate products overflow long
+     */
+    public static long crossRate(long baseScaledRate, long baseNominal, long quoteScaledRate, long quoteNominal) {
+        return divideHalfUp(
+                Math.multiplyExact(Math.multiplyExact(baseScaledRate, quoteNominal), ONE),
+                Math.multiplyExact(quoteScaledRate, baseNominal)
+        );
+    }
+}
@@ -0,0 +1,72 @@
+package ru.liga.rateprediction.core;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Optional;
+
+@Getter
+@RequiredArgsConstructor
+public enum PredictionRange {
+    TOMORROW("TOMORROW"),
+    WEEK("WEEK"),
+    MONTH("MONTH"),
+    YEAR("YEAR");
+
+    private final String code;
+
+    public static Optional<PredictionRange> byCode(String code) {
+        return Arrays.stream(values())
+                .filter(x -> x.code.equalsIgnoreCase(code))
+                .findFirst();
+    }
+
+    public PredictionRange.Dates toDates() {
+        return toDates(LocalDate.now());
+    }
+
+    /**
+     * @param today current date, so all the dates of range are computed from the same day
+     * @return dates of range, which starts tomorrow
+     */
+    public PredictionRange.Dates toDates(@NotNull LocalDate today) {
+        final LocalDate tomorrow = today.plusDays(1);
+        return switch (this) {
+            case TOMORROW -> Dates.builder().start(tomorrow).build();
+            case WEEK -> Dates.builder().start(tomorrow).end(today.plusWeeks(1)).build();
+            case MONTH -> Dates.builder().start(tomorrow).end(today.plusMonths(1)).build();
+            case YEAR -> Dates.builder().start(tomorrow).end(today.plusYears(1)).build();
+        };
+    }
+
+    @Value
+    @Builder
+    public static class Dates {
+        @NotNull
+        LocalDate start;
+
+        @Nullable
+        LocalDate end;
+
+        /**
+         * @param start first date of range
+         * @param days  count of days in range, positive
+         * @return range of provided length, single date range has no end
+         */
+        public static Dates ofPeriod(@NotNull LocalDate start, int days) {
+            if (days <= 0) {
+                throw new IllegalArgumentException("Period must be positive, but was " + days);
+            }
+            return Dates.builder()
+                    .start(start)
+                    .end(days == 1 ? null : start.plusDays(days - 1L))
+                    .build();
+        }
+    }
+}
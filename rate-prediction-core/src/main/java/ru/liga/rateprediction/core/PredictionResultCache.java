@@ -0,0 +1,163 @@
+package ru.liga.rateprediction.core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
+import ru.liga.rateprediction.core.algorithm.RatePredictorParams;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of prediction results. Key contains input window of the predictor, so when currency history
+ * changes, old results are no longer matched and are evicted eventually. All entries are dropped when date rolls over.
+ * Cache is bounded by total count of cached predictions rather than count of results, because one result of a year
+ * range weighs as much as a few hundred results of tomorrow. Result that alone exceeds the bound is not cached.
+ */
+@Slf4j
+class PredictionResultCache {
+    private final int maxPredictions;
+
+    private final Clock clock;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final Map<Key, List<RatePrediction>> results;
+
+    /**
+     * Total count of predictions in cached results
+     */
+    private int predictionCount;
+
+    private LocalDate today;
+
+    /**
+     * @param maxPredictions max total count of predictions in cached results, must be positive
+     * @param clock          clock to detect date rollover, not null
+     */
+    PredictionResultCache(int maxPredictions, @NotNull Clock clock) {
+        if (maxPredictions <= 0) {
+            throw new IllegalArgumentException("maxPredictions must be positive, but was = " + maxPredictions);
+        }
+
+        this.maxPredictions = maxPredictions;
+        this.clock = clock;
+        this.today = LocalDate.now(clock);
+        this.results = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Method returns cached result or computes and caches it. Computation runs outside of cache lock,
+     * so concurrent misses of the same key may compute result more than once.
+     *
+     * @param algorithm          prediction algorithm, not null
+     * @param params             algorithm params, not null
+     * @param currencyType       predicted currency, not null
+     * @param window             input data of the predictor, not null
+     * @param startDateInclusive start date inclusive, not null
+     * @param endDateInclusive   end date inclusive, nullable
+     * @param predictor          computation of result on cache miss, not null
+     * @return unmodifiable list of predictions
+     */
+    @NotNull
+    List<RatePrediction> get(@NotNull RatePredictionAlgorithm algorithm,
+                             @NotNull RatePredictorParams params,
+                             @NotNull CurrencyType currencyType,
+                             @NotNull RateSeries window,
+                             @NotNull LocalDate startDateInclusive,
+                             @Nullable LocalDate endDateInclusive,
+                             @NotNull Supplier<List<RatePrediction>> predictor) {
+        final List<RatePrediction> cached = getIfPresent(
+                new Key(algorithm, params, currencyType, window, startDateInclusive, endDateInclusive)
+        );
+        if (cached != null) {
+            hitCount.increment();
+            return cached;
+        }
+
+        missCount.increment();
+        final List<RatePrediction> result = List.copyOf(predictor.get());
+        put(new Key(algorithm, params, currencyType, window.compact(), startDateInclusive, endDateInclusive), result);
+        return result;
+    }
+
+    synchronized void invalidateAll() {
+        clear();
+    }
+
+    synchronized int size() {
+        return results.size();
+    }
+
+    /**
+     * @return total count of predictions in cached results
+     */
+    synchronized int getPredictionCount() {
+        return predictionCount;
+    }
+
+    /**
+     * @return count of results served from cache
+     */
+    long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return count of results that were computed
+     */
+    long getMissCount() {
+        return missCount.sum();
+    }
+
+    private synchronized List<RatePrediction> getIfPresent(Key key) {
+        checkDateRollover();
+        return results.get(key);
+    }
+
+    private synchronized void put(Key key, List<RatePrediction> result) {
+        checkDateRollover();
+        if (result.size() > maxPredictions) {
+            return;
+        }
+
+        final List<RatePrediction> previous = results.put(key, result);
+        predictionCount += result.size() - (previous == null ? 0 : previous.size());
+        final Iterator<List<RatePrediction>> eldest = results.values().iterator();
+        while (predictionCount > maxPredictions) {
+            predictionCount -= eldest.next().size();
+            eldest.remove();
+        }
+    }
+
+    private void clear() {
+        results.clear();
+        predictionCount = 0;
+    }
+
+    private void checkDateRollover() {
+        final LocalDate now = LocalDate.now(clock);
+        if (!now.equals(today)) {
+            log.debug("Date rolled over from {} to {}, drop {} cached results", today, now, results.size());
+            today = now;
+            clear();
+        }
+    }
+
+    private record Key(RatePredictionAlgorithm algorithm,
+                       RatePredictorParams params,
+                       CurrencyType currencyType,
+                       RateSeries window,
+                       LocalDate startDateInclusive,
+                       LocalDate endDateInclusive) {
+    }
+}
@@ -1,29 +1,109 @@
 package ru.liga.rateprediction.core;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
 import ru.liga.rateprediction.core.algorithm.RatePredictor;
 import ru.liga.rateprediction.core.algorithm.RatePredictorFactory;
+import ru.liga.rateprediction.core.algorithm.RatePredictorParams;
+import ru.liga.rateprediction.core.backtest.BacktestEngine;
+import ru.liga.rateprediction.core.backtest.BacktestResult;
+import ru.liga.rateprediction.core.concurrent.PredictionExecutors;
 import ru.liga.rateprediction.core.datasource.PredictionDataSource;
 import ru.liga.rateprediction.core.datasource.PredictionDataSourceFactory;
+import ru.liga.rateprediction.core.datasource.RateHistoryStore;
+import ru.liga.rateprediction.core.metrics.PredictionMetrics;
 
+import java.nio.file.Path;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
+/**
+ * Entry point of predictions. Facade that creates its own batch executor owns it and shuts it down on {@link #close()},
+ * executor passed by caller is left to caller.
+ */
 @Slf4j
-@RequiredArgsConstructor
-public class RatePredictionFacade {
-    // todo пока не придумал как избавиться от этой зависимости
-    private static final int PREDICTION_DEPTH = 7;
+public class RatePredictionFacade implements AutoCloseable {
+    /**
+     * Max total count of cached predictions, e.g. 1024 results of {@value #MAX_CACHED_RANGE_DAYS} days
+     * or a few thousand results of tomorrow
+     */
+    private static final int RESULT_CACHE_MAX_PREDICTIONS = 32 * 1024;
+    /**
+     * Longer ranges are streamed lazily without caching, so they are never materialized in memory
+     */
+    private static final int MAX_CACHED_RANGE_DAYS = 32;
     @NotNull
     private final RatePredictorFactory ratePredictorFactory;
 
     @NotNull
     private final PredictionDataSourceFactory predictionDataSourceFactory;
 
+    /**
+     * Executor of batch predictions, see {@link #predictRates(RatePredictionAlgorithm, Set, LocalDate, LocalDate)}
+     */
+    @NotNull
+    private final Executor batchExecutor;
+
+    /**
+     * Executor created by facade itself, null if batch executor is provided by caller
+     */
+    @Nullable
+    private final ExecutorService ownedExecutor;
+
+    private final PredictionResultCache resultCache = new PredictionResultCache(
+            RESULT_CACHE_MAX_PREDICTIONS, Clock.systemDefaultZone()
+    );
+
+    private final BacktestEngine backtestEngine = new BacktestEngine();
+
+    private final PredictionMetrics metrics = PredictionMetrics.global();
+
+    /**
+     * @param batchExecutor executor of batch predictions, not null. It is not shut down by {@link #close()}
+     */
+    public RatePredictionFacade(@NotNull RatePredictorFactory ratePredictorFactory,
+                                @NotNull PredictionDataSourceFactory predictionDataSourceFactory,
+                                @NotNull Executor batchExecutor) {
+        this(ratePredictorFactory, predictionDataSourceFactory, batchExecutor, null);
+    }
+
+    /**
+     * Facade creates its own executor of batch predictions, so it must be closed after use
+     */
+    public RatePredictionFacade(@NotNull RatePredictorFactory ratePredictorFactory,
+                                @NotNull PredictionDataSourceFactory predictionDataSourceFactory) {
+        this(ratePredictorFactory, predictionDataSourceFactory, PredictionExecutors.newDefaultExecutor("rate-prediction"));
+    }
+
+    private RatePredictionFacade(RatePredictorFactory ratePredictorFactory,
+                                 PredictionDataSourceFactory predictionDataSourceFactory,
+                                 ExecutorService ownedExecutor) {
+        this(ratePredictorFactory, predictionDataSourceFactory, ownedExecutor, ownedExecutor);
+    }
+
+    private RatePredictionFacade(RatePredictorFactory ratePredictorFactory,
+                                 PredictionDataSourceFactory predictionDataSourceFactory,
+                                 Executor batchExecutor,
+                                 @Nullable ExecutorService ownedExecutor) {
+        this.ratePredictorFactory = ratePredictorFactory;
+        this.predictionDataSourceFactory = predictionDataSourceFactory;
+        this.batchExecutor = batchExecutor;
+        this.ownedExecutor = ownedExecutor;
+    }
+
     public RatePredictionFacade() {
         this(new RatePredictorFactory(), new PredictionDataSourceFactory());
     }
@@ -32,15 +112,310 @@ public class RatePredictionFacade {
                                             @NotNull CurrencyType currencyType,
                                             @NotNull LocalDate startDateInclusive,
                                             @Nullable LocalDate endDateInclusive) {
-        log.info("Start predict rate with alg = {}, for currency = {} in range [{} - {}]",
-                algorithm, currencyType, startDateInclusive, endDateInclusive
+        return predictRate(algorithm, RatePredictorParams.DEFAULT, currencyType, startDateInclusive, endDateInclusive);
+    }
+
+    /**
+     * Method predicts rates by algorithm configured with provided params. Data source is asked for exactly as many
+     * latest rates as the configured algorithm declares in {@link RatePredictor#getHistoryDepth()}.
+     *
+     * @throws IllegalArgumentException if dates are not in future or params are invalid
+     */
+    public List<RatePrediction> predictRate(@NotNull RatePredictionAlgorithm algorithm,
+                                            @NotNull RatePredictorParams params,
+                                            @NotNull CurrencyType currencyType,
+                                            @NotNull LocalDate startDateInclusive,
+                                            @Nullable LocalDate endDateInclusive) {
+        final long startNanos = System.nanoTime();
+        try {
+            validateDates(startDateInclusive, endDateInclusive);
+            final RatePredictor ratePredictor = ratePredictorFactory.create(algorithm, params);
+            final List<RatePrediction> predictions = predictCached(
+                    ratePredictor, algorithm, params, currencyType, startDateInclusive, endDateInclusive
+            );
+            completePrediction(algorithm, params, currencyType, startDateInclusive, endDateInclusive, startNanos);
+            return predictions;
+        } catch (RuntimeException e) {
+            metrics.recordPredictionError();
+            throw e;
+        }
+    }
+
+    /**
+     * Method works as {@link #predictRate(RatePredictionAlgorithm, CurrencyType, LocalDate, LocalDate)},
+     * but returns lazy stream, so caller can consume predictions while they are computed one day at a time.
+     * Ranges shorter than {@value #MAX_CACHED_RANGE_DAYS} days are served from result cache instead.
+     */
+    public Stream<RatePrediction> predictRateStream(@NotNull RatePredictionAlgorithm algorithm,
+                                                    @NotNull CurrencyType currencyType,
+                                                    @NotNull LocalDate startDateInclusive,
+                                                    @Nullable LocalDate endDateInclusive) {
+        return predictRateStream(
+                algorithm, RatePredictorParams.DEFAULT, currencyType, startDateInclusive, endDateInclusive
         );
+    }
 
-        validateDates(startDateInclusive, endDateInclusive);
-        final RatePredictor ratePredictor = ratePredictorFactory.create(algorithm);
+    /**
+     * Method works as {@link #predictRateStream(RatePredictionAlgorithm, CurrencyType, LocalDate, LocalDate)}
+     * with algorithm configured by provided params.
+     */
+    public Stream<RatePrediction> predictRateStream(@NotNull RatePredictionAlgorithm algorithm,
+                                                    @NotNull RatePredictorParams params,
+                                                    @NotNull CurrencyType currencyType,
+                                                    @NotNull LocalDate startDateInclusive,
+                                                    @Nullable LocalDate endDateInclusive) {
+        final long startNanos = System.nanoTime();
+        final Stream<RatePrediction> predictions;
+        try {
+            validateDates(startDateInclusive, endDateInclusive);
+            final RatePredictor ratePredictor = ratePredictorFactory.create(algorithm, params);
+            if (endDateInclusive == null
+                    || ChronoUnit.DAYS.between(startDateInclusive, endDateInclusive) < MAX_CACHED_RANGE_DAYS) {
+                predictions = predictCached(
+                        ratePredictor, algorithm, params, currencyType, startDateInclusive, endDateInclusive
+                ).stream();
+            } else {
+                predictions = ratePredictor.predictStream(
+                        getInitialData(ratePredictor, currencyType), startDateInclusive, endDateInclusive
+                );
+            }
+        } catch (RuntimeException e) {
+            metrics.recordPredictionError();
+            throw e;
+        }
+
+        // lazy predictions are computed while caller consumes them, so the call ends when stream is closed
+        return predictions.onClose(() -> completePrediction(
+                algorithm, params, currencyType, startDateInclusive, endDateInclusive, startNanos
+        ));
+    }
+
+    /**
+     * Method predicts cross rates of currency pair, e.g. EUR/USD, with lazy stream as
+     * {@link #predictRateStream(RatePredictionAlgorithm, RatePredictorParams, CurrencyType, LocalDate, LocalDate)}.
+     * Cross rates are derived from rates of both currencies to ruble, so predictor works with them
+     * as with history of any single currency.
+     *
+     * @throws IllegalArgumentException if dates are not in future or params are invalid
+     */
+    public Stream<RatePrediction> predictRateStream(@NotNull RatePredictionAlgorithm algorithm,
+                                                    @NotNull RatePredictorParams params,
+                                                    @NotNull CurrencyPair currencyPair,
+                                                    @NotNull LocalDate startDateInclusive,
+                                                    @Nullable LocalDate endDateInclusive) {
+        final long startNanos = System.nanoTime();
+        final Stream<RatePrediction> predictions;
+        try {
+            validateDates(startDateInclusive, endDateInclusive);
+            final RatePredictor ratePredictor = ratePredictorFactory.create(algorithm, params);
+            final RateSeries initialData = predictionDataSourceFactory.create(currencyPair)
+                    .getSeries(ratePredictor.getHistoryDepth());
+            predictions = ratePredictor.predictStream(initialData, startDateInclusive, endDateInclusive);
+        } catch (RuntimeException e) {
+            metrics.recordPredictionError();
+            throw e;
+        }
+
+        return predictions.onClose(() -> {
+            final long nanos = System.nanoTime() - startNanos;
+            metrics.recordCrossPrediction(algorithm, nanos);
+            if (log.isDebugEnabled()) {
+                log.debug("Predicted cross rate with alg = {}, params = {}, for pair = {} in range [{} - {}] in {} us",
+                        algorithm, params, currencyPair, startDateInclusive, endDateInclusive,
+                        TimeUnit.NANOSECONDS.toMicros(nanos)
+                );
+            }
+        });
+    }
+
+    private List<RatePrediction> predictCached(RatePredictor ratePredictor,
+                                               RatePredictionAlgorithm algorithm,
+                                               RatePredictorParams params,
+                                               CurrencyType currencyType,
+                                               LocalDate startDateInclusive,
+                                               LocalDate endDateInclusive) {
+        final RateSeries window = getInitialData(ratePredictor, currencyType);
+        return resultCache.get(algorithm, params, currencyType, window, startDateInclusive, endDateInclusive,
+                () -> ratePredictor.predict(window, startDateInclusive, endDateInclusive)
+        );
+    }
+
+    private RatePredictionResult predictIsolated(RatePredictor ratePredictor,
+                                                 RatePredictionAlgorithm algorithm,
+                                                 RatePredictorParams params,
+                                                 CurrencyType currencyType,
+                                                 LocalDate startDateInclusive,
+                                                 LocalDate endDateInclusive) {
+        final long startNanos = System.nanoTime();
+        try {
+            final RatePredictionResult result = RatePredictionResult.success(predictCached(
+                    ratePredictor, algorithm, params, currencyType, startDateInclusive, endDateInclusive
+            ));
+            completePrediction(algorithm, params, currencyType, startDateInclusive, endDateInclusive, startNanos);
+            return result;
+        } catch (RuntimeException e) {
+            metrics.recordPredictionError();
+            log.warn("Failed to predict rate for currency = {}", currencyType, e);
+            return RatePredictionResult.failure(e);
+        }
+    }
+
+    /**
+     * Method records duration of prediction request and logs its summary. Summary is logged once per request
+     * instead of once per predicted day, and its arguments are not even boxed while DEBUG level is off.
+     */
+    private void completePrediction(RatePredictionAlgorithm algorithm,
+                                    RatePredictorParams params,
+                                    CurrencyType currencyType,
+                                    LocalDate startDateInclusive,
+                                    LocalDate endDateInclusive,
+                                    long startNanos) {
+        final long nanos = System.nanoTime() - startNanos;
+        metrics.recordPrediction(currencyType, algorithm, nanos);
+        if (log.isDebugEnabled()) {
+            log.debug("Predicted rate with alg = {}, params = {}, for currency = {} in range [{} - {}] in {} us",
+                    algorithm, params, currencyType, startDateInclusive, endDateInclusive,
+                    TimeUnit.NANOSECONDS.toMicros(nanos)
+            );
+        }
+    }
+
+    private RateSeries getInitialData(RatePredictor ratePredictor, CurrencyType currencyType) {
         final PredictionDataSource predictionDataSource = predictionDataSourceFactory.create(currencyType);
-        final List<RatePrediction> initialData = predictionDataSource.getData(PREDICTION_DEPTH);
-        return ratePredictor.predict(initialData, startDateInclusive, endDateInclusive);
+        return predictionDataSource.getSeries(ratePredictor.getHistoryDepth());
+    }
+
+    /**
+     * Method predicts rates of several currencies concurrently on batch executor. Failure of one currency
+     * does not affect others: it is returned as failed {@link RatePredictionResult} for that currency.
+     *
+     * @param algorithm          prediction algorithm, not null
+     * @param currencyTypes      currencies to predict, not null
+     * @param startDateInclusive start date inclusive, must be in future
+     * @param endDateInclusive   end date inclusive, nullable, must be in future
+     * @return {@link Map} of prediction results in iteration order of provided currencies
+     * @throws IllegalArgumentException if dates are not in future
+     */
+    public Map<CurrencyType, RatePredictionResult> predictRates(@NotNull RatePredictionAlgorithm algorithm,
+                                                                @NotNull Set<CurrencyType> currencyTypes,
+                                                                @NotNull LocalDate startDateInclusive,
+                                                                @Nullable LocalDate endDateInclusive) {
+        return predictRates(
+                algorithm, RatePredictorParams.DEFAULT, currencyTypes, startDateInclusive, endDateInclusive
+        );
+    }
+
+    /**
+     * Method works as {@link #predictRates(RatePredictionAlgorithm, Set, LocalDate, LocalDate)}
+     * with algorithm configured by provided params.
+     *
+     * @throws IllegalArgumentException if dates are not in future or params are invalid
+     */
+    public Map<CurrencyType, RatePredictionResult> predictRates(@NotNull RatePredictionAlgorithm algorithm,
+                                                                @NotNull RatePredictorParams params,
+                                                                @NotNull Set<CurrencyType> currencyTypes,
+                                                                @NotNull LocalDate startDateInclusive,
+                                                                @Nullable LocalDate endDateInclusive) {
+        validateDates(startDateInclusive, endDateInclusive);
+        final RatePredictor ratePredictor = ratePredictorFactory.create(algorithm, params);
+        final Map<CurrencyType, CompletableFuture<RatePredictionResult>> futures = new LinkedHashMap<>();
+        for (CurrencyType currencyType : currencyTypes) {
+            futures.put(currencyType, CompletableFuture.supplyAsync(
+                    () -> predictIsolated(
+                            ratePredictor, algorithm, params, currencyType, startDateInclusive, endDateInclusive
+                    ),
+                    batchExecutor
+            ));
+        }
+
+        final Map<CurrencyType, RatePredictionResult> results = new LinkedHashMap<>();
+        futures.forEach((currencyType, future) -> results.put(currencyType, future.join()));
+        return results;
+    }
+
+    /**
+     * Method writes binary snapshots of all currency histories, so next application starts map them instead of parsing CSV
+     *
+     * @return {@link List} of written snapshot files
+     */
+    public List<Path> importSnapshots() {
+        log.info("Import snapshots of currency histories");
+        return predictionDataSourceFactory.importSnapshots();
+    }
+
+    /**
+     * Method returns known history of currency indexed by date, e.g. for backtesting or "as of" queries
+     *
+     * @param currencyType currency to get history for, not null
+     * @return {@link RateHistoryStore} over all known rates of currency
+     */
+    public RateHistoryStore getHistory(@NotNull CurrencyType currencyType) {
+        return predictionDataSourceFactory.getRateHistoryCache().getStore(currencyType);
+    }
+
+    /**
+     * @return metrics of predictions, data loading and algorithms
+     */
+    public PredictionMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return currencies that have data, ordered by code
+     */
+    public List<CurrencyType> getCurrencyTypes() {
+        return predictionDataSourceFactory.getCurrencyCatalog().getCurrencyTypes();
+    }
+
+    /**
+     * @param code code of currency in any case, nullable
+     * @return {@link Optional} with currency that has data or {@link Optional#empty()} if there is no such currency
+     */
+    public Optional<CurrencyType> findCurrencyType(String code) {
+        return predictionDataSourceFactory.getCurrencyCatalog().byCode(code);
+    }
+
+    /**
+     * @param code code of currency pair, e.g. EUR/USD, nullable
+     * @return {@link Optional} with pair of two different currencies that have data or {@link Optional#empty()}
+     */
+    public Optional<CurrencyPair> findCurrencyPair(String code) {
+        return CurrencyPair.byCode(code, this::findCurrencyType);
+    }
+
+    /**
+     * @return algorithms of providers discovered by {@link RatePredictorFactory} in order of their discovery
+     */
+    public List<RatePredictionAlgorithm> getAlgorithms() {
+        return ratePredictorFactory.getAlgorithms();
+    }
+
+    /**
+     * @param code code of algorithm in any case, nullable
+     * @return {@link Optional} with algorithm of discovered provider or {@link Optional#empty()} if there is no such
+     * algorithm
+     */
+    public Optional<RatePredictionAlgorithm> findAlgorithm(String code) {
+        return ratePredictorFactory.findAlgorithm(code);
+    }
+
+    /**
+     * Method measures accuracy of all algorithms with their default params on the whole history of all currencies
+     * of catalog, so it loads history of every currency
+     *
+     * @return {@link List} of results ordered by currency and then by algorithm
+     */
+    public List<BacktestResult> backtest() {
+        final Map<CurrencyType, RateSeries> histories = new LinkedHashMap<>();
+        for (CurrencyType currencyType : getCurrencyTypes()) {
+            histories.put(currencyType, getHistory(currencyType).getSeries());
+        }
+        final Map<RatePredictionAlgorithm, RatePredictor> predictors = new LinkedHashMap<>();
+        for (RatePredictionAlgorithm algorithm : getAlgorithms()) {
+            predictors.put(algorithm, ratePredictorFactory.create(algorithm));
+        }
+
+        return backtestEngine.runAll(histories, predictors);
     }
 
     private void validateDates(LocalDate startDateInclusive, LocalDate endDateInclusive) {
@@ -56,4 +431,15 @@ public class RatePredictionFacade {
             ));
         }
     }
+
+    /**
+     * Method shuts down batch executor if it was created by facade. Running batch predictions are completed,
+     * new ones are rejected.
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
 }
@@ -0,0 +1,40 @@
+package ru.liga.rateprediction.core;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Result of prediction for single currency in batch: either predictions or error that prevented them.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class RatePredictionResult {
+    /**
+     * Predicted rates, null if prediction failed
+     */
+    @Nullable
+    List<RatePrediction> predictions;
+
+    /**
+     * Error of prediction, null if prediction succeeded
+     */
+    @Nullable
+    Throwable error;
+
+    public static RatePredictionResult success(@NotNull List<RatePrediction> predictions) {
+        return new RatePredictionResult(predictions, null);
+    }
+
+    public static RatePredictionResult failure(@NotNull Throwable error) {
+        return new RatePredictionResult(null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,378 @@
+package ru.liga.rateprediction.core;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable columnar series of rates ordered by date ascending without duplicates. Dates are stored as epoch days
+ * and rates as fixed-point longs with {@link #SCALE} decimal digits, so a series costs two primitive arrays
+ * instead of an object graph per row. Views returned by {@link #slice(int, int)} and {@link #latest(int)}
+ * share arrays with the original series.
+ */
+public final class RateSeries {
+    /**
+     * Count of decimal digits in scaled rates
+     */
+    public static final int SCALE = 4;
+
+    private static final RateSeries EMPTY = new RateSeries(new int[0], new long[0], 0, 0);
+
+    private final int[] epochDays;
+
+    private final long[] scaledRates;
+
+    private final int offset;
+
+    private final int size;
+
+    private RateSeries(int[] epochDays, long[] scaledRates, int offset, int size) {
+        this.epochDays = epochDays;
+        this.scaledRates = scaledRates;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Method creates series from copies of provided arrays.
+     *
+     * @param epochDays   epoch days in strictly ascending order, not null
+     * @param scaledRates rates multiplied by 10^{@link #SCALE}, not null, same length as epochDays
+     * @return new series
+     * @throws IllegalArgumentException if arrays have different length or days are not strictly ascending
+     */
+    @NotNull
+    public static RateSeries of(int @NotNull [] epochDays, long @NotNull [] scaledRates) {
+        if (epochDays.length != scaledRates.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Count of days = %d is not equal to count of rates = %d", epochDays.length, scaledRates.length
+            ));
+        }
+        for (int i = 1; i < epochDays.length; i++) {
+            if (epochDays[i] <= epochDays[i - 1]) {
+                throw new IllegalArgumentException(String.format(
+                        "Days must be in strictly ascending order, but %s is followed by %s",
+                        LocalDate.ofEpochDay(epochDays[i - 1]), LocalDate.ofEpochDay(epochDays[i])
+                ));
+            }
+        }
+
+        return new RateSeries(epochDays.clone(), scaledRates.clone(), 0, epochDays.length);
+    }
+
+    /**
+     * Method creates series from rate predictions in any order.
+     *
+     * @param predictions rate predictions with unique dates and at most {@link #SCALE} decimal digits in rates
+     * @return new series ordered by date ascending
+     * @throws IllegalArgumentException if dates are duplicated
+     * @throws ArithmeticException      if some rate has more than {@link #SCALE} decimal digits or is too big
+     */
+    @NotNull
+    public static RateSeries fromPredictions(@NotNull Collection<RatePrediction> predictions) {
+        final RatePrediction[] sorted = predictions.stream()
+                .sorted(RatePrediction.BY_DATE_ASC)
+                .toArray(RatePrediction[]::new);
+        final int[] epochDays = new int[sorted.length];
+        final long[] scaledRates = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            epochDays[i] = Math.toIntExact(sorted[i].getDate().toEpochDay());
+            scaledRates[i] = toScaled(sorted[i].getRate());
+        }
+
+        return of(epochDays, scaledRates);
+    }
+
+    /**
+     * Method creates series from rate predictions that are already ordered by date, as rows of data files are.
+     * Unlike {@link #fromPredictions(Collection)} it does not sort, so misordered rows are reported instead of
+     * being silently reordered.
+     *
+     * @param predictions rate predictions in strictly ascending or strictly descending order of dates
+     * @return new series ordered by date ascending
+     * @throws IllegalArgumentException if dates are duplicated or are not ordered
+     * @throws ArithmeticException      if some rate has more than {@link #SCALE} decimal digits or is too big
+     */
+    @NotNull
+    public static RateSeries fromOrderedPredictions(@NotNull List<RatePrediction> predictions) {
+        final int size = predictions.size();
+        final boolean descending = size > 1
+                && predictions.get(0).getDate().isAfter(predictions.get(1).getDate());
+        final int[] epochDays = new int[size];
+        final long[] scaledRates = new long[size];
+        for (int i = 0; i < size; i++) {
+            final RatePrediction prediction = predictions.get(descending ? size - 1 - i : i);
+            epochDays[i] = Math.toIntExact(prediction.getDate().toEpochDay());
+            scaledRates[i] = toScaled(prediction.getRate());
+            if (i > 0 && epochDays[i] == epochDays[i - 1]) {
+                throw new IllegalArgumentException("Date is duplicated: " + prediction.getDate());
+            }
+            if (i > 0 && epochDays[i] < epochDays[i - 1]) {
+                throw new IllegalArgumentException(String.format(
+                        "Rows are not ordered by date %s: %s is out of order near %s",
+                        descending ? "descending" : "ascending",
+                        prediction.getDate(), LocalDate.ofEpochDay(epochDays[i - 1])
+                ));
+            }
+        }
+
+        return new RateSeries(epochDays, scaledRates, 0, size);
+    }
+
+    @NotNull
+    public static RateSeries empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param rate rate with at most {@link #SCALE} decimal digits
+     * @return rate multiplied by 10^{@link #SCALE}
+     * @throws ArithmeticException if rate has more decimal digits or does not fit in long
+     */
+    public static long toScaled(@NotNull BigDecimal rate) {
+        return rate.movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * @param scaledRate rate multiplied by 10^{@link #SCALE}
+     * @return rate with {@link #SCALE} decimal digits
+     */
+    @NotNull
+    public static BigDecimal fromScaled(long scaledRate) {
+        return BigDecimal.valueOf(scaledRate, SCALE);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getEpochDay(int index) {
+        return epochDays[offset + checkIndex(index)];
+    }
+
+    public long getScaledRate(int index) {
+        return scaledRates[offset + checkIndex(index)];
+    }
+
+    @NotNull
+    public LocalDate getDate(int index) {
+        return LocalDate.ofEpochDay(getEpochDay(index));
+    }
+
+    @NotNull
+    public BigDecimal getRate(int index) {
+        return fromScaled(getScaledRate(index));
+    }
+
+    @NotNull
+    public RatePrediction get(int index) {
+        return new RatePrediction(getDate(index), getRate(index));
+    }
+
+    /**
+     * @return epoch day of the newest rate
+     * @throws IndexOutOfBoundsException if series is empty
+     */
+    public int getLastEpochDay() {
+        return getEpochDay(size - 1);
+    }
+
+    /**
+     * Method returns view of series part without copying.
+     *
+     * @param fromInclusive start index inclusive
+     * @param toExclusive   end index exclusive
+     * @return view of series in provided index range
+     */
+    @NotNull
+    public RateSeries slice(int fromInclusive, int toExclusive) {
+        if (fromInclusive < 0 || toExclusive > size || fromInclusive > toExclusive) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "Invalid range [%d, %d) for series of size %d", fromInclusive, toExclusive, size
+            ));
+        }
+
+        return new RateSeries(epochDays, scaledRates, offset + fromInclusive, toExclusive - fromInclusive);
+    }
+
+    /**
+     * Method returns view of the newest rates without copying.
+     *
+     * @param count count of rates, must not be negative. If series is shorter, whole series is returned
+     * @return view of at most count newest rates
+     */
+    @NotNull
+    public RateSeries latest(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative, but was = " + count);
+        }
+
+        return slice(Math.max(0, size - count), size);
+    }
+
+    /**
+     * Method returns view of rates with dates in provided range without copying. Binary search is used,
+     * so it costs O(log n).
+     *
+     * @param fromInclusive the oldest date of range, not null
+     * @param toInclusive   the newest date of range, not null
+     * @return view of rates in range, empty if there are no rates in it
+     * @throws IllegalArgumentException if range start is after its end
+     */
+    @NotNull
+    public RateSeries range(@NotNull LocalDate fromInclusive, @NotNull LocalDate toInclusive) {
+        if (fromInclusive.isAfter(toInclusive)) {
+            throw new IllegalArgumentException(String.format(
+                    "Range start %s is after its end %s", fromInclusive, toInclusive
+            ));
+        }
+
+        final int from = ceilingIndex(fromInclusive.toEpochDay());
+        final int to = floorIndex(toInclusive.toEpochDay()) + 1;
+        return slice(from, Math.max(from, to));
+    }
+
+    /**
+     * Method returns view of rates that were known on provided date without copying, in O(log n).
+     *
+     * @param dateInclusive the newest date of view, not null
+     * @return view of rates with dates not after provided one
+     */
+    @NotNull
+    public RateSeries until(@NotNull LocalDate dateInclusive) {
+        return slice(0, floorIndex(dateInclusive.toEpochDay()) + 1);
+    }
+
+    /**
+     * @param epochDay epoch day to search
+     * @return index of the newest rate with day not after provided one, -1 if there is no such rate
+     */
+    public int floorIndex(long epochDay) {
+        final int found = search(epochDay);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    /**
+     * @param epochDay epoch day to search
+     * @return index of the oldest rate with day not before provided one, {@link #size()} if there is no such rate
+     */
+    public int ceilingIndex(long epochDay) {
+        final int found = search(epochDay);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    /**
+     * Method returns series with own arrays of exactly its size, so it does not keep arrays of a bigger
+     * original series reachable, when view is stored for long.
+     *
+     * @return this series if it already owns whole arrays, copy otherwise
+     */
+    @NotNull
+    public RateSeries compact() {
+        if (offset == 0 && size == epochDays.length) {
+            return this;
+        }
+
+        return new RateSeries(
+                Arrays.copyOfRange(epochDays, offset, offset + size),
+                Arrays.copyOfRange(scaledRates, offset, offset + size),
+                0,
+                size
+        );
+    }
+
+    /**
+     * Adapter for code that works with {@link RatePrediction} objects.
+     *
+     * @return new {@link List} of rate predictions ordered by date ascending
+     */
+    @NotNull
+    public List<RatePrediction> toRatePredictions() {
+        final List<RatePrediction> predictions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            predictions.add(get(i));
+        }
+
+        return predictions;
+    }
+
+    /**
+     * Adapter for code that expects the newest rows first, as they are stored in CBRF files.
+     *
+     * @return new {@link List} of rate predictions ordered by date descending
+     */
+    @NotNull
+    public List<RatePrediction> toRatePredictionsDescending() {
+        final List<RatePrediction> predictions = new ArrayList<>(size);
+        for (int i = size - 1; i >= 0; i--) {
+            predictions.add(get(i));
+        }
+
+        return predictions;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RateSeries that)) {
+            return false;
+        }
+
+        return Arrays.equals(epochDays, offset, offset + size, that.epochDays, that.offset, that.offset + that.size)
+                && Arrays.equals(scaledRates, offset, offset + size, that.scaledRates, that.offset, that.offset + that.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = offset; i < offset + size; i++) {
+            result = 31 * result + epochDays[i];
+            result = 31 * result + Long.hashCode(scaledRates[i]);
+        }
+
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "RateSeries[]";
+        }
+
+        return String.format("RateSeries[size=%d, %s - %s]", size, getDate(0), getDate(size - 1));
+    }
+
+    /**
+     * @return index of day in this series, or (-(insertion point) - 1) as {@link Arrays#binarySearch(int[], int)}
+     */
+    private int search(long epochDay) {
+        if (epochDay > Integer.MAX_VALUE) {
+            return -size - 1;
+        }
+        if (epochDay < Integer.MIN_VALUE) {
+            return -1;
+        }
+
+        final int found = Arrays.binarySearch(epochDays, offset, offset + size, (int) epochDay);
+        return found >= 0 ? found - offset : found + offset;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of series of size %d", index, size));
+        }
+
+        return index;
+    }
+}
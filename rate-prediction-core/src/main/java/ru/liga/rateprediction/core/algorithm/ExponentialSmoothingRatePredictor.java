@@ -0,0 +1,40 @@
+package ru.liga.rateprediction.core.algorithm;
+
+import org.jetbrains.annotations.Nullable;
+import ru.liga.rateprediction.core.RateSeries;
+
+/**
+ * This class implements rate prediction algorithm based on simple exponential smoothing: every known rate
+ * moves smoothed level towards itself by {@link #ALPHA} part of the difference.
+ * All predictions are equal to the final level.
+ */
+class ExponentialSmoothingRatePredictor extends FittedRatePredictor {
+    /**
+     * Weight of the newer rate in smoothed level
+     */
+    static final double ALPHA = 0.3;
+
+    private static final double RATE_UNIT = Math.pow(10, RateSeries.SCALE);
+
+    ExponentialSmoothingRatePredictor() {
+        this(null);
+    }
+
+    /**
+     * @param window count of the latest rates to fit, must be positive. If null, the whole history is used
+     */
+    ExponentialSmoothingRatePredictor(@Nullable Integer window) {
+        super(window);
+    }
+
+    @Override
+    RateModel fit(RateSeries history) {
+        double level = history.getScaledRate(0) / RATE_UNIT;
+        for (int i = 1; i < history.size(); i++) {
+            level += ALPHA * (history.getScaledRate(i) / RATE_UNIT - level);
+        }
+
+        final double smoothedLevel = level;
+        return epochDay -> smoothedLevel;
+    }
+}
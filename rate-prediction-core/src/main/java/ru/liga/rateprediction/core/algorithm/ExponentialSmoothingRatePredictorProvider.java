@@ -0,0 +1,17 @@
+package ru.liga.rateprediction.core.algorithm;
+
+import org.jetbrains.annotations.NotNull;
+
+public class ExponentialSmoothingRatePredictorProvider implements RatePredictorProvider {
+    @NotNull
+    @Override
+    public RatePredictionAlgorithm getAlgorithm() {
+        return RatePredictionAlgorithm.EXPONENTIAL_SMOOTHING;
+    }
+
+    @NotNull
+    @Override
+    public RatePredictor create(@NotNull RatePredictorParams params) {
+        return new ExponentialSmoothingRatePredictor(params.getWindow());
+    }
+}
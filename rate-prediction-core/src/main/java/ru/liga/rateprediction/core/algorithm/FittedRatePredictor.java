@@ -0,0 +1,134 @@
+package ru.liga.rateprediction.core.algorithm;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.liga.rateprediction.core.DateUtils;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RateSeries;
+import ru.liga.rateprediction.core.metrics.PredictionMetrics;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Base class of algorithms that fit a model to the whole history once and then compute prediction
+ * for every day independently. Predictions do not depend on each other, so any date costs the same.
+ * As in {@link MeanRatePredictor}, the first prediction is made for the day after the latest known rate.
+ */
+@Slf4j
+abstract class FittedRatePredictor implements RatePredictor {
+    /**
+     * Model of rates fitted to history
+     */
+    @FunctionalInterface
+    interface RateModel {
+        /**
+         * @param epochDay day to predict rate for
+         * @return predicted rate
+         */
+        double predict(long epochDay);
+    }
+
+    private final int historyDepth;
+
+    /**
+     * @param window count of the latest rates to fit model to, must be positive. If null, the whole history is used
+     */
+    FittedRatePredictor(@Nullable Integer window) {
+        if (window != null && window <= 0) {
+            throw new IllegalArgumentException("Window size must be positive, but was = " + window);
+        }
+
+        this.historyDepth = window == null ? Integer.MAX_VALUE : window;
+    }
+
+    /**
+     * Method fits model in a single pass over history.
+     *
+     * @param history not empty history ordered by date ascending
+     * @return fitted model
+     */
+    abstract RateModel fit(RateSeries history);
+
+    @Override
+    public int getHistoryDepth() {
+        return historyDepth;
+    }
+
+    @Override
+    public List<RatePrediction> predictRange(@NotNull List<RatePrediction> initialData,
+                                             @NotNull LocalDate startDateInclusive,
+                                             @NotNull LocalDate endDateInclusive) {
+        return predict(toSeries(initialData), startDateInclusive, endDateInclusive);
+    }
+
+    @Override
+    public RatePrediction predictSingle(@NotNull List<RatePrediction> initialData,
+                                        @NotNull LocalDate predictionDate) {
+        return predict(toSeries(initialData), predictionDate, null).get(0);
+    }
+
+    @Override
+    public Stream<RatePrediction> predictStream(@NotNull List<RatePrediction> initialData,
+                                                @NotNull LocalDate startDateInclusive,
+                                                @Nullable LocalDate endDateInclusive) {
+        return predictStream(toSeries(initialData), startDateInclusive, endDateInclusive);
+    }
+
+    @Override
+    public List<RatePrediction> predict(@NotNull RateSeries initialData,
+                                        @NotNull LocalDate startDateInclusive,
+                                        @Nullable LocalDate endDateInclusive) {
+        return predictStream(initialData, startDateInclusive, endDateInclusive).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<RatePrediction> predictStream(@NotNull RateSeries initialData,
+                                                @NotNull LocalDate startDateInclusive,
+                                                @Nullable LocalDate endDateInclusive) {
+        log.debug("Predict rates with {} for date range = [{} - {}]",
+                getClass().getSimpleName(), startDateInclusive, endDateInclusive
+        );
+        validate(initialData);
+        final long startNanos = System.nanoTime();
+        final RateModel model = fit(initialData.latest(historyDepth));
+        PredictionMetrics.global().recordModelFit(System.nanoTime() - startNanos);
+        final long firstEpochDay = initialData.getLastEpochDay() + 1L;
+        final long startEpochDay = Math.max(startDateInclusive.toEpochDay(), firstEpochDay);
+        final long endEpochDay = endDateInclusive == null
+                ? startEpochDay
+                : Math.max(endDateInclusive.toEpochDay(), startEpochDay);
+
+        return LongStream.rangeClosed(startEpochDay, endEpochDay)
+                .mapToObj(epochDay -> new RatePrediction(
+                        LocalDate.ofEpochDay(epochDay), toRate(model.predict(epochDay))
+                ));
+    }
+
+    private static BigDecimal toRate(double rate) {
+        return RateSeries.fromScaled(Math.round(rate * Math.pow(10, RateSeries.SCALE)));
+    }
+
+    private static RateSeries toSeries(List<RatePrediction> initialData) {
+        if (initialData == null || initialData.isEmpty()) {
+            throw new IllegalArgumentException("No initial data provided!");
+        }
+
+        return RateSeries.fromPredictions(initialData);
+    }
+
+    private static void validate(RateSeries initialData) {
+        if (initialData == null || initialData.isEmpty()) {
+            throw new IllegalArgumentException("No initial data provided!");
+        }
+
+        if (!DateUtils.isLocalDateInPastOrPresent(initialData.getDate(initialData.size() - 1))) {
+            throw new IllegalArgumentException("Invalid initial data provided!");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ru.liga.rateprediction.core.algorithm;
+
+import org.jetbrains.annotations.Nullable;
+import ru.liga.rateprediction.core.RateSeries;
+
+/**
+ * This class implements rate prediction algorithm based on least squares linear regression of rate by date.
+ * Dates are counted from the latest known day, so sums stay small and precise for long histories.
+ */
+class LinearRegressionRatePredictor extends FittedRatePredictor {
+    private static final double RATE_UNIT = Math.pow(10, RateSeries.SCALE);
+
+    LinearRegressionRatePredictor() {
+        this(null);
+    }
+
+    /**
+     * @param window count of the latest rates to fit, must be positive. If null, the whole history is used
+     */
+    LinearRegressionRatePredictor(@Nullable Integer window) {
+        super(window);
+    }
+
+    @Override
+    RateModel fit(RateSeries history) {
+        final int n = history.size();
+        final long lastEpochDay = history.getLastEpochDay();
+        double sumX = 0;
+        double sumY = 0;
+        double sumXX = 0;
+        double sumXY = 0;
+        for (int i = 0; i < n; i++) {
+            final double x = history.getEpochDay(i) - lastEpochDay;
+            final double y = history.getScaledRate(i) / RATE_UNIT;
+            sumX += x;
+            sumY += y;
+            sumXX += x * x;
+            sumXY += x * y;
+        }
+
+        final double denominator = n * sumXX - sumX * sumX;
+        final double slope = denominator == 0 ? 0 : (n * sumXY - sumX * sumY) / denominator;
+        final double intercept = (sumY - slope * sumX) / n;
+        return epochDay -> intercept + slope * (epochDay - lastEpochDay);
+    }
+}
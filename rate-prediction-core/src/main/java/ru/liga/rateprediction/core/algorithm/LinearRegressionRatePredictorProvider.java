@@ -0,0 +1,17 @@
+package ru.liga.rateprediction.core.algorithm;
+
+import org.jetbrains.annotations.NotNull;
+
+public class LinearRegressionRatePredictorProvider implements RatePredictorProvider {
+    @NotNull
+    @Override
+    public RatePredictionAlgorithm getAlgorithm() {
+        return RatePredictionAlgorithm.LINEAR_REGRESSION;
+    }
+
+    @NotNull
+    @Override
+    public RatePredictor create(@NotNull RatePredictorParams params) {
+        return new LinearRegressionRatePredictor(params.getWindow());
+    }
+}
@@ -0,0 +1,69 @@
+package ru.liga.rateprediction.core.algorithm;
+
+import org.jetbrains.annotations.Nullable;
+import ru.liga.rateprediction.core.RateSeries;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Bounded store of {@link MeanRateWindow} states computed from the same initial data, so a prediction for a far date
+ * continues from the closest earlier state instead of starting from the initial data again.
+ * Both initial data and their checkpoints are evicted in least recently used order.
+ */
+class MeanRateCheckpoints {
+    private final int maxInitialData;
+
+    private final int maxCheckpointsPerInitialData;
+
+    private final Map<RateSeries, TreeMap<Long, MeanRateWindow>> checkpoints;
+
+    /**
+     * @param maxInitialData               max count of distinct initial data to keep checkpoints for
+     * @param maxCheckpointsPerInitialData max count of checkpoints for the same initial data
+     */
+    MeanRateCheckpoints(int maxInitialData, int maxCheckpointsPerInitialData) {
+        this.maxInitialData = maxInitialData;
+        this.maxCheckpointsPerInitialData = maxCheckpointsPerInitialData;
+        this.checkpoints = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RateSeries, TreeMap<Long, MeanRateWindow>> eldest) {
+                return size() > MeanRateCheckpoints.this.maxInitialData;
+            }
+        };
+    }
+
+    /**
+     * @param initialData initial data of the predictor
+     * @param epochDay    target day
+     * @return copy of the latest window state at or before target day, or null if there is none
+     */
+    @Nullable
+    synchronized MeanRateWindow floor(RateSeries initialData, long epochDay) {
+        final TreeMap<Long, MeanRateWindow> windows = checkpoints.get(initialData);
+        if (windows == null) {
+            return null;
+        }
+
+        final Map.Entry<Long, MeanRateWindow> floor = windows.floorEntry(epochDay);
+        return floor == null ? null : new MeanRateWindow(floor.getValue());
+    }
+
+    /**
+     * Method stores copy of window state. If there are too many checkpoints, the earliest is dropped,
+     * because it is the cheapest one to compute again.
+     *
+     * @param initialData initial data of the predictor
+     * @param window      window advanced from initial data
+     */
+    synchronized void put(RateSeries initialData, MeanRateWindow window) {
+        final TreeMap<Long, MeanRateWindow> windows = checkpoints.computeIfAbsent(
+                initialData.compact(), key -> new TreeMap<>()
+        );
+        windows.put(window.getLastEpochDay(), new MeanRateWindow(window));
+        if (windows.size() > maxCheckpointsPerInitialData) {
+            windows.pollFirstEntry();
+        }
+    }
+}
@@ -1,61 +1,174 @@
 package ru.liga.rateprediction.core.algorithm;
 
-import lombok.AllArgsConstructor;
-import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import ru.liga.rateprediction.core.DateUtils;
 import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RateSeries;
+import ru.liga.rateprediction.core.metrics.PredictionMetrics;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.util.*;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This class implements rate prediction algorithm based on mean value of previously predicted rates.
+ * Single date predictions from {@link RateSeries} reuse window states computed by previous calls with the same data.
  */
 @Slf4j
 class MeanRatePredictor implements RatePredictor {
+    /**
+     * Default count of the latest rates that are averaged
+     */
+    static final int DEFAULT_WINDOW_SIZE = 7;
+    private static final int MAX_CHECKPOINTED_SERIES = 16;
+    private static final int MAX_CHECKPOINTS_PER_SERIES = 16;
+    /**
+     * Long ranges make thousands of steps, so only every this step of window is traced
+     */
+    private static final int TRACE_SAMPLE_STEPS = 64;
+
+    private final MeanRateCheckpoints checkpoints = new MeanRateCheckpoints(
+            MAX_CHECKPOINTED_SERIES, MAX_CHECKPOINTS_PER_SERIES
+    );
+
+    private final PredictionMetrics metrics = PredictionMetrics.global();
+
+    private final WindowTraceLog windowTraceLog = new WindowTraceLog(log, TRACE_SAMPLE_STEPS);
+
+    private final int windowSize;
+
+    MeanRatePredictor() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param windowSize count of the latest rates that are averaged, must be positive
+     */
+    MeanRatePredictor(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive, but was = " + windowSize);
+        }
+
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public int getHistoryDepth() {
+        return windowSize;
+    }
+
     @Override
     public List<RatePrediction> predictRange(@NotNull List<RatePrediction> initialData,
                                              @NotNull LocalDate startDateInclusive,
                                              @NotNull LocalDate endDateInclusive) {
-        log.info("Predict multiple rates for date range = [{} - {}]", startDateInclusive, endDateInclusive);
-        Prediction prediction = doInitialPrediction(validateAndCopy(initialData));
-        while (startDateInclusive.compareTo(prediction.getPrediction().getDate()) > 0) {
-            prediction = nextPrediction(prediction);
-            logPredictions(prediction.getUsedData());
+        return stream(createWindow(initialData), startDateInclusive, endDateInclusive)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public RatePrediction predictSingle(@NotNull List<RatePrediction> initialData,
+                                        @NotNull LocalDate predictionDate) {
+        return predictSingle(createWindow(initialData), predictionDate);
+    }
+
+    @Override
+    public Stream<RatePrediction> predictStream(@NotNull List<RatePrediction> initialData,
+                                                @NotNull LocalDate startDateInclusive,
+                                                @Nullable LocalDate endDateInclusive) {
+        return stream(createWindow(initialData), startDateInclusive, endDateInclusive);
+    }
+
+    @Override
+    public List<RatePrediction> predict(@NotNull RateSeries initialData,
+                                        @NotNull LocalDate startDateInclusive,
+                                        @Nullable LocalDate endDateInclusive) {
+        if (endDateInclusive == null) {
+            return List.of(predictSingle(initialData, startDateInclusive));
         }
 
-        final List<RatePrediction> predictions = new ArrayList<>();
-        predictions.add(prediction.getPrediction());
-        while (endDateInclusive.compareTo(prediction.getPrediction().getDate()) > 0) {
-            prediction = nextPrediction(prediction);
-            logPredictions(prediction.getUsedData());
+        return stream(createWindow(initialData), startDateInclusive, endDateInclusive).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<RatePrediction> predictStream(@NotNull RateSeries initialData,
+                                                @NotNull LocalDate startDateInclusive,
+                                                @Nullable LocalDate endDateInclusive) {
+        return stream(createWindow(initialData), startDateInclusive, endDateInclusive);
+    }
+
+    /**
+     * Method slides one window over history: each day is predicted from the live window without copying it,
+     * and then the known rate of that day is pushed into it, so no window is built from scratch inside range
+     */
+    @Override
+    public long[] predictHistory(@NotNull RateSeries history, int fromIndexInclusive, int toIndexExclusive) {
+        if (fromIndexInclusive < windowSize) {
+            // window is not filled with known rates yet, so its size changes from day to day
+            return RatePredictor.super.predictHistory(history, fromIndexInclusive, toIndexExclusive);
+        }
+        Objects.checkFromToIndex(fromIndexInclusive, toIndexExclusive, history.size());
 
-            predictions.add(prediction.getPrediction());
+        final MeanRateWindow window = new MeanRateWindow(
+                history.slice(fromIndexInclusive - windowSize, fromIndexInclusive)
+        );
+        final long[] scratch = new long[windowSize];
+        final long[] predictions = new long[toIndexExclusive - fromIndexInclusive];
+        for (int i = fromIndexInclusive; i < toIndexExclusive; i++) {
+            predictions[i - fromIndexInclusive] = window.peek(history.getEpochDay(i), scratch);
+            window.push(history.getEpochDay(i), history.getScaledRate(i));
         }
 
         return predictions;
     }
 
-    @Override
-    public RatePrediction predictSingle(@NotNull List<RatePrediction> initialData,
-                                        @NotNull LocalDate predictionDate) {
-        log.info("Predict single rate for date = {}", predictionDate);
-        Prediction prediction = doInitialPrediction(validateAndCopy(initialData));
-        while (predictionDate.compareTo(prediction.getPrediction().getDate()) > 0) {
-            prediction = nextPrediction(prediction);
-            logPredictions(prediction.getUsedData());
+    private RatePrediction predictSingle(MeanRateWindow window, LocalDate predictionDate) {
+        final long startNanos = System.nanoTime();
+        final long startEpochDay = window.getLastEpochDay();
+        advanceUntil(window, predictionDate.toEpochDay());
+        recordRun(window, startNanos, startEpochDay);
+        return window.getLast();
+    }
+
+    private RatePrediction predictSingle(RateSeries initialData, LocalDate predictionDate) {
+        validate(initialData);
+        // the first prediction is always made for the day after the latest known rate
+        final long epochDay = Math.max(predictionDate.toEpochDay(), initialData.getLastEpochDay() + 1L);
+        MeanRateWindow window = checkpoints.floor(initialData, epochDay);
+        if (window == null) {
+            window = createWindow(initialData);
+        } else if (log.isDebugEnabled()) {
+            log.debug("Continue prediction from checkpoint = {}", LocalDate.ofEpochDay(window.getLastEpochDay()));
         }
 
-        return prediction.getPrediction();
+        final long startNanos = System.nanoTime();
+        final long startEpochDay = window.getLastEpochDay();
+        window.advanceTo(epochDay);
+        recordRun(window, startNanos, startEpochDay);
+        logWindow(window);
+        checkpoints.put(initialData, window);
+        return window.getLast();
     }
 
-    private List<RatePrediction> validateAndCopy(List<RatePrediction> initialData) {
+    private Stream<RatePrediction> stream(MeanRateWindow window,
+                                          LocalDate startDateInclusive,
+                                          @Nullable LocalDate endDateInclusive) {
+        return StreamSupport.stream(new PredictionSpliterator(
+                window,
+                startDateInclusive,
+                endDateInclusive == null ? startDateInclusive : endDateInclusive
+        ), false);
+    }
+
+    private MeanRateWindow createWindow(List<RatePrediction> initialData) {
         if (initialData == null || initialData.isEmpty()) {
             throw new IllegalArgumentException("No initial data provided!");
         }
@@ -66,66 +179,114 @@ class MeanRatePredictor implements RatePredictor {
             throw new IllegalArgumentException("Invalid initial data provided!");
         }
 
-        return new ArrayList<>(initialData);
+        // only the newest rates are averaged, so older rows must not get into the window
+        final List<RatePrediction> latestData = initialData.size() <= windowSize
+                ? initialData
+                : initialData.stream()
+                .sorted(RatePrediction.BY_DATE_ASC)
+                .skip(initialData.size() - windowSize)
+                .toList();
+        final MeanRateWindow window = new MeanRateWindow(latestData);
+        logWindow(window);
+        return window;
     }
 
-    private Prediction doInitialPrediction(Collection<RatePrediction> initialData) {
-        // put all initial predictions in deque ordered by date ascending. this way
-        // we would have at first element of deque prediction that must be excluded first
-        // and new predictions would be added at the end of deque
-        logPredictions(initialData);
-        final Deque<RatePrediction> deque = initialData.stream()
-                .sorted(RatePrediction.BY_DATE_ASC)
-                .collect(Collectors.toCollection(ArrayDeque::new));
+    private void validate(RateSeries initialData) {
+        if (initialData == null || initialData.isEmpty()) {
+            throw new IllegalArgumentException("No initial data provided!");
+        }
 
-        return new Prediction(
-                deque,
-                nextRatePrediction(deque.getLast(), initialData)
-        );
+        if (!DateUtils.isLocalDateInPastOrPresent(initialData.getDate(initialData.size() - 1))) {
+            throw new IllegalArgumentException("Invalid initial data provided!");
+        }
     }
 
-    private Prediction nextPrediction(Prediction prediction) {
-        final Deque<RatePrediction> usedData = new ArrayDeque<>(prediction.getUsedData());
-        usedData.removeFirst();
-        usedData.addLast(prediction.getPrediction());
+    private MeanRateWindow createWindow(RateSeries initialData) {
+        validate(initialData);
+        final MeanRateWindow window = new MeanRateWindow(initialData.latest(windowSize));
+        logWindow(window);
+        return window;
+    }
 
-        return new Prediction(
-                usedData,
-                nextRatePrediction(usedData.getLast(), usedData)
-        );
+    /**
+     * Method makes at least one prediction step from initial data and fast-forwards window to provided day
+     */
+    private void advanceUntil(MeanRateWindow window, long epochDay) {
+        if (window.getLastEpochDay() >= epochDay) {
+            advance(window);
+            return;
+        }
+
+        window.advanceTo(epochDay);
+        logWindow(window);
     }
 
-    private RatePrediction nextRatePrediction(RatePrediction latestPrediction,
-                                              Collection<RatePrediction> previousPredictions) {
-        final LocalDate nextDate = latestPrediction.getDate().plusDays(1);
-        final BigDecimal nextRate = previousPredictions.stream()
-                .map(RatePrediction::getRate)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .divide(BigDecimal.valueOf(previousPredictions.size()), 4, RoundingMode.HALF_UP);
+    private void advance(MeanRateWindow window) {
+        window.advance();
+        logWindow(window);
+    }
 
-        return new RatePrediction(nextDate, nextRate);
+    /**
+     * Method records the whole run of window for one request, so steps inside of run are not timed
+     */
+    private void recordRun(MeanRateWindow window, long startNanos, long startEpochDay) {
+        metrics.recordMeanWindowRun(System.nanoTime() - startNanos, window.getLastEpochDay() - startEpochDay);
     }
 
-    private void logPredictions(Collection<RatePrediction> predictions) {
-        if (log.isTraceEnabled()) {
-            log.trace(
-                    "Prediction data = {}",
-                    predictions.stream()
-                            .sorted(RatePrediction.BY_DATE_ASC)
-                            .map(x -> String.format("%s - %s", x.getDate(), x.getRate()))
-                            .collect(Collectors.joining("\n\t", "\n\t", ""))
-            );
-        }
+    private void logWindow(MeanRateWindow window) {
+        windowTraceLog.trace(window);
     }
 
     /**
-     * Local private static data class containing prediction info
+     * Spliterator that advances prediction window only when next element is requested.
+     * Run of window is recorded once the last prediction is made, abandoned streams are not recorded.
      */
-    @Value
-    @AllArgsConstructor
-    private static class Prediction {
-        Deque<RatePrediction> usedData;
+    private class PredictionSpliterator extends Spliterators.AbstractSpliterator<RatePrediction> {
+        private final MeanRateWindow window;
+
+        private final long startEpochDay;
+
+        private final long endEpochDay;
 
-        RatePrediction prediction;
+        private boolean started;
+
+        private boolean finished;
+
+        private long runStartNanos;
+
+        private long runStartEpochDay;
+
+        PredictionSpliterator(MeanRateWindow window,
+                              LocalDate startDateInclusive,
+                              LocalDate endDateInclusive) {
+            super(
+                    Math.max(1, endDateInclusive.toEpochDay() - startDateInclusive.toEpochDay() + 1),
+                    Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE
+            );
+            this.window = window;
+            this.startEpochDay = startDateInclusive.toEpochDay();
+            this.endEpochDay = endDateInclusive.toEpochDay();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super RatePrediction> action) {
+            if (!started) {
+                started = true;
+                runStartNanos = System.nanoTime();
+                runStartEpochDay = window.getLastEpochDay();
+                advanceUntil(window, startEpochDay);
+            } else if (window.getLastEpochDay() < endEpochDay) {
+                advance(window);
+            } else {
+                if (!finished) {
+                    finished = true;
+                    recordRun(window, runStartNanos, runStartEpochDay);
+                }
+                return false;
+            }
+
+            action.accept(window.getLast());
+            return true;
+        }
     }
 }
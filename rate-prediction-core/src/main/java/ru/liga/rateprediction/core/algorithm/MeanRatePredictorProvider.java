@@ -0,0 +1,19 @@
+package ru.liga.rateprediction.core.algorithm;
+
+import org.jetbrains.annotations.NotNull;
+
+public class MeanRatePredictorProvider implements RatePredictorProvider {
+    @NotNull
+    @Override
+    public RatePredictionAlgorithm getAlgorithm() {
+        return RatePredictionAlgorithm.MEAN;
+    }
+
+    @NotNull
+    @Override
+    public RatePredictor create(@NotNull RatePredictorParams params) {
+        return params.getWindow() == null
+                ? new MeanRatePredictor()
+                : new MeanRatePredictor(params.getWindow());
+    }
+}
@@ -0,0 +1,221 @@
+package ru.liga.rateprediction.core.algorithm;
+
+import ru.liga.rateprediction.core.FixedPointRates;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RateSeries;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Sliding window of latest rates that is used by {@link MeanRatePredictor}. Rates are kept in a ring buffer
+ * together with their running sum, so each step costs one subtraction, one addition and one division
+ * regardless of window size. Sum is exact, so predictions are the same as if the whole window was summed every time.
+ * Rates are scaled longs and all the arithmetic is {@link FixedPointRates}, so steps do not create objects and
+ * results are bit-identical to summing {@link BigDecimal}s and dividing them with {@link RateSeries#SCALE} digits
+ * rounded half up.
+ * Once the window is filled with equal predictions, every next prediction is the same, so {@link #advanceTo(long)}
+ * jumps to the target day instead of stepping through it.
+ */
+class MeanRateWindow {
+    private final long[] rates;
+
+    private final long[] epochDays;
+
+    /**
+     * Index of the oldest rate, which is replaced by the next prediction
+     */
+    private int oldest;
+
+    private long sum;
+
+    private long lastEpochDay;
+
+    /**
+     * Count of the latest predictions that are equal to each other, initial rates are not counted
+     */
+    private int equalPredictions;
+
+    /**
+     * @param initialData initial rates, not empty, in any order
+     * @throws ArithmeticException if some rate has more than {@link RateSeries#SCALE} decimal digits
+     *                             or sum of rates is too big
+     */
+    MeanRateWindow(Collection<RatePrediction> initialData) {
+        final RatePrediction[] sorted = initialData.stream()
+                .sorted(RatePrediction.BY_DATE_ASC)
+                .toArray(RatePrediction[]::new);
+        this.rates = new long[sorted.length];
+        this.epochDays = new long[sorted.length];
+
+        long initialSum = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            rates[i] = RateSeries.toScaled(sorted[i].getRate());
+            epochDays[i] = sorted[i].getDate().toEpochDay();
+            initialSum = FixedPointRates.add(initialSum, rates[i]);
+        }
+        this.sum = initialSum;
+        this.lastEpochDay = epochDays[sorted.length - 1];
+    }
+
+    /**
+     * @param initialData initial rates, not empty
+     * @throws ArithmeticException if sum of rates is too big
+     */
+    MeanRateWindow(RateSeries initialData) {
+        this.rates = new long[initialData.size()];
+        this.epochDays = new long[initialData.size()];
+
+        long initialSum = 0;
+        for (int i = 0; i < rates.length; i++) {
+            rates[i] = initialData.getScaledRate(i);
+            epochDays[i] = initialData.getEpochDay(i);
+            initialSum = FixedPointRates.add(initialSum, rates[i]);
+        }
+        this.sum = initialSum;
+        this.lastEpochDay = epochDays[rates.length - 1];
+    }
+
+    /**
+     * Copy constructor, so the state of a window can be kept while the original continues to advance
+     */
+    MeanRateWindow(MeanRateWindow other) {
+        this.rates = other.rates.clone();
+        this.epochDays = other.epochDays.clone();
+        this.oldest = other.oldest;
+        this.sum = other.sum;
+        this.lastEpochDay = other.lastEpochDay;
+        this.equalPredictions = other.equalPredictions;
+    }
+
+    /**
+     * Method predicts rate for the day after the latest rate in window and puts it in place of the oldest rate
+     */
+    void advance() {
+        final long nextRate = FixedPointRates.divideHalfUp(sum, rates.length);
+        if (equalPredictions > 0 && nextRate == getLastScaledRate()) {
+            equalPredictions++;
+        } else {
+            equalPredictions = 1;
+        }
+        sum = FixedPointRates.add(FixedPointRates.subtract(sum, rates[oldest]), nextRate);
+        rates[oldest] = nextRate;
+        epochDays[oldest] = ++lastEpochDay;
+        oldest = (oldest + 1) % rates.length;
+    }
+
+    /**
+     * Method computes rate that {@link #advanceTo(long)} would predict for provided day, but does not change
+     * the window. Days between the latest rate and provided day are predicted one by one into scratch buffer,
+     * so the next day costs one division and no allocations.
+     *
+     * @param epochDay target day, must be after the latest day in window
+     * @param scratch  buffer of intermediate predictions, its length must be equal to window size
+     * @return predicted rate of target day scaled as in {@link RateSeries}
+     * @throws IllegalArgumentException if target day is not after the latest day in window
+     */
+    long peek(long epochDay, long[] scratch) {
+        if (epochDay <= lastEpochDay) {
+            throw new IllegalArgumentException(String.format(
+                    "Day = %s is not after the latest day in window = %s", epochDay, lastEpochDay
+            ));
+        }
+
+        final int size = rates.length;
+        long stepSum = sum;
+        for (long step = 0; step < epochDay - lastEpochDay - 1; step++) {
+            // known rates leave the window first, then predictions made before
+            final long removed = step < size
+                    ? rates[(int) ((oldest + step) % size)]
+                    : scratch[(int) ((step - size) % size)];
+            final long nextRate = FixedPointRates.divideHalfUp(stepSum, size);
+            scratch[(int) (step % size)] = nextRate;
+            stepSum = FixedPointRates.add(FixedPointRates.subtract(stepSum, removed), nextRate);
+        }
+        return FixedPointRates.divideHalfUp(stepSum, size);
+    }
+
+    /**
+     * Method puts known rate in place of the oldest rate, so window slides over history instead of predictions
+     *
+     * @param epochDay   day of rate, must be after the latest day in window
+     * @param scaledRate known rate of that day, scaled as in {@link RateSeries}
+     */
+    void push(long epochDay, long scaledRate) {
+        sum = FixedPointRates.add(FixedPointRates.subtract(sum, rates[oldest]), scaledRate);
+        rates[oldest] = scaledRate;
+        epochDays[oldest] = epochDay;
+        lastEpochDay = epochDay;
+        oldest = (oldest + 1) % rates.length;
+        equalPredictions = 0;
+    }
+
+    /**
+     * Method advances window until its latest rate is for provided day without creating intermediate predictions.
+     * Window that is already at or after provided day is not changed.
+     *
+     * @param epochDay target day
+     */
+    void advanceTo(long epochDay) {
+        while (lastEpochDay < epochDay) {
+            if (isSteady()) {
+                shiftDaysTo(epochDay);
+                return;
+            }
+            advance();
+        }
+    }
+
+    /**
+     * @return true if window is filled with equal predictions, so all the next predictions are the same
+     */
+    boolean isSteady() {
+        return equalPredictions >= rates.length;
+    }
+
+    /**
+     * @return epoch day of the latest rate in window
+     */
+    long getLastEpochDay() {
+        return lastEpochDay;
+    }
+
+    /**
+     * @return the latest rate in window
+     */
+    RatePrediction getLast() {
+        return new RatePrediction(LocalDate.ofEpochDay(lastEpochDay), RateSeries.fromScaled(getLastScaledRate()));
+    }
+
+    /**
+     * @return the latest rate in window scaled as in {@link RateSeries}
+     */
+    long getLastScaledRate() {
+        return rates[(oldest + rates.length - 1) % rates.length];
+    }
+
+    /**
+     * @return window content ordered by date ascending, for logging purposes
+     */
+    String describe() {
+        return IntStream.range(0, rates.length)
+                .map(i -> (oldest + i) % rates.length)
+                .mapToObj(i -> String.format(
+                        "%s - %s", LocalDate.ofEpochDay(epochDays[i]), RateSeries.fromScaled(rates[i])
+                ))
+                .collect(Collectors.joining("\n\t", "\n\t", ""));
+    }
+
+    /**
+     * Method moves dates of steady window, rates and their order stay the same because they are all equal
+     */
+    private void shiftDaysTo(long epochDay) {
+        for (int i = 0; i < rates.length; i++) {
+            epochDays[(oldest + i) % rates.length] = epochDay - (rates.length - 1 - i);
+        }
+        lastEpochDay = epochDay;
+    }
+}
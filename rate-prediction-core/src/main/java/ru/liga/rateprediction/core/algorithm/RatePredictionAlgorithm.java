@@ -1,12 +1,64 @@
 package ru.liga.rateprediction.core.algorithm;
 
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * That class represents prediction algorithms. Algorithms are not hardcoded: each {@link RatePredictorProvider}
+ * declares algorithm of its own code, so known algorithms are looked up by code in {@link RatePredictorFactory},
+ * and only algorithms bundled into core are predefined. Algorithms are equal if their codes are equal.
+ */
 @Getter
-@RequiredArgsConstructor
-public enum RatePredictionAlgorithm {
-    MEAN("mean");
+@EqualsAndHashCode
+public final class RatePredictionAlgorithm {
+    private static final Pattern CODE_PATTERN = Pattern.compile("[a-z][a-z0-9_-]*");
+
+    public static final RatePredictionAlgorithm MEAN = new RatePredictionAlgorithm("mean");
+
+    public static final RatePredictionAlgorithm LINEAR_REGRESSION = new RatePredictionAlgorithm("linear");
+
+    public static final RatePredictionAlgorithm EXPONENTIAL_SMOOTHING = new RatePredictionAlgorithm("smoothing");
+
+    /**
+     * Algorithms bundled into core in order of their providers
+     */
+    public static final List<RatePredictionAlgorithm> PREDEFINED =
+            List.of(MEAN, LINEAR_REGRESSION, EXPONENTIAL_SMOOTHING);
 
+    /**
+     * Code of algorithm in lower case, e.g. mean
+     */
     private final String code;
+
+    private RatePredictionAlgorithm(String code) {
+        this.code = code;
+    }
+
+    /**
+     * @param code code of algorithm in any case, not null
+     * @return algorithm of provided code
+     * @throws IllegalArgumentException if code does not start with latin letter or contains other characters than
+     *                                  latin letters, digits, '_' and '-'
+     */
+    public static RatePredictionAlgorithm of(@NotNull String code) {
+        final String lowerCaseCode = code.toLowerCase(Locale.ROOT);
+        if (!CODE_PATTERN.matcher(lowerCaseCode).matches()) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid algorithm code = %s! Code must start with latin letter and consist of latin letters, "
+                            + "digits, '_' and '-'", code
+            ));
+        }
+
+        return new RatePredictionAlgorithm(lowerCaseCode);
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
 }
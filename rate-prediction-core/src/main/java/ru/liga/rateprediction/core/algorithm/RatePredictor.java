@@ -1,17 +1,25 @@
 package ru.liga.rateprediction.core.algorithm;
 
-import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RateSeries;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * Interface represents currency rate prediction algorithm
  */
 public interface RatePredictor {
+    /**
+     * @return count of the latest known rates that algorithm uses as initial data,
+     * {@link Integer#MAX_VALUE} if it uses the whole history
+     */
+    int getHistoryDepth();
+
     /**
      * Method predict currency rates for provided date range
      *
@@ -34,6 +42,21 @@ public interface RatePredictor {
     RatePrediction predictSingle(@NotNull List<RatePrediction> initialData,
                                  @NotNull LocalDate predictionDate);
 
+    /**
+     * Method lazily predicts currency rates for provided date range. Predictions are computed one day at a time
+     * while the stream is consumed, so memory use does not depend on range length.
+     *
+     * @param initialData        initial data for prediction, must not be null or empty
+     * @param startDateInclusive start date inclusive, not null
+     * @param endDateInclusive   end date inclusive, nullable. If null, stream contains only prediction for start date
+     * @return ordered {@link Stream} of currency rates prediction in desired date range
+     */
+    default Stream<RatePrediction> predictStream(@NotNull List<RatePrediction> initialData,
+                                                 @NotNull LocalDate startDateInclusive,
+                                                 @Nullable LocalDate endDateInclusive) {
+        return predict(initialData, startDateInclusive, endDateInclusive).stream();
+    }
+
     default List<RatePrediction> predict(@NotNull List<RatePrediction> initialData,
                                          @NotNull LocalDate startDateInclusive,
                                          @Nullable LocalDate endDateInclusive) {
@@ -43,4 +66,57 @@ public interface RatePredictor {
             return predictRange(initialData, startDateInclusive, endDateInclusive);
         }
     }
+
+    /**
+     * Method works as {@link #predict(List, LocalDate, LocalDate)} with initial data in columnar form.
+     * Default implementation converts series to {@link RatePrediction} objects.
+     *
+     * @param initialData        initial data for prediction, must not be empty
+     * @param startDateInclusive start date inclusive, not null
+     * @param endDateInclusive   end date inclusive, nullable. If null, only prediction for start date is returned
+     * @return {@link List} of currency rates prediction in desired date range
+     */
+    default List<RatePrediction> predict(@NotNull RateSeries initialData,
+                                         @NotNull LocalDate startDateInclusive,
+                                         @Nullable LocalDate endDateInclusive) {
+        return predict(initialData.toRatePredictions(), startDateInclusive, endDateInclusive);
+    }
+
+    /**
+     * Method works as {@link #predictStream(List, LocalDate, LocalDate)} with initial data in columnar form.
+     * Default implementation converts series to {@link RatePrediction} objects.
+     */
+    default Stream<RatePrediction> predictStream(@NotNull RateSeries initialData,
+                                                 @NotNull LocalDate startDateInclusive,
+                                                 @Nullable LocalDate endDateInclusive) {
+        return predictStream(initialData.toRatePredictions(), startDateInclusive, endDateInclusive);
+    }
+
+    /**
+     * Method replays history: it predicts rate of each day in provided index range from the rates before that day
+     * only, as backtesting needs. Default implementation predicts each day from a view of the preceding
+     * {@link #getHistoryDepth()} rates without copying them.
+     *
+     * @param history            known rates ordered by date ascending, not null
+     * @param fromIndexInclusive index of the first day to predict, must be positive, so at least one rate precedes it
+     * @param toIndexExclusive   index after the last day to predict, must not be greater than history size
+     * @return predicted rates multiplied by 10^{@link RateSeries#SCALE}, one per index in range
+     * @throws IllegalArgumentException  if the first index is not positive
+     * @throws IndexOutOfBoundsException if range is out of history
+     */
+    default long[] predictHistory(@NotNull RateSeries history, int fromIndexInclusive, int toIndexExclusive) {
+        if (fromIndexInclusive <= 0) {
+            throw new IllegalArgumentException("First index must be positive, but was = " + fromIndexInclusive);
+        }
+        Objects.checkFromToIndex(fromIndexInclusive, toIndexExclusive, history.size());
+
+        final long[] predictions = new long[toIndexExclusive - fromIndexInclusive];
+        for (int i = fromIndexInclusive; i < toIndexExclusive; i++) {
+            final RateSeries initialData = history.slice(Math.max(0, i - getHistoryDepth()), i);
+            final RatePrediction prediction = predict(initialData, history.getDate(i), null).get(0);
+            predictions[i - fromIndexInclusive] = RateSeries.toScaled(prediction.getRate());
+        }
+
+        return predictions;
+    }
 }
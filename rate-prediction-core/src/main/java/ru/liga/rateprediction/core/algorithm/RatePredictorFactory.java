@@ -2,31 +2,118 @@ package ru.liga.rateprediction.core.algorithm;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.NotImplementedException;
+import org.jetbrains.annotations.NotNull;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * Factory of predictors of algorithms whose providers are loaded into it, see {@link RatePredictorProvider}.
+ * Algorithms are known only to the factory that loaded them, so they are looked up by code in factory.
+ */
 @Slf4j
 public class RatePredictorFactory {
-    private final Map<RatePredictionAlgorithm, RatePredictor> algorithmRatePredictorMap;
+    /**
+     * Providers by algorithm in order of their discovery
+     */
+    private final Map<RatePredictionAlgorithm, RatePredictorProvider> algorithmProviderMap;
 
-    public RatePredictorFactory(Map<RatePredictionAlgorithm, RatePredictor> algorithmRatePredictorMap) {
-        this.algorithmRatePredictorMap = algorithmRatePredictorMap;
-        log.info("Initialised rate predictor factory for algorithms = {}", algorithmRatePredictorMap);
+    /**
+     * Predictors are stateless or thread safe, so one instance per algorithm and params is shared
+     */
+    private final ConcurrentMap<PredictorKey, RatePredictor> ratePredictors = new ConcurrentHashMap<>();
+
+    public RatePredictorFactory(Map<RatePredictionAlgorithm, RatePredictorProvider> algorithmProviderMap) {
+        this.algorithmProviderMap = algorithmProviderMap;
+        log.info("Initialised rate predictor factory for algorithms = {}", algorithmProviderMap.keySet());
     }
 
+    /**
+     * Creates factory with all {@link RatePredictorProvider}s found on classpath
+     */
     public RatePredictorFactory() {
-        this(Map.of(RatePredictionAlgorithm.MEAN, new MeanRatePredictor()));
+        this(loadProviders(ServiceLoader.load(RatePredictorProvider.class)));
+    }
+
+    /**
+     * Method determines algorithm of loaded provider by provided code ignoring its case
+     *
+     * @param code provided String code, nullable
+     * @return {@link Optional} with algorithm or {@link Optional#empty()} if there is no provider of such algorithm
+     */
+    public Optional<RatePredictionAlgorithm> findAlgorithm(String code) {
+        if (code == null) {
+            return Optional.empty();
+        }
+
+        final String lowerCaseCode = code.toLowerCase(Locale.ROOT);
+        return algorithmProviderMap.keySet().stream()
+                .filter(algorithm -> algorithm.getCode().equals(lowerCaseCode))
+                .findFirst();
+    }
+
+    /**
+     * @return algorithms of loaded providers in order of their discovery
+     */
+    public List<RatePredictionAlgorithm> getAlgorithms() {
+        return List.copyOf(algorithmProviderMap.keySet());
     }
 
     public RatePredictor create(RatePredictionAlgorithm algorithm) {
-        log.info("Create rate predictor for algorithm = {}", algorithm);
-        final RatePredictor ratePredictor = algorithmRatePredictorMap.get(algorithm);
-        if (ratePredictor == null) {
+        return create(algorithm, RatePredictorParams.DEFAULT);
+    }
+
+    /**
+     * @param algorithm prediction algorithm, not null
+     * @param params    algorithm params, not null
+     * @return predictor of provided algorithm configured by params
+     * @throws NotImplementedException  if there is no provider of algorithm
+     * @throws IllegalArgumentException if params are invalid, e.g. window is greater than
+     *                                  {@value RatePredictorParams#MAX_WINDOW}
+     */
+    public RatePredictor create(@NotNull RatePredictionAlgorithm algorithm, @NotNull RatePredictorParams params) {
+        if (params.getWindow() != null && params.getWindow() > RatePredictorParams.MAX_WINDOW) {
+            throw new IllegalArgumentException(String.format(
+                    "Window = %s is greater than max window = %s", params.getWindow(), RatePredictorParams.MAX_WINDOW
+            ));
+        }
+
+        final RatePredictorProvider provider = algorithmProviderMap.get(algorithm);
+        if (provider == null) {
             throw new NotImplementedException(String.format(
                     "Algorithm = %s is not implemented yet!", algorithm
             ));
         }
 
-        return ratePredictor;
+        return ratePredictors.computeIfAbsent(new PredictorKey(algorithm, params), key -> {
+            // predictors are cached, so it is logged once per algorithm and params instead of once per request
+            log.info("Create rate predictor for algorithm = {}, params = {}", algorithm, params);
+            return provider.create(params);
+        });
+    }
+
+    static Map<RatePredictionAlgorithm, RatePredictorProvider> loadProviders(Iterable<RatePredictorProvider> providers) {
+        final Map<RatePredictionAlgorithm, RatePredictorProvider> algorithmProviderMap = new LinkedHashMap<>();
+        for (RatePredictorProvider provider : providers) {
+            final RatePredictionAlgorithm algorithm = provider.getAlgorithm();
+            if (algorithmProviderMap.containsKey(algorithm)) {
+                log.warn("Algorithm = {} is already provided, ignore provider = {}",
+                        algorithm, provider.getClass().getName()
+                );
+                continue;
+            }
+            algorithmProviderMap.put(algorithm, provider);
+        }
+
+        return algorithmProviderMap;
+    }
+
+    private record PredictorKey(RatePredictionAlgorithm algorithm, RatePredictorParams params) {
     }
 }
@@ -0,0 +1,30 @@
+package ru.liga.rateprediction.core.algorithm;
+
+import lombok.Builder;
+import lombok.Value;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Class that provides params of prediction algorithm
+ */
+@Value
+@Builder
+public class RatePredictorParams {
+    /**
+     * Params with algorithm defaults
+     */
+    public static final RatePredictorParams DEFAULT = RatePredictorParams.builder().build();
+
+    /**
+     * Max count of the latest known rates used by algorithm. Predictors are cached per params, so window
+     * is bounded to keep count of cached predictors bounded too
+     */
+    public static final int MAX_WINDOW = 365;
+
+    /**
+     * Count of the latest known rates used by algorithm, must be positive and at most {@value #MAX_WINDOW}.
+     * If null, algorithm default is used
+     */
+    @Nullable
+    Integer window;
+}
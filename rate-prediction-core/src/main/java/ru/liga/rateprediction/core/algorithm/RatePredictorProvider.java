@@ -0,0 +1,24 @@
+package ru.liga.rateprediction.core.algorithm;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Service provider interface of prediction algorithms. Implementations are discovered by {@link java.util.ServiceLoader}
+ * from {@code META-INF/services/ru.liga.rateprediction.core.algorithm.RatePredictorProvider} files on classpath,
+ * so new algorithm can be added by a jar without changes of core: provider declares algorithm of its own code,
+ * e.g. {@code RatePredictionAlgorithm.of("arima")}, which is then accepted by CLI and server.
+ */
+public interface RatePredictorProvider {
+    /**
+     * @return algorithm implemented by provided predictors, its code must be unique among providers
+     */
+    @NotNull
+    RatePredictionAlgorithm getAlgorithm();
+
+    /**
+     * @param params algorithm params, not null
+     * @return new thread safe predictor, it is created once per params and shared by all predictions
+     */
+    @NotNull
+    RatePredictor create(@NotNull RatePredictorParams params);
+}
@@ -0,0 +1,44 @@
+package ru.liga.rateprediction.core.algorithm;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Trace output of prediction windows. Window content is described only for every {@code sampleSteps}-th step, and
+ * nothing is computed or allocated at all while TRACE level is off, so the call can stay inside of prediction loops.
+ */
+class WindowTraceLog {
+    private final Logger log;
+
+    private final int sampleSteps;
+
+    /**
+     * Count of steps seen while TRACE level was on
+     */
+    private final AtomicLong steps = new AtomicLong();
+
+    /**
+     * @param log         logger of prediction algorithm
+     * @param sampleSteps window is described once per this count of steps, must be positive
+     */
+    WindowTraceLog(Logger log, int sampleSteps) {
+        if (sampleSteps <= 0) {
+            throw new IllegalArgumentException("Sample steps must be positive, but was = " + sampleSteps);
+        }
+
+        this.log = log;
+        this.sampleSteps = sampleSteps;
+    }
+
+    void trace(MeanRateWindow window) {
+        if (!log.isTraceEnabled()) {
+            return;
+        }
+
+        final long step = steps.getAndIncrement();
+        if (step % sampleSteps == 0) {
+            log.trace("Prediction data at step {} = {}", step, window.describe());
+        }
+    }
+}
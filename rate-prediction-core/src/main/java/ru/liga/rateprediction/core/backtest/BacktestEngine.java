@@ -0,0 +1,127 @@
+package ru.liga.rateprediction.core.backtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import ru.liga.rateprediction.core.CurrencyType;
+import ru.liga.rateprediction.core.RateSeries;
+import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
+import ru.liga.rateprediction.core.algorithm.RatePredictor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Engine that measures accuracy of algorithms on known history. Every day of history is predicted from the rates
+ * before it only, and predictions are compared with known rates. History is split into chunks of days that are
+ * evaluated in parallel by fork/join, chunks share history arrays and never copy them.
+ */
+@Slf4j
+public class BacktestEngine {
+    /**
+     * Count of days replayed by one task
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    /**
+     * The maximum count of days before the first predicted day, for algorithms that use the whole history
+     */
+    private static final int MAX_WARMUP_DAYS = 30;
+
+    private final ForkJoinPool forkJoinPool;
+
+    private final int chunkSize;
+
+    /**
+     * @param forkJoinPool pool that runs tasks, not null
+     * @param chunkSize    count of days replayed by one task, must be positive
+     */
+    public BacktestEngine(@NotNull ForkJoinPool forkJoinPool, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive, but was = " + chunkSize);
+        }
+
+        this.forkJoinPool = forkJoinPool;
+        this.chunkSize = chunkSize;
+    }
+
+    public BacktestEngine() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param currencyType  currency of history, not null
+     * @param algorithm     algorithm of predictor, not null
+     * @param ratePredictor predictor to evaluate, not null
+     * @param history       known rates ordered by date ascending, not null
+     * @return accuracy of predictor on history
+     * @throws IllegalArgumentException if history is too short to predict any day
+     */
+    @NotNull
+    public BacktestResult run(@NotNull CurrencyType currencyType,
+                              @NotNull RatePredictionAlgorithm algorithm,
+                              @NotNull RatePredictor ratePredictor,
+                              @NotNull RateSeries history) {
+        return toResult(currencyType, algorithm, forkJoinPool.invoke(createTask(ratePredictor, history)));
+    }
+
+    /**
+     * Method evaluates every predictor on every history. All of them are submitted at once,
+     * so currencies and algorithms are evaluated in parallel too.
+     *
+     * @param histories  known rates of currencies ordered by date ascending, not null
+     * @param predictors predictors to evaluate, not null
+     * @return {@link List} of results ordered by currency and then by algorithm as in provided maps
+     * @throws IllegalArgumentException if some history is too short to predict any day
+     */
+    @NotNull
+    public List<BacktestResult> runAll(@NotNull Map<CurrencyType, RateSeries> histories,
+                                       @NotNull Map<RatePredictionAlgorithm, RatePredictor> predictors) {
+        final long startNanos = System.nanoTime();
+        final List<Run> runs = new ArrayList<>();
+        histories.forEach((currencyType, history) -> predictors.forEach((algorithm, ratePredictor) -> runs.add(
+                new Run(currencyType, algorithm, createTask(ratePredictor, history))
+        )));
+        runs.forEach(run -> forkJoinPool.execute(run.task()));
+
+        final List<BacktestResult> results = new ArrayList<>(runs.size());
+        for (Run run : runs) {
+            results.add(toResult(run.currencyType(), run.algorithm(), run.task().join()));
+        }
+        log.info("Backtested {} algorithms on {} currencies in {} ms",
+                predictors.size(), histories.size(), (System.nanoTime() - startNanos) / 1_000_000
+        );
+        return results;
+    }
+
+    private BacktestTask createTask(RatePredictor ratePredictor, RateSeries history) {
+        // predictors of finite depth start once their window is full, so no day is predicted from a partial window
+        final int historyDepth = ratePredictor.getHistoryDepth();
+        final int firstIndex = Math.max(1, historyDepth == Integer.MAX_VALUE ? MAX_WARMUP_DAYS : historyDepth);
+        if (history.size() <= firstIndex) {
+            throw new IllegalArgumentException(String.format(
+                    "History of %d rates is too short for backtest, at least %d rates are required",
+                    history.size(), firstIndex + 1
+            ));
+        }
+
+        return new BacktestTask(ratePredictor, history, firstIndex, history.size(), chunkSize);
+    }
+
+    private static BacktestResult toResult(CurrencyType currencyType,
+                                           RatePredictionAlgorithm algorithm,
+                                           BacktestErrors errors) {
+        return new BacktestResult(
+                currencyType,
+                algorithm,
+                errors.getCount(),
+                errors.getMeanAbsoluteError(),
+                errors.getRootMeanSquaredError(),
+                errors.getMeanAbsolutePercentageError()
+        );
+    }
+
+    private record Run(CurrencyType currencyType, RatePredictionAlgorithm algorithm, BacktestTask task) {
+    }
+}
@@ -0,0 +1,62 @@
+package ru.liga.rateprediction.core.backtest;
+
+import ru.liga.rateprediction.core.RateSeries;
+
+/**
+ * Mutable accumulator of prediction errors. Accumulators of different date chunks are merged,
+ * so each chunk is evaluated without any shared state.
+ */
+class BacktestErrors {
+    private static final double RATE_DIVISOR = Math.pow(10, RateSeries.SCALE);
+
+    private int count;
+
+    private double absoluteErrorSum;
+
+    private double squaredErrorSum;
+
+    private double percentageErrorSum;
+
+    /**
+     * @param actualScaledRate    known rate multiplied by 10^{@link RateSeries#SCALE}
+     * @param predictedScaledRate predicted rate multiplied by 10^{@link RateSeries#SCALE}
+     */
+    void add(long actualScaledRate, long predictedScaledRate) {
+        final double error = Math.abs(predictedScaledRate - actualScaledRate) / RATE_DIVISOR;
+        count++;
+        absoluteErrorSum += error;
+        squaredErrorSum += error * error;
+        percentageErrorSum += error / (actualScaledRate / RATE_DIVISOR);
+    }
+
+    /**
+     * @param other errors of another chunk
+     * @return this accumulator with errors of both chunks
+     */
+    BacktestErrors merge(BacktestErrors other) {
+        count += other.count;
+        absoluteErrorSum += other.absoluteErrorSum;
+        squaredErrorSum += other.squaredErrorSum;
+        percentageErrorSum += other.percentageErrorSum;
+        return this;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    double getMeanAbsoluteError() {
+        return absoluteErrorSum / count;
+    }
+
+    double getRootMeanSquaredError() {
+        return Math.sqrt(squaredErrorSum / count);
+    }
+
+    /**
+     * @return mean absolute percentage error in percents
+     */
+    double getMeanAbsolutePercentageError() {
+        return percentageErrorSum / count * 100;
+    }
+}
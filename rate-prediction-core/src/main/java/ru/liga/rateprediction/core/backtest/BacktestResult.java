@@ -0,0 +1,35 @@
+package ru.liga.rateprediction.core.backtest;
+
+import lombok.Value;
+import ru.liga.rateprediction.core.CurrencyType;
+import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
+
+/**
+ * Accuracy of algorithm on history of single currency
+ */
+@Value
+public class BacktestResult {
+    CurrencyType currencyType;
+
+    RatePredictionAlgorithm algorithm;
+
+    /**
+     * Count of predicted days
+     */
+    int count;
+
+    /**
+     * Mean absolute error in currency units
+     */
+    double meanAbsoluteError;
+
+    /**
+     * Root mean squared error in currency units
+     */
+    double rootMeanSquaredError;
+
+    /**
+     * Mean absolute percentage error in percents
+     */
+    double meanAbsolutePercentageError;
+}
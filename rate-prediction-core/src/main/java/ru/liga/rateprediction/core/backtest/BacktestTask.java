@@ -0,0 +1,58 @@
+package ru.liga.rateprediction.core.backtest;
+
+import ru.liga.rateprediction.core.RateSeries;
+import ru.liga.rateprediction.core.algorithm.RatePredictor;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork/join task that splits index range of history into chunks. Each chunk is replayed by
+ * {@link RatePredictor#predictHistory(RateSeries, int, int)}, so predictor keeps its sliding state inside the chunk.
+ */
+class BacktestTask extends RecursiveTask<BacktestErrors> {
+    private final RatePredictor ratePredictor;
+
+    private final RateSeries history;
+
+    private final int fromIndexInclusive;
+
+    private final int toIndexExclusive;
+
+    private final int chunkSize;
+
+    BacktestTask(RatePredictor ratePredictor,
+                 RateSeries history,
+                 int fromIndexInclusive,
+                 int toIndexExclusive,
+                 int chunkSize) {
+        this.ratePredictor = ratePredictor;
+        this.history = history;
+        this.fromIndexInclusive = fromIndexInclusive;
+        this.toIndexExclusive = toIndexExclusive;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    protected BacktestErrors compute() {
+        if (toIndexExclusive - fromIndexInclusive <= chunkSize) {
+            return evaluate();
+        }
+
+        final int middle = (fromIndexInclusive + toIndexExclusive) >>> 1;
+        final BacktestTask left = new BacktestTask(ratePredictor, history, fromIndexInclusive, middle, chunkSize);
+        left.fork();
+        final BacktestErrors right = new BacktestTask(ratePredictor, history, middle, toIndexExclusive, chunkSize)
+                .compute();
+        return left.join().merge(right);
+    }
+
+    private BacktestErrors evaluate() {
+        final long[] predictions = ratePredictor.predictHistory(history, fromIndexInclusive, toIndexExclusive);
+        final BacktestErrors errors = new BacktestErrors();
+        for (int i = 0; i < predictions.length; i++) {
+            errors.add(history.getScaledRate(fromIndexInclusive + i), predictions[i]);
+        }
+
+        return errors;
+    }
+}
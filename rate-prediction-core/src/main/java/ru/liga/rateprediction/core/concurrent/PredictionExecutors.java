@@ -0,0 +1,49 @@
+package ru.liga.rateprediction.core.concurrent;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory of executors for concurrent predictions
+ */
+@Slf4j
+@UtilityClass
+public class PredictionExecutors {
+    /**
+     * Method creates executor that runs each task in a new virtual thread on Java 21+.
+     * On older runtimes it falls back to a fixed pool of daemon threads, one per available processor.
+     *
+     * @param name prefix of thread names
+     * @return new {@link ExecutorService}
+     */
+    public static ExecutorService newDefaultExecutor(String name) {
+        try {
+            final MethodHandle factory = MethodHandles.publicLookup().findStatic(
+                    Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class)
+            );
+            return (ExecutorService) factory.invokeExact();
+        } catch (NoSuchMethodException | IllegalAccessException | UnsupportedOperationException e) {
+            log.debug("Virtual threads are not available, use platform threads for {}", name);
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), daemonThreadFactory(name));
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to create virtual thread executor", e);
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String name) {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
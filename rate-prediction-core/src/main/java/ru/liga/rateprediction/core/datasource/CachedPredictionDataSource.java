@@ -0,0 +1,41 @@
+package ru.liga.rateprediction.core.datasource;
+
+import ru.liga.rateprediction.core.CurrencyType;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RateSeries;
+
+import java.util.List;
+
+/**
+ * Data source that serves rows from {@link RateHistoryCache}. Rows are served without any I/O once full history
+ * is loaded, before that only requested rows are read, see {@link RateHistoryCache#getLatest(CurrencyType, int)}.
+ */
+class CachedPredictionDataSource implements PredictionDataSource {
+    private final RateHistoryCache rateHistoryCache;
+
+    private final CurrencyType currencyType;
+
+    public CachedPredictionDataSource(RateHistoryCache rateHistoryCache, CurrencyType currencyType) {
+        this.rateHistoryCache = rateHistoryCache;
+        this.currencyType = currencyType;
+    }
+
+    /**
+     * Method returns the newest rows ordered by date descending, as they are stored in CBRF files
+     */
+    @Override
+    public List<RatePrediction> getData(int rowsCount) {
+        return getSeries(rowsCount).toRatePredictionsDescending();
+    }
+
+    @Override
+    public RateSeries getSeries(int rowsCount) {
+        if (rowsCount <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "rowsCount must be positive, but was = %d", rowsCount
+            ));
+        }
+
+        return rateHistoryCache.getLatest(currencyType, rowsCount);
+    }
+}
@@ -0,0 +1,29 @@
+package ru.liga.rateprediction.core.datasource;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@UtilityClass
+class ClasspathResources {
+    /**
+     * @param filepath absolute path of classpath resource
+     * @return opened stream of resource
+     * @throws IllegalArgumentException if there is no such resource
+     */
+    static InputStream open(String filepath) {
+        final InputStream inputStream = ClasspathResources.class.getResourceAsStream(filepath);
+        if (inputStream == null) {
+            throw new IllegalArgumentException("Not found file at path = " + filepath);
+        }
+
+        return inputStream;
+    }
+
+    static byte[] readAllBytes(String filepath) throws IOException {
+        try (final InputStream inputStream = open(filepath)) {
+            return inputStream.readAllBytes();
+        }
+    }
+}
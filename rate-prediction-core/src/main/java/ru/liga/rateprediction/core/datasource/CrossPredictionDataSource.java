@@ -0,0 +1,41 @@
+package ru.liga.rateprediction.core.datasource;
+
+import ru.liga.rateprediction.core.CurrencyPair;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RateSeries;
+
+import java.util.List;
+
+/**
+ * Data source that serves cross rates of currency pair from {@link CrossRateCache}, so any predictor works with
+ * cross rates the same way as with rates to ruble. Series are views of cached history and are not copied per query.
+ */
+class CrossPredictionDataSource implements PredictionDataSource {
+    private final CrossRateCache crossRateCache;
+
+    private final CurrencyPair currencyPair;
+
+    public CrossPredictionDataSource(CrossRateCache crossRateCache, CurrencyPair currencyPair) {
+        this.crossRateCache = crossRateCache;
+        this.currencyPair = currencyPair;
+    }
+
+    /**
+     * Method returns the newest rows ordered by date descending, as {@link CachedPredictionDataSource} does
+     */
+    @Override
+    public List<RatePrediction> getData(int rowsCount) {
+        return getSeries(rowsCount).toRatePredictionsDescending();
+    }
+
+    @Override
+    public RateSeries getSeries(int rowsCount) {
+        if (rowsCount <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "rowsCount must be positive, but was = %d", rowsCount
+            ));
+        }
+
+        return crossRateCache.get(currencyPair).latest(rowsCount);
+    }
+}
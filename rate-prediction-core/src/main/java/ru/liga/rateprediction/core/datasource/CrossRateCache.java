@@ -0,0 +1,122 @@
+package ru.liga.rateprediction.core.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import ru.liga.rateprediction.core.CurrencyPair;
+import ru.liga.rateprediction.core.FixedPointRates;
+import ru.liga.rateprediction.core.RateSeries;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory cache of cross rate histories derived from ruble rate histories of {@link RateHistoryCache}.
+ * Cross history of a pair is computed once and kept until history of any of its currencies is reloaded:
+ * every cached history remembers its source histories and is recomputed when they are not the current ones.
+ */
+@Slf4j
+public class CrossRateCache {
+    private final RateHistoryCache rateHistoryCache;
+
+    private final ConcurrentMap<CurrencyPair, CrossHistory> histories = new ConcurrentHashMap<>();
+
+    /**
+     * @param rateHistoryCache cache of ruble rate histories with their nominals, not null
+     */
+    public CrossRateCache(@NotNull RateHistoryCache rateHistoryCache) {
+        this.rateHistoryCache = rateHistoryCache;
+    }
+
+    /**
+     * Method returns full cross rate history of provided pair, computing it on first access
+     * and after reload of its currencies.
+     *
+     * @param currencyPair pair to get history for, not null
+     * @return cross rates of all days that are known for both currencies of pair
+     */
+    @NotNull
+    public RateSeries get(@NotNull CurrencyPair currencyPair) {
+        final RateHistoryStore base = rateHistoryCache.getStore(currencyPair.getBase());
+        final RateHistoryStore quote = rateHistoryCache.getStore(currencyPair.getQuote());
+        final CrossHistory cached = histories.get(currencyPair);
+        if (cached != null && cached.base == base && cached.quote == quote) {
+            return cached.cross;
+        }
+
+        // concurrent computations of the same pair are equal, so the last of them simply wins
+        log.info("Compute cross rate history for pair = {}", currencyPair);
+        final RateSeries cross = cross(base.getSeries(), base.getNominals(), quote.getSeries(), quote.getNominals());
+        log.info("Computed {} rows for pair = {}", cross.size(), currencyPair);
+        histories.put(currencyPair, new CrossHistory(base, quote, cross));
+        return cross;
+    }
+
+    /**
+     * Method drops all cached cross histories.
+     */
+    public void invalidateAll() {
+        log.info("Invalidate all cached cross histories");
+        histories.clear();
+    }
+
+    /**
+     * Method aligns both histories by date in a single merge pass and computes cross rate of every common day.
+     * Days that are known for only one of currencies are skipped.
+     *
+     * @param base          ruble rates of base currency ordered by date ascending, not null
+     * @param baseNominals  nominals of base currency rates, not null
+     * @param quote         ruble rates of quote currency ordered by date ascending, not null
+     * @param quoteNominals nominals of quote currency rates, not null
+     * @return cross rates ordered by date ascending, see {@link FixedPointRates#crossRate(long, long, long, long)}
+     * @throws ArithmeticException if some quote rate is zero
+     */
+    static RateSeries cross(@NotNull RateSeries base,
+                            @NotNull NominalHistory baseNominals,
+                            @NotNull RateSeries quote,
+                            @NotNull NominalHistory quoteNominals) {
+        final int maxSize = Math.min(base.size(), quote.size());
+        final int[] epochDays = new int[maxSize];
+        final long[] scaledRates = new long[maxSize];
+        int size = 0;
+        int baseIndex = 0;
+        int quoteIndex = 0;
+        // nominals change rarely and days only grow, so their cursors move forward together with rates
+        int baseChange = 0;
+        int quoteChange = 0;
+        while (baseIndex < base.size() && quoteIndex < quote.size()) {
+            final int baseDay = base.getEpochDay(baseIndex);
+            final int quoteDay = quote.getEpochDay(quoteIndex);
+            if (baseDay < quoteDay) {
+                baseIndex++;
+            } else if (quoteDay < baseDay) {
+                quoteIndex++;
+            } else {
+                baseChange = nextChange(baseNominals, baseChange, baseDay);
+                quoteChange = nextChange(quoteNominals, quoteChange, baseDay);
+                epochDays[size] = baseDay;
+                scaledRates[size] = FixedPointRates.crossRate(
+                        base.getScaledRate(baseIndex++), baseNominals.getNominal(baseChange),
+                        quote.getScaledRate(quoteIndex++), quoteNominals.getNominal(quoteChange)
+                );
+                size++;
+            }
+        }
+
+        return RateSeries.of(Arrays.copyOf(epochDays, size), Arrays.copyOf(scaledRates, size));
+    }
+
+    /**
+     * @return index of the latest nominal change at or before provided day, starting from provided index
+     */
+    private static int nextChange(NominalHistory nominals, int fromIndex, int epochDay) {
+        int index = fromIndex;
+        while (index + 1 < nominals.getChangeCount() && nominals.getChangeEpochDay(index + 1) <= epochDay) {
+            index++;
+        }
+        return index;
+    }
+
+    private record CrossHistory(RateHistoryStore base, RateHistoryStore quote, RateSeries cross) {
+    }
+}
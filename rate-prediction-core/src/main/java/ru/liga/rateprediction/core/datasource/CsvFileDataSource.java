@@ -2,12 +2,15 @@ package ru.liga.rateprediction.core.datasource;
 
 import lombok.extern.slf4j.Slf4j;
 import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RateSeries;
 import ru.liga.rateprediction.core.datasource.files.csv.CsvParserParams;
 import ru.liga.rateprediction.core.datasource.files.csv.CsvToBeanReader;
+import ru.liga.rateprediction.core.metrics.PredictionMetrics;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -20,41 +23,79 @@ class CsvFileDataSource<T> implements PredictionDataSource {
     private final Class<T> csvBeanType;
 
     private final Function<T, RatePrediction> csvBeanMapper;
-    private final String filepath;
+
+    /**
+     * Function that takes nominals of history from all beans of file
+     */
+    private final Function<List<T>, NominalHistory> csvBeansNominals;
+
+    private final CsvFileLocation file;
 
     public CsvFileDataSource(CsvToBeanReader csvToBeanReader,
                              CsvParserParams csvParserParams,
                              Class<T> csvBeanType,
                              Function<T, RatePrediction> csvBeanMapper,
                              String filepath) {
+        this(csvToBeanReader, csvParserParams, csvBeanType, csvBeanMapper, CsvFileLocation.classpath(filepath));
+    }
+
+    public CsvFileDataSource(CsvToBeanReader csvToBeanReader,
+                             CsvParserParams csvParserParams,
+                             Class<T> csvBeanType,
+                             Function<T, RatePrediction> csvBeanMapper,
+                             CsvFileLocation file) {
+        this(csvToBeanReader, csvParserParams, csvBeanType, csvBeanMapper, beans -> NominalHistory.UNIT, file);
+    }
+
+    public CsvFileDataSource(CsvToBeanReader csvToBeanReader,
+                             CsvParserParams csvParserParams,
+                             Class<T> csvBeanType,
+                             Function<T, RatePrediction> csvBeanMapper,
+                             Function<List<T>, NominalHistory> csvBeansNominals,
+                             CsvFileLocation file) {
         this.csvToBeanReader = csvToBeanReader;
         this.csvParserParams = csvParserParams;
         this.csvBeanType = csvBeanType;
         this.csvBeanMapper = csvBeanMapper;
-        this.filepath = filepath;
+        this.csvBeansNominals = csvBeansNominals;
+        this.file = file;
     }
 
     @Override
     public List<RatePrediction> getData(int rowsCount) {
-        log.info("Try to read {} CSV rows from {}", rowsCount, filepath);
-        try (final InputStream inputStream = getInputStream()) {
-            final List<RatePrediction> rows = csvToBeanReader.readLines(inputStream, csvParserParams, csvBeanType, rowsCount)
-                    .stream()
-                    .map(csvBeanMapper)
-                    .collect(Collectors.toList());
-            log.info("Fetched {}/{} rows", rows.size(), rowsCount);
+        return toRatePredictions(readBeans(rowsCount));
+    }
+
+    /**
+     * Method parses file once and takes nominals from the same beans
+     */
+    @Override
+    public RateHistoryStore getHistory() {
+        final List<T> beans = readBeans(Integer.MAX_VALUE);
+        final RateSeries series = RateSeries.fromOrderedPredictions(toRatePredictions(beans));
+        return new RateHistoryStore(series, beans.isEmpty() ? NominalHistory.UNIT : csvBeansNominals.apply(beans));
+    }
+
+    private List<T> readBeans(int rowsCount) {
+        final long startNanos = System.nanoTime();
+        try (final InputStream inputStream = file.open()) {
+            final List<T> rows = csvToBeanReader.readLines(inputStream, csvParserParams, csvBeanType, rowsCount);
+            final long nanos = System.nanoTime() - startNanos;
+            PredictionMetrics.global().recordCsvLoad(nanos, rows.size());
+            if (log.isDebugEnabled()) {
+                log.debug("Fetched {}/{} rows from {} in {} us",
+                        rows.size(), rowsCount, file, TimeUnit.NANOSECONDS.toMicros(nanos)
+                );
+            }
             return rows;
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private InputStream getInputStream() {
-        final InputStream inputStream = getClass().getResourceAsStream(filepath);
-        if (inputStream == null) {
-            throw new IllegalArgumentException("Not found file at path = " + filepath);
-        }
-
-        return inputStream;
+    private List<RatePrediction> toRatePredictions(List<T> beans) {
+        return beans.stream()
+                .map(csvBeanMapper)
+                .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,66 @@
+package ru.liga.rateprediction.core.datasource;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Location of CSV file, either classpath resource or file in filesystem
+ */
+interface CsvFileLocation {
+    /**
+     * @return new stream of file content, caller must close it
+     * @throws IOException              if file can not be read
+     * @throws IllegalArgumentException if there is no such file
+     */
+    InputStream open() throws IOException;
+
+    default byte[] readAllBytes() throws IOException {
+        try (final InputStream inputStream = open()) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    /**
+     * @param filepath absolute path of classpath resource
+     */
+    @NotNull
+    static CsvFileLocation classpath(@NotNull String filepath) {
+        return new CsvFileLocation() {
+            @Override
+            public InputStream open() {
+                return ClasspathResources.open(filepath);
+            }
+
+            @Override
+            public String toString() {
+                return "classpath:" + filepath;
+            }
+        };
+    }
+
+    /**
+     * @param path path of file in filesystem
+     */
+    @NotNull
+    static CsvFileLocation file(@NotNull Path path) {
+        return new CsvFileLocation() {
+            @Override
+            public InputStream open() throws IOException {
+                if (!Files.isRegularFile(path)) {
+                    throw new IllegalArgumentException("Not found file at path = " + path);
+                }
+
+                return Files.newInputStream(path);
+            }
+
+            @Override
+            public String toString() {
+                return path.toString();
+            }
+        };
+    }
+}
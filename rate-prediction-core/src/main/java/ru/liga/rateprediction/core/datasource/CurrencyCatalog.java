@@ -0,0 +1,163 @@
+package ru.liga.rateprediction.core.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import ru.liga.rateprediction.core.CurrencyType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Catalog of currencies that have data files. Catalog is discovered from file names only, so its size does not
+ * affect memory or startup: history of currency is loaded on its first query by {@link RateHistoryCache}.
+ * Currencies are known only to the catalog that discovered them, so they are looked up by code in catalog.
+ * Discovered file names are kept, so files are opened by the names they really have, e.g. usd.csv.
+ */
+@Slf4j
+public class CurrencyCatalog {
+    static final String CSV_EXTENSION = ".csv";
+
+    /**
+     * Currencies by upper case code
+     */
+    private final ConcurrentMap<String, CurrencyType> currencyTypes = new ConcurrentHashMap<>();
+
+    /**
+     * Names of discovered files by currency, currencies from classpath index have no files
+     */
+    private final ConcurrentMap<CurrencyType, Path> fileNames = new ConcurrentHashMap<>();
+
+    private CurrencyCatalog() {
+    }
+
+    /**
+     * Method discovers currencies by names of CSV files in directory, e.g. USD.csv.
+     * Files whose names are not currency codes are ignored.
+     *
+     * @param directory directory with CSV files, not null
+     * @return catalog of discovered currencies
+     */
+    public static CurrencyCatalog fromDirectory(@NotNull Path directory) {
+        final CurrencyCatalog catalog = new CurrencyCatalog();
+        if (!Files.isDirectory(directory)) {
+            log.warn("Data directory {} does not exist, currency catalog is empty", directory);
+            return catalog;
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> catalog.register(file.getFileName()));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        log.info("Discovered {} currencies in {}", catalog.currencyTypes.size(), directory);
+        return catalog;
+    }
+
+    /**
+     * Method reads codes of currencies from classpath resource, one code per line
+     *
+     * @param indexPath absolute path of classpath resource, not null
+     * @return catalog of listed currencies
+     * @throws IllegalArgumentException if there is no such resource or some code is invalid
+     */
+    public static CurrencyCatalog fromClasspathIndex(@NotNull String indexPath) {
+        final CurrencyCatalog catalog = new CurrencyCatalog();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                ClasspathResources.open(indexPath), StandardCharsets.UTF_8
+        ))) {
+            reader.lines()
+                    .map(String::strip)
+                    .filter(line -> !line.isEmpty())
+                    .map(CurrencyType::of)
+                    .forEach(currencyType -> catalog.currencyTypes.put(currencyType.getCode(), currencyType));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return catalog;
+    }
+
+    /**
+     * Method adds currency of CSV file to catalog, e.g. when file is created after discovery.
+     * If there are files of the same currency in different cases, file named in upper case wins.
+     *
+     * @param csvFileName name of CSV file, not null
+     * @return {@link Optional} with currency of file, or {@link Optional#empty()} if file name is not a currency code
+     */
+    public Optional<CurrencyType> register(@NotNull Path csvFileName) {
+        final Path fileName = csvFileName.getFileName();
+        final String name = fileName.toString();
+        if (!name.endsWith(CSV_EXTENSION)) {
+            return Optional.empty();
+        }
+
+        final String code = name.substring(0, name.length() - CSV_EXTENSION.length());
+        final CurrencyType currencyType;
+        try {
+            currencyType = CurrencyType.of(code);
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignore file {}, its name is not a currency code", csvFileName);
+            return Optional.empty();
+        }
+
+        if (code.equals(currencyType.getCode())) {
+            fileNames.put(currencyType, fileName);
+        } else {
+            fileNames.putIfAbsent(currencyType, fileName);
+        }
+        if (currencyTypes.putIfAbsent(currencyType.getCode(), currencyType) == null) {
+            log.debug("Registered currency = {} of file {}", currencyType, fileName);
+        }
+        return Optional.of(currencyType);
+    }
+
+    /**
+     * Method determines currency of catalog by provided code ignoring its case
+     *
+     * @param code provided String code, nullable
+     * @return {@link Optional} with currency of catalog or {@link Optional#empty()} if there is no such currency
+     */
+    public Optional<CurrencyType> byCode(String code) {
+        if (code == null) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(currencyTypes.get(code.toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * @param currencyType currency of catalog, not null
+     * @return {@link Optional} with name of discovered file of currency, e.g. usd.csv, or {@link Optional#empty()}
+     * if currency is not discovered from files
+     */
+    public Optional<Path> getFileName(@NotNull CurrencyType currencyType) {
+        return Optional.ofNullable(fileNames.get(currencyType));
+    }
+
+    /**
+     * @return currencies of catalog ordered by code
+     */
+    public List<CurrencyType> getCurrencyTypes() {
+        return currencyTypes.values().stream()
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    public boolean contains(@NotNull CurrencyType currencyType) {
+        return currencyTypes.containsKey(currencyType.getCode());
+    }
+
+    public int size() {
+        return currencyTypes.size();
+    }
+}
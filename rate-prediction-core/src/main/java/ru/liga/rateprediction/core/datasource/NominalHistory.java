@@ -0,0 +1,134 @@
+package ru.liga.rateprediction.core.datasource;
+
+import org.jetbrains.annotations.NotNull;
+import ru.liga.rateprediction.core.datasource.files.csv.RateCBRFCsvRow;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * History of currency nominal, i.e. count of currency units which CBRF rate is quoted for. Nominal changes rarely,
+ * so only the days of changes are kept: nominal of change is effective until the next change.
+ * Days before the first change have nominal of the first change.
+ */
+public final class NominalHistory {
+    /**
+     * History of currency that is always quoted for one unit
+     */
+    public static final NominalHistory UNIT = new NominalHistory(new int[]{0}, new int[]{1});
+
+    private final int[] epochDays;
+
+    private final int[] nominals;
+
+    private NominalHistory(int[] epochDays, int[] nominals) {
+        this.epochDays = epochDays;
+        this.nominals = nominals;
+    }
+
+    /**
+     * Method creates history from copies of provided arrays, e.g. read from snapshot.
+     *
+     * @param epochDays first days of changes in strictly ascending order, not null, not empty
+     * @param nominals  nominals of changes, not null, same length as epochDays
+     * @return new history
+     * @throws IllegalArgumentException if arrays are empty or have different length, days are not strictly
+     *                                  ascending or some nominal is not positive
+     */
+    public static NominalHistory of(int @NotNull [] epochDays, int @NotNull [] nominals) {
+        if (epochDays.length == 0 || epochDays.length != nominals.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid count of changes: %d days and %d nominals", epochDays.length, nominals.length
+            ));
+        }
+        for (int i = 0; i < epochDays.length; i++) {
+            if (nominals[i] <= 0) {
+                throw new IllegalArgumentException(String.format(
+                        "Nominal must be positive, but was = %d at epoch day %d", nominals[i], epochDays[i]
+                ));
+            }
+            if (i > 0 && epochDays[i] <= epochDays[i - 1]) {
+                throw new IllegalArgumentException("Days of changes must be in strictly ascending order");
+            }
+        }
+
+        return new NominalHistory(epochDays.clone(), nominals.clone());
+    }
+
+    /**
+     * @param rows CBRF rows in any order, not empty. Rows without nominal are treated as quoted for one unit
+     * @return history of nominal changes of provided rows
+     * @throws IllegalArgumentException if rows are empty or some nominal is not positive
+     */
+    public static NominalHistory fromRows(@NotNull Collection<RateCBRFCsvRow> rows) {
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("No rows provided!");
+        }
+
+        final RateCBRFCsvRow[] sorted = rows.stream()
+                .sorted(Comparator.comparing(RateCBRFCsvRow::getDate))
+                .toArray(RateCBRFCsvRow[]::new);
+        final int[] epochDays = new int[sorted.length];
+        final int[] nominals = new int[sorted.length];
+        int size = 0;
+        for (RateCBRFCsvRow row : sorted) {
+            final int nominal = row.getNominal() == null ? 1 : row.getNominal();
+            if (nominal <= 0) {
+                throw new IllegalArgumentException(String.format(
+                        "Nominal must be positive, but was = %d at %s", nominal, row.getDate()
+                ));
+            }
+
+            if (size == 0 || nominals[size - 1] != nominal) {
+                epochDays[size] = Math.toIntExact(row.getDate().toEpochDay());
+                nominals[size] = nominal;
+                size++;
+            }
+        }
+
+        return new NominalHistory(Arrays.copyOf(epochDays, size), Arrays.copyOf(nominals, size));
+    }
+
+    /**
+     * @return count of nominal changes, at least one
+     */
+    public int getChangeCount() {
+        return epochDays.length;
+    }
+
+    /**
+     * @param index index of change, ordered by day ascending
+     * @return the first day of changed nominal
+     */
+    public int getChangeEpochDay(int index) {
+        return epochDays[index];
+    }
+
+    /**
+     * @param index index of change, ordered by day ascending
+     * @return nominal that is effective since the day of change
+     */
+    public int getNominal(int index) {
+        return nominals[index];
+    }
+
+    /**
+     * @param epochDay day to get nominal for
+     * @return nominal effective on provided day
+     */
+    public int nominalAt(long epochDay) {
+        final int day = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, epochDay));
+        final int index = Arrays.binarySearch(epochDays, day);
+        if (index >= 0) {
+            return nominals[index];
+        }
+
+        return nominals[Math.max(-index - 2, 0)];
+    }
+
+    @Override
+    public String toString() {
+        return "NominalHistory{changes=" + epochDays.length + ", latest=" + nominals[nominals.length - 1] + "}";
+    }
+}
@@ -1,9 +1,31 @@
 package ru.liga.rateprediction.core.datasource;
 
 import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RateSeries;
 
 import java.util.List;
 
 public interface PredictionDataSource {
     List<RatePrediction> getData(int rowsCount);
+
+    /**
+     * Method returns the same rows as {@link #getData(int)} in columnar form.
+     *
+     * @param rowsCount count of rows to read, must be positive
+     * @return {@link RateSeries} ordered by date ascending
+     * @throws IllegalArgumentException if rows are not ordered by date or some date is duplicated
+     */
+    default RateSeries getSeries(int rowsCount) {
+        return RateSeries.fromOrderedPredictions(getData(rowsCount));
+    }
+
+    /**
+     * Method reads full history in one pass: all rows together with nominals they are quoted for.
+     * By default, rows are treated as quoted for one unit.
+     *
+     * @return {@link RateHistoryStore} over all rows
+     */
+    default RateHistoryStore getHistory() {
+        return new RateHistoryStore(getSeries(Integer.MAX_VALUE));
+    }
 }
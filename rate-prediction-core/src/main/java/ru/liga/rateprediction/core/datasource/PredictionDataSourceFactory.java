@@ -1,33 +1,302 @@
 package ru.liga.rateprediction.core.datasource;
 
 import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.liga.rateprediction.core.CurrencyPair;
 import ru.liga.rateprediction.core.CurrencyType;
 import ru.liga.rateprediction.core.RatePrediction;
 import ru.liga.rateprediction.core.datasource.files.csv.CsvParserParams;
+import ru.liga.rateprediction.core.datasource.files.csv.CsvRowOrder;
+import ru.liga.rateprediction.core.datasource.files.csv.CsvTailReader;
 import ru.liga.rateprediction.core.datasource.files.csv.CsvToBeanReader;
 import ru.liga.rateprediction.core.datasource.files.csv.RateCBRFCsvRow;
+import ru.liga.rateprediction.core.datasource.files.snapshot.RateSnapshotFiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
 @Slf4j
 public class PredictionDataSourceFactory {
     private static final String HARDCODED_DATA_FOLDER = "/data/csv";
 
+    private static final String CSV_EXTENSION = CurrencyCatalog.CSV_EXTENSION;
+
+    /**
+     * Codes of currencies bundled into classpath, one code per line
+     */
+    private static final String HARDCODED_CURRENCIES_INDEX = HARDCODED_DATA_FOLDER + "/currencies.txt";
+
+    private static final String SNAPSHOT_EXTENSION = ".rsnp";
+
+    /**
+     * System property with directory of binary snapshots, see {@link #importSnapshots()}
+     */
+    private static final String SNAPSHOT_DIRECTORY_PROPERTY = "rateprediction.snapshot.dir";
+    /**
+     * System property with directory of CSV files, if set they are watched and reloaded on change
+     */
+    private static final String DATA_DIRECTORY_PROPERTY = "rateprediction.data.dir";
+    /**
+     * System property with order of rows in CSV files of data directory: newest_first (default) or oldest_first
+     */
+    private static final String DATA_ROW_ORDER_PROPERTY = "rateprediction.data.order";
+
     private static final CsvParserParams HARDCODED_PARAMS = CsvParserParams.builder()
             .separator(';')
             .quoteCharacter('\"')
             .escapeCharacter('\\')
             .build();
 
+    private final RateHistoryCache rateHistoryCache = new RateHistoryCache(this::createUncached);
+
+    private final CrossRateCache crossRateCache = new CrossRateCache(rateHistoryCache);
+
+    @Nullable
+    private final Path snapshotDirectory;
+
+    @Nullable
+    private final Path dataDirectory;
+
+    private final CsvRowOrder dataRowOrder;
+
+    private final CurrencyCatalog currencyCatalog;
+
+    /**
+     * @param snapshotDirectory directory with binary snapshots of CSV files, nullable. If null, snapshots are not used
+     * @param dataDirectory     directory with CSV files named by currency code, e.g. USD.csv, nullable.
+     *                          Currency catalog is discovered from names of these files.
+     *                          If null, CSV files bundled into classpath are used
+     * @param dataRowOrder      order of rows in CSV files of data directory, not null. Only the newest rows
+     *                          are read from these files
+     */
+    public PredictionDataSourceFactory(@Nullable Path snapshotDirectory,
+                                       @Nullable Path dataDirectory,
+                                       @NotNull CsvRowOrder dataRowOrder) {
+        this.snapshotDirectory = snapshotDirectory;
+        this.dataDirectory = dataDirectory;
+        this.dataRowOrder = dataRowOrder;
+        this.currencyCatalog = dataDirectory == null
+                ? CurrencyCatalog.fromClasspathIndex(HARDCODED_CURRENCIES_INDEX)
+                : CurrencyCatalog.fromDirectory(dataDirectory);
+    }
+
+    /**
+     * @param snapshotDirectory directory with binary snapshots of CSV files, nullable. If null, snapshots are not used
+     * @param dataDirectory     directory with CBRF CSV files named by currency code, e.g. USD.csv, nullable.
+     *                          If null, CSV files bundled into classpath are used
+     */
+    public PredictionDataSourceFactory(@Nullable Path snapshotDirectory, @Nullable Path dataDirectory) {
+        this(snapshotDirectory, dataDirectory, CsvRowOrder.NEWEST_FIRST);
+    }
+
+    /**
+     * @param snapshotDirectory directory with binary snapshots of CSV files, nullable. If null, snapshots are not used
+     */
+    public PredictionDataSourceFactory(@Nullable Path snapshotDirectory) {
+        this(snapshotDirectory, null);
+    }
+
+    public PredictionDataSourceFactory() {
+        this(null);
+    }
+
+    /**
+     * Method creates factory configured by system properties {@value #SNAPSHOT_DIRECTORY_PROPERTY},
+     * {@value #DATA_DIRECTORY_PROPERTY} and {@value #DATA_ROW_ORDER_PROPERTY}. Snapshots are kept
+     * in ~/.rate-prediction/snapshots unless their directory is set.
+     *
+     * @return new factory, its data directory is not watched yet
+     * @throws IllegalArgumentException if order of rows is unknown
+     */
+    public static PredictionDataSourceFactory fromSystemProperties() {
+        final String snapshotDirectory = System.getProperty(SNAPSHOT_DIRECTORY_PROPERTY);
+        final String dataDirectory = System.getProperty(DATA_DIRECTORY_PROPERTY);
+        final String dataRowOrder = System.getProperty(DATA_ROW_ORDER_PROPERTY);
+        return new PredictionDataSourceFactory(
+                snapshotDirectory == null
+                        ? Path.of(System.getProperty("user.home"), ".rate-prediction", "snapshots")
+                        : Path.of(snapshotDirectory),
+                dataDirectory == null ? null : Path.of(dataDirectory),
+                dataRowOrder == null
+                        ? CsvRowOrder.NEWEST_FIRST
+                        : CsvRowOrder.valueOf(dataRowOrder.toUpperCase(Locale.ROOT))
+        );
+    }
+
+    /**
+     * @param currencyType currency of catalog, not null
+     * @return data source of provided currency, its history is loaded on the first query
+     * @throws IllegalArgumentException if there is no data of currency
+     */
     public PredictionDataSource create(CurrencyType currencyType) {
+        validateCurrency(currencyType);
+        log.debug("Create cached data source for currency = {}", currencyType);
+        return new CachedPredictionDataSource(rateHistoryCache, currencyType);
+    }
+
+    /**
+     * @param currencyPair pair of currencies, not null
+     * @return data source of cross rates of provided pair, which works as data source of any single currency
+     * @throws IllegalArgumentException if there is no data of some currency of pair
+     */
+    public PredictionDataSource create(CurrencyPair currencyPair) {
+        validateCurrency(currencyPair.getBase());
+        validateCurrency(currencyPair.getQuote());
+        log.debug("Create cross rate data source for pair = {}", currencyPair);
+        return new CrossPredictionDataSource(crossRateCache, currencyPair);
+    }
+
+    /**
+     * Method creates data source that reads CSV file of currency on every query, bypassing cache and snapshots.
+     * It is meant for measuring of CSV readers, use {@link #create(CurrencyType)} otherwise.
+     *
+     * @param currencyType    currency of catalog, not null
+     * @param csvToBeanReader reader of CSV rows, not null
+     * @return uncached data source of provided currency
+     * @throws IllegalArgumentException if there is no data of currency
+     */
+    public PredictionDataSource createCsv(@NotNull CurrencyType currencyType,
+                                          @NotNull CsvToBeanReader csvToBeanReader) {
+        validateCurrency(currencyType);
+        return createCsvFileDataSource(currencyType, csvToBeanReader);
+    }
+
+    public RateHistoryCache getRateHistoryCache() {
+        return rateHistoryCache;
+    }
+
+    public CrossRateCache getCrossRateCache() {
+        return crossRateCache;
+    }
+
+    /**
+     * @return currencies that have data files, histories of them are loaded on first access
+     */
+    public CurrencyCatalog getCurrencyCatalog() {
+        return currencyCatalog;
+    }
+
+    /**
+     * @return true if CSV files are read from data directory, which can be watched by {@link #watchDataDirectory()}
+     */
+    public boolean hasDataDirectory() {
+        return dataDirectory != null;
+    }
+
+    /**
+     * Method starts background reload of currency histories whose CSV files are changed in data directory.
+     * Until reload is finished, predictions use previous history.
+     *
+     * @return started watcher, close it to stop watching
+     * @throws IllegalStateException if data directory is not configured
+     */
+    public RateFilesWatcher watchDataDirectory() {
+        if (dataDirectory == null) {
+            throw new IllegalStateException("Data directory is not configured");
+        }
+
+        try {
+            return RateFilesWatcher.start(dataDirectory, currencyCatalog::register, rateHistoryCache::reload);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Method parses CSV files of all currencies and writes their binary snapshots into snapshot directory.
+     * Each snapshot keeps checksum of its CSV file, so it is ignored after CSV file is changed.
+     *
+     * @return {@link List} of written snapshot files
+     * @throws IllegalStateException if snapshot directory is not configured
+     */
+    public List<Path> importSnapshots() {
+        if (snapshotDirectory == null) {
+            throw new IllegalStateException("Snapshot directory is not configured");
+        }
+
+        try {
+            Files.createDirectories(snapshotDirectory);
+            final List<Path> snapshots = new ArrayList<>();
+            for (CurrencyType currencyType : currencyCatalog.getCurrencyTypes()) {
+                final CsvFileLocation csvFile = getCsvFile(currencyType);
+                final long checksum = RateSnapshotFiles.checksum(csvFile.readAllBytes());
+                final RateHistoryStore history = createCsvDataSource(currencyType).getHistory();
+                final Path snapshotPath = getSnapshotPath(currencyType);
+                RateSnapshotFiles.write(snapshotPath, history.getSeries(), history.getNominals(), checksum);
+                log.info("Imported {} rows of {} into {}", history.getSeries().size(), csvFile, snapshotPath);
+                snapshots.add(snapshotPath);
+            }
+
+            return snapshots;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private PredictionDataSource createUncached(CurrencyType currencyType) {
         log.info("Create initial data source for currency = {}", currencyType);
-        final String filepath = String.format("%s/%s.csv", HARDCODED_DATA_FOLDER, currencyType.getCode());
-        log.debug("Hardcoded file path is = {}", filepath);
+        final CsvFileLocation csvFile = getCsvFile(currencyType);
+        log.debug("CSV file is = {}", csvFile);
+
+        final PredictionDataSource csvDataSource = createCsvDataSource(currencyType);
+        if (snapshotDirectory == null) {
+            return csvDataSource;
+        }
 
+        return new SnapshotPredictionDataSource(getSnapshotPath(currencyType), csvFile, csvDataSource);
+    }
+
+    private PredictionDataSource createCsvDataSource(CurrencyType currencyType) {
+        if (dataDirectory != null) {
+            return new TailCsvFileDataSource(
+                    CsvTailReader.cbrf(), HARDCODED_PARAMS, getDataDirectoryFile(currencyType), dataRowOrder
+            );
+        }
+
+        return createCsvFileDataSource(currencyType, CsvToBeanReader.cbrf());
+    }
+
+    private PredictionDataSource createCsvFileDataSource(CurrencyType currencyType, CsvToBeanReader csvToBeanReader) {
         return new CsvFileDataSource<>(
-                CsvToBeanReader.openCSV(),
+                csvToBeanReader,
                 HARDCODED_PARAMS,
                 RateCBRFCsvRow.class,
                 rateCBRFCsvRow -> new RatePrediction(rateCBRFCsvRow.getDate(), rateCBRFCsvRow.getRate()),
-                filepath
+                NominalHistory::fromRows,
+                getCsvFile(currencyType)
         );
     }
+
+    private void validateCurrency(CurrencyType currencyType) {
+        if (!currencyCatalog.contains(currencyType)) {
+            throw new IllegalArgumentException(String.format(
+                    "There is no data of currency = %s! Available currencies = %s",
+                    currencyType, currencyCatalog.getCurrencyTypes()
+            ));
+        }
+    }
+
+    private CsvFileLocation getCsvFile(CurrencyType currencyType) {
+        if (dataDirectory == null) {
+            return CsvFileLocation.classpath(String.format(
+                    "%s/%s%s", HARDCODED_DATA_FOLDER, currencyType.getCode(), CSV_EXTENSION
+            ));
+        }
+
+        return CsvFileLocation.file(getDataDirectoryFile(currencyType));
+    }
+
+    private Path getDataDirectoryFile(CurrencyType currencyType) {
+        return dataDirectory.resolve(currencyCatalog.getFileName(currencyType)
+                .orElseGet(() -> Path.of(currencyType.getCode() + CSV_EXTENSION)));
+    }
+
+    private Path getSnapshotPath(CurrencyType currencyType) {
+        return snapshotDirectory.resolve(currencyType.getCode() + SNAPSHOT_EXTENSION);
+    }
 }
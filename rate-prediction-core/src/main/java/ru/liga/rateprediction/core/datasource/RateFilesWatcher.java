@@ -0,0 +1,129 @@
+package ru.liga.rateprediction.core.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import ru.liga.rateprediction.core.CurrencyType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Background watcher of directory with currency files. When a file is created or changed, only its currency is
+ * reloaded. Events are collected until directory is quiet for {@link #QUIET_PERIOD_MILLIS}, so a file written
+ * in several chunks is reloaded once.
+ */
+@Slf4j
+public class RateFilesWatcher implements Closeable {
+    private static final long QUIET_PERIOD_MILLIS = 200;
+
+    private final Path directory;
+
+    private final WatchService watchService;
+
+    private final Function<Path, Optional<CurrencyType>> currencyByFileName;
+
+    private final Consumer<CurrencyType> reloader;
+
+    private final Thread thread;
+
+    private RateFilesWatcher(Path directory,
+                             Function<Path, Optional<CurrencyType>> currencyByFileName,
+                             Consumer<CurrencyType> reloader) throws IOException {
+        this.directory = directory;
+        this.currencyByFileName = currencyByFileName;
+        this.reloader = reloader;
+        this.watchService = directory.getFileSystem().newWatchService();
+        directory.register(
+                watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY
+        );
+        this.thread = new Thread(this::run, "rate-files-watcher");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Method starts watching directory in background daemon thread.
+     *
+     * @param directory          directory to watch, not null
+     * @param currencyByFileName function that determines currency by file name, not null
+     * @param reloader           action that reloads currency history, called from watcher thread, not null
+     * @return started watcher, close it to stop watching
+     * @throws IOException if directory can not be watched
+     */
+    @NotNull
+    static RateFilesWatcher start(@NotNull Path directory,
+                                  @NotNull Function<Path, Optional<CurrencyType>> currencyByFileName,
+                                  @NotNull Consumer<CurrencyType> reloader) throws IOException {
+        final RateFilesWatcher watcher = new RateFilesWatcher(directory, currencyByFileName, reloader);
+        watcher.thread.start();
+        log.info("Started watching {}", directory);
+        return watcher;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+        log.info("Stopped watching {}", directory);
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                final Set<CurrencyType> changed = new LinkedHashSet<>();
+                WatchKey key = watchService.take();
+                while (key != null) {
+                    collectChanges(key, changed);
+                    key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                changed.forEach(this::reload);
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            log.debug("Watcher of {} is stopped", directory);
+        }
+    }
+
+    private void collectChanges(WatchKey key, Set<CurrencyType> changed) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                log.warn("Some changes of {} are lost, reload all currencies", directory);
+                collectAllFiles(changed);
+            } else if (event.context() instanceof Path fileName) {
+                currencyByFileName.apply(fileName).ifPresent(changed::add);
+            }
+        }
+        key.reset();
+    }
+
+    private void collectAllFiles(Set<CurrencyType> changed) {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> currencyByFileName.apply(file.getFileName()).ifPresent(changed::add));
+        } catch (IOException e) {
+            log.warn("Failed to list files of {}", directory, e);
+        }
+    }
+
+    private void reload(CurrencyType currencyType) {
+        log.info("File of currency = {} is changed, reload it", currencyType);
+        try {
+            reloader.accept(currencyType);
+        } catch (RuntimeException e) {
+            log.warn("Failed to reload currency = {}, keep serving previous history", currencyType, e);
+        }
+    }
+}
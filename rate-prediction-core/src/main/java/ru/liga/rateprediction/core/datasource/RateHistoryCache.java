@@ -0,0 +1,217 @@
+package ru.liga.rateprediction.core.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import ru.liga.rateprediction.core.CurrencyType;
+import ru.liga.rateprediction.core.RateSeries;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * In-memory cache of full rate histories per currency. Each history is loaded once from the underlying
+ * {@link PredictionDataSource} and kept as an immutable {@link RateHistoryStore} together with its nominals,
+ * so rates and nominals are always loaded, reloaded and invalidated together. Queries of the newest rows do not load
+ * full history: until it is loaded by another query, they are served from the newest rows read once,
+ * see {@link #getLatest}.
+ * Readers never block on each other: a reload builds a new history first and then atomically replaces the old one.
+ */
+@Slf4j
+public class RateHistoryCache {
+    /**
+     * Minimal count of the newest rows read without full history, it covers a year of rates
+     */
+    static final int MIN_LATEST_ROWS = 512;
+
+    private final Function<CurrencyType, PredictionDataSource> loader;
+
+    private final ConcurrentMap<CurrencyType, RateHistoryStore> histories = new ConcurrentHashMap<>();
+
+    /**
+     * The newest rows of currencies whose full history is not loaded
+     */
+    private final ConcurrentMap<CurrencyType, LatestRows> latestRows = new ConcurrentHashMap<>();
+
+    /**
+     * Per currency locks, so different currencies are loaded in parallel and each of them only once
+     */
+    private final ConcurrentMap<CurrencyType, Object> loadLocks = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * @param loader function that creates uncached data source for currency, not null
+     */
+    public RateHistoryCache(@NotNull Function<CurrencyType, PredictionDataSource> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Method returns full history of provided currency, loading it on first access.
+     *
+     * @param currencyType currency to get history for, not null
+     * @return all rows of currency history
+     */
+    @NotNull
+    public RateSeries get(@NotNull CurrencyType currencyType) {
+        return getStore(currencyType).getSeries();
+    }
+
+    /**
+     * Method returns the newest rows of currency. If full history is loaded, rows are served from it. Otherwise
+     * the newest rows are read once from underlying data source, e.g. from the tail of CSV file, and kept until
+     * reload or invalidation, so the cold start costs count of rows rather than length of history and the following
+     * queries cost no I/O at all. At least {@value #MIN_LATEST_ROWS} rows are read, so windows of different size
+     * share the same read. Query of {@link Integer#MAX_VALUE} rows loads full history.
+     *
+     * @param currencyType currency to get rows for, not null
+     * @param rowsCount    count of the newest rows, must be positive
+     * @return at most rowsCount newest rows of currency history
+     */
+    @NotNull
+    public RateSeries getLatest(@NotNull CurrencyType currencyType, int rowsCount) {
+        if (rowsCount == Integer.MAX_VALUE) {
+            return get(currencyType);
+        }
+
+        final RateSeries cached = getCachedLatest(currencyType, rowsCount);
+        if (cached != null) {
+            hitCount.increment();
+            return cached;
+        }
+
+        synchronized (loadLock(currencyType)) {
+            final RateSeries loaded = getCachedLatest(currencyType, rowsCount);
+            if (loaded != null) {
+                hitCount.increment();
+                return loaded;
+            }
+
+            missCount.increment();
+            final int readCount = Math.max(rowsCount, MIN_LATEST_ROWS);
+            log.info("Read {} latest rows for currency = {}", readCount, currencyType);
+            final LatestRows latest = new LatestRows(readCount, loader.apply(currencyType).getSeries(readCount));
+            latestRows.put(currencyType, latest);
+            return latest.series().latest(rowsCount);
+        }
+    }
+
+    /**
+     * Method returns date-indexed view of currency history, loading it on first access.
+     *
+     * @param currencyType currency to get history for, not null
+     * @return store over all rows of currency history with their nominals
+     */
+    @NotNull
+    public RateHistoryStore getStore(@NotNull CurrencyType currencyType) {
+        final RateHistoryStore history = histories.get(currencyType);
+        if (history != null) {
+            hitCount.increment();
+            return history;
+        }
+
+        synchronized (loadLock(currencyType)) {
+            final RateHistoryStore loaded = histories.get(currencyType);
+            if (loaded != null) {
+                hitCount.increment();
+                return loaded;
+            }
+
+            final RateHistoryStore newHistory = load(currencyType);
+            histories.put(currencyType, newHistory);
+            latestRows.remove(currencyType);
+            return newHistory;
+        }
+    }
+
+    /**
+     * Method forces reload of currency history. Concurrent readers keep getting previous history until new one is loaded.
+     * Loads of the same currency are serialized, so the history loaded last always comes from the newest file.
+     *
+     * @param currencyType currency to reload, not null
+     * @return newly loaded history
+     */
+    @NotNull
+    public RateHistoryStore reload(@NotNull CurrencyType currencyType) {
+        synchronized (loadLock(currencyType)) {
+            final RateHistoryStore history = load(currencyType);
+            histories.put(currencyType, history);
+            latestRows.remove(currencyType);
+            return history;
+        }
+    }
+
+    /**
+     * Method drops cached history of currency, so it would be loaded again on next access.
+     *
+     * @param currencyType currency to invalidate, not null
+     */
+    public void invalidate(@NotNull CurrencyType currencyType) {
+        log.info("Invalidate cached history for currency = {}", currencyType);
+        synchronized (loadLock(currencyType)) {
+            histories.remove(currencyType);
+            latestRows.remove(currencyType);
+        }
+    }
+
+    /**
+     * Method drops all cached histories.
+     */
+    public void invalidateAll() {
+        log.info("Invalidate all cached histories");
+        histories.clear();
+        latestRows.clear();
+    }
+
+    /**
+     * @return count of history requests served from cache
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return count of history requests that required loading from underlying data source
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    private RateSeries getCachedLatest(CurrencyType currencyType, int rowsCount) {
+        final RateHistoryStore history = histories.get(currencyType);
+        if (history != null) {
+            return history.getSeries().latest(rowsCount);
+        }
+
+        final LatestRows latest = latestRows.get(currencyType);
+        return latest != null && latest.covers(rowsCount) ? latest.series().latest(rowsCount) : null;
+    }
+
+    private Object loadLock(CurrencyType currencyType) {
+        return loadLocks.computeIfAbsent(currencyType, key -> new Object());
+    }
+
+    private RateHistoryStore load(CurrencyType currencyType) {
+        missCount.increment();
+        log.info("Load full history for currency = {}", currencyType);
+        final RateHistoryStore history = loader.apply(currencyType).getHistory();
+        log.info("Loaded {} rows with {} for currency = {}",
+                history.getSeries().size(), history.getNominals(), currencyType
+        );
+        return history;
+    }
+
+    /**
+     * @param readCount count of rows requested from data source
+     * @param series    rows that were read, fewer than readCount only if it is the whole history
+     */
+    private record LatestRows(int readCount, RateSeries series) {
+        boolean covers(int rowsCount) {
+            return rowsCount <= readCount || series.size() < readCount;
+        }
+    }
+}
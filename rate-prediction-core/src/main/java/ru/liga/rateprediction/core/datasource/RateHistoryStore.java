@@ -0,0 +1,101 @@
+package ru.liga.rateprediction.core.datasource;
+
+import org.jetbrains.annotations.NotNull;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RateSeries;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Read-only history of currency rates indexed by date. Queries are binary searches over sorted primitive arrays
+ * of {@link RateSeries} and return views without copying, so each of them costs O(log n).
+ * CBRF data has gaps on weekends and holidays, so the rate of a date is the newest rate set not after it.
+ * Store keeps nominals the rates are quoted for, they are loaded from the same source as rates.
+ */
+public final class RateHistoryStore {
+    private final RateSeries series;
+
+    private final NominalHistory nominals;
+
+    /**
+     * @param series   history ordered by date ascending without duplicates, not null
+     * @param nominals nominals of history rates, not null
+     */
+    public RateHistoryStore(@NotNull RateSeries series, @NotNull NominalHistory nominals) {
+        this.series = series;
+        this.nominals = nominals;
+    }
+
+    /**
+     * @param series history of rates quoted for one unit, ordered by date ascending without duplicates, not null
+     */
+    public RateHistoryStore(@NotNull RateSeries series) {
+        this(series, NominalHistory.UNIT);
+    }
+
+    /**
+     * @param fromInclusive the oldest date of range, not null
+     * @param toInclusive   the newest date of range, not null
+     * @return rates set in provided range ordered by date ascending
+     * @throws IllegalArgumentException if range start is after its end
+     */
+    @NotNull
+    public RateSeries getRange(@NotNull LocalDate fromInclusive, @NotNull LocalDate toInclusive) {
+        return series.range(fromInclusive, toInclusive);
+    }
+
+    /**
+     * @param count count of rates, must be positive
+     * @return at most count newest rates ordered by date ascending
+     * @throws IllegalArgumentException if count is not positive
+     */
+    @NotNull
+    public RateSeries getLatest(int count) {
+        return series.latest(checkIsPositive(count));
+    }
+
+    /**
+     * Method returns history as it was known on provided date, e.g. to predict rates "as of" past date.
+     *
+     * @param count count of rates, must be positive
+     * @param date  the newest date of history, not null
+     * @return at most count newest rates not after provided date ordered by date ascending
+     * @throws IllegalArgumentException if count is not positive
+     */
+    @NotNull
+    public RateSeries getLatest(int count, @NotNull LocalDate date) {
+        return series.until(date).latest(checkIsPositive(count));
+    }
+
+    /**
+     * @param date date to get rate for, not null
+     * @return the newest rate set not after provided date, empty if history starts after it
+     */
+    @NotNull
+    public Optional<RatePrediction> getAsOf(@NotNull LocalDate date) {
+        final int index = series.floorIndex(date.toEpochDay());
+        return index < 0 ? Optional.empty() : Optional.of(series.get(index));
+    }
+
+    @NotNull
+    public RateSeries getSeries() {
+        return series;
+    }
+
+    /**
+     * @return history of nominals, i.e. count of currency units each rate is quoted for
+     */
+    @NotNull
+    public NominalHistory getNominals() {
+        return nominals;
+    }
+
+    private static int checkIsPositive(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive, but was = " + count);
+        }
+
+        return count;
+    }
+}
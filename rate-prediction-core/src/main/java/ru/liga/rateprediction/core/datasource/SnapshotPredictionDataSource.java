@@ -0,0 +1,89 @@
+package ru.liga.rateprediction.core.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RateSeries;
+import ru.liga.rateprediction.core.datasource.files.snapshot.RateSnapshot;
+import ru.liga.rateprediction.core.datasource.files.snapshot.RateSnapshotFiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Data source that reads binary snapshot of CSV file instead of parsing it. Snapshot is used only if its checksum
+ * matches current content of CSV file, otherwise rows are read from CSV file by fallback data source.
+ * Snapshot keeps nominals of rates too, so full history with nominals is read from snapshot alone.
+ */
+@Slf4j
+class SnapshotPredictionDataSource implements PredictionDataSource {
+    private final Path snapshotPath;
+
+    private final CsvFileLocation csvFile;
+
+    private final PredictionDataSource csvDataSource;
+
+    public SnapshotPredictionDataSource(Path snapshotPath, String csvFilepath, PredictionDataSource csvDataSource) {
+        this(snapshotPath, CsvFileLocation.classpath(csvFilepath), csvDataSource);
+    }
+
+    public SnapshotPredictionDataSource(Path snapshotPath, CsvFileLocation csvFile, PredictionDataSource csvDataSource) {
+        this.snapshotPath = snapshotPath;
+        this.csvFile = csvFile;
+        this.csvDataSource = csvDataSource;
+    }
+
+    @Override
+    public List<RatePrediction> getData(int rowsCount) {
+        return getSeries(rowsCount).toRatePredictionsDescending();
+    }
+
+    @Override
+    public RateSeries getSeries(int rowsCount) {
+        if (rowsCount <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "rowsCount must be positive, but was = %d", rowsCount
+            ));
+        }
+
+        final RateSnapshot snapshot = readSnapshot();
+        if (snapshot == null) {
+            return csvDataSource.getSeries(rowsCount);
+        }
+
+        return snapshot.getSeries().latest(rowsCount);
+    }
+
+    @Override
+    public RateHistoryStore getHistory() {
+        final RateSnapshot snapshot = readSnapshot();
+        if (snapshot == null) {
+            return csvDataSource.getHistory();
+        }
+
+        return new RateHistoryStore(snapshot.getSeries(), snapshot.getNominals());
+    }
+
+    private RateSnapshot readSnapshot() {
+        if (!Files.isRegularFile(snapshotPath)) {
+            log.debug("No snapshot at {}, read {}", snapshotPath, csvFile);
+            return null;
+        }
+
+        try {
+            final long csvChecksum = RateSnapshotFiles.checksum(csvFile.readAllBytes());
+            final RateSnapshot snapshot = RateSnapshotFiles.read(snapshotPath);
+            if (snapshot.getSourceChecksum() != csvChecksum) {
+                log.warn("Snapshot {} is stale for {}, read CSV file instead", snapshotPath, csvFile);
+                return null;
+            }
+
+            log.debug("Read {} rows from snapshot {}", snapshot.getSeries().size(), snapshotPath);
+            return snapshot;
+        } catch (IOException e) {
+            log.warn("Failed to read snapshot {}, read CSV file instead", snapshotPath, e);
+            return null;
+        }
+    }
+}
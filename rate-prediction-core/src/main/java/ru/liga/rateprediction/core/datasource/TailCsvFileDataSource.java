@@ -0,0 +1,85 @@
+package ru.liga.rateprediction.core.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RateSeries;
+import ru.liga.rateprediction.core.datasource.files.csv.CsvParserParams;
+import ru.liga.rateprediction.core.datasource.files.csv.CsvRowOrder;
+import ru.liga.rateprediction.core.datasource.files.csv.CsvTailReader;
+import ru.liga.rateprediction.core.datasource.files.csv.RateCBRFCsvRow;
+import ru.liga.rateprediction.core.metrics.PredictionMetrics;
+
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Data source of CBRF CSV file in filesystem, that reads only bytes of the newest rows, so cost of
+ * {@link #getData(int)} depends on count of rows rather than on size of file
+ */
+@Slf4j
+class TailCsvFileDataSource implements PredictionDataSource {
+    private final CsvTailReader csvTailReader;
+
+    private final CsvParserParams csvParserParams;
+
+    private final Path path;
+
+    private final CsvRowOrder rowOrder;
+
+    public TailCsvFileDataSource(CsvTailReader csvTailReader,
+                                 CsvParserParams csvParserParams,
+                                 Path path,
+                                 CsvRowOrder rowOrder) {
+        this.csvTailReader = csvTailReader;
+        this.csvParserParams = csvParserParams;
+        this.path = path;
+        this.rowOrder = rowOrder;
+    }
+
+    @Override
+    public List<RatePrediction> getData(int rowsCount) {
+        return toRatePredictions(readRows(rowsCount));
+    }
+
+    /**
+     * Method reads all rows of file once and takes nominals from the same rows
+     */
+    @Override
+    public RateHistoryStore getHistory() {
+        final List<RateCBRFCsvRow> rows = readRows(Integer.MAX_VALUE);
+        final RateSeries series = RateSeries.fromOrderedPredictions(toRatePredictions(rows));
+        return new RateHistoryStore(series, rows.isEmpty() ? NominalHistory.UNIT : NominalHistory.fromRows(rows));
+    }
+
+    private List<RateCBRFCsvRow> readRows(int rowsCount) {
+        if (!Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("Not found file at path = " + path);
+        }
+
+        final long startNanos = System.nanoTime();
+        try (final SeekableByteChannel channel = Files.newByteChannel(path)) {
+            final List<RateCBRFCsvRow> rows = csvTailReader
+                    .readLatestLines(channel, csvParserParams, RateCBRFCsvRow.class, rowsCount, rowOrder);
+            final long nanos = System.nanoTime() - startNanos;
+            PredictionMetrics.global().recordCsvLoad(nanos, rows.size());
+            if (log.isDebugEnabled()) {
+                log.debug("Fetched {}/{} rows from {} in {} us",
+                        rows.size(), rowsCount, path, TimeUnit.NANOSECONDS.toMicros(nanos)
+                );
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static List<RatePrediction> toRatePredictions(List<RateCBRFCsvRow> rows) {
+        return rows.stream()
+                .map(row -> new RatePrediction(row.getDate(), row.getRate()))
+                .toList();
+    }
+}
@@ -0,0 +1,15 @@
+package ru.liga.rateprediction.core.datasource.files.csv;
+
+/**
+ * Order of rows in CSV file by date
+ */
+public enum CsvRowOrder {
+    /**
+     * The newest rows are at the beginning of file, as in CBRF exports
+     */
+    NEWEST_FIRST,
+    /**
+     * The newest rows are at the end of file, as in files that are appended daily
+     */
+    OLDEST_FIRST
+}
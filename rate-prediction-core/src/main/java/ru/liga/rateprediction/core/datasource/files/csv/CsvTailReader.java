@@ -0,0 +1,41 @@
+package ru.liga.rateprediction.core.datasource.files.csv;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.List;
+
+/**
+ * This interface provides a way to read only the newest lines of CSV file. Reader knows where the newest rows are
+ * from {@link CsvRowOrder}, so it reads only header and bytes of requested rows instead of scanning the whole file.
+ * Rows must not contain line breaks inside quoted fields.
+ */
+public interface CsvTailReader {
+    /**
+     * Method reads the newest lines of CSV file and parses them to appropriate java bean class.
+     * Provided channel is not closed.
+     *
+     * @param channel      channel of CSV file to read, not null
+     * @param readerParams CSV reader params such as delimiter, escape character, etc., not null
+     * @param beanClass    expected bean class, not null
+     * @param count        count of lines to read, must be positive. If file contains fewer lines, all of them are returned
+     * @param rowOrder     order of rows in file, not null
+     * @param <T>          generic type of expected bean class
+     * @return {@link List} of at most count newest beans ordered from the newest to the oldest
+     * @throws IllegalArgumentException if count was not positive
+     * @throws IOException              if any IOException occurred
+     */
+    <T> List<T> readLatestLines(@NotNull SeekableByteChannel channel,
+                                @NotNull CsvParserParams readerParams,
+                                @NotNull Class<T> beanClass,
+                                int count,
+                                @NotNull CsvRowOrder rowOrder) throws IOException;
+
+    /**
+     * @return reflection-free reader that supports only {@link RateCBRFCsvRow} beans
+     */
+    static CsvTailReader cbrf() {
+        return new CsvToBeanReaderCBRF();
+    }
+}
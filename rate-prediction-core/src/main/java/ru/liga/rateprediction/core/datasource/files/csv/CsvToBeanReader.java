@@ -31,4 +31,11 @@ public interface CsvToBeanReader {
     static CsvToBeanReader openCSV() {
         return new CsvToBeanReaderOpenCSV();
     }
+
+    /**
+     * @return reflection-free reader that supports only {@link RateCBRFCsvRow} beans
+     */
+    static CsvToBeanReader cbrf() {
+        return new CsvToBeanReaderCBRF();
+    }
 }
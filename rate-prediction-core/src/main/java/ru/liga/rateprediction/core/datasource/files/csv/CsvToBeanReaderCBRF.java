@@ -0,0 +1,488 @@
+package ru.liga.rateprediction.core.datasource.files.csv;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * This class reads CSV files of Central Bank of Russia directly from bytes into {@link RateCBRFCsvRow} beans.
+ * It does not use reflection: columns are located by header names and typed values are parsed in place,
+ * so the only objects created per row are the bean itself and its field values.
+ * Separator, quote and escape characters must be ASCII. File content is expected in UTF-8.
+ */
+class CsvToBeanReaderCBRF implements CsvToBeanReader, CsvTailReader {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private static final String NOMINAL_COLUMN = "nominal";
+    private static final String DATE_COLUMN = "data";
+    private static final String RATE_COLUMN = "curs";
+    private static final String CDX_COLUMN = "cdx";
+
+    @Override
+    public <T> List<T> readLines(@NotNull InputStream inputStream,
+                                 @NotNull CsvParserParams readerParams,
+                                 @NotNull Class<T> beanClass,
+                                 int count) throws IOException {
+        try (inputStream) {
+            checkIsPositive(count, "count");
+            checkBeanClass(beanClass);
+
+            final RowScanner scanner = new RowScanner(inputStream, readerParams);
+            return readRows(scanner, readHeader(scanner), beanClass, count);
+        }
+    }
+
+    @Override
+    public <T> List<T> readLatestLines(@NotNull SeekableByteChannel channel,
+                                       @NotNull CsvParserParams readerParams,
+                                       @NotNull Class<T> beanClass,
+                                       int count,
+                                       @NotNull CsvRowOrder rowOrder) throws IOException {
+        checkIsPositive(count, "count");
+        checkBeanClass(beanClass);
+
+        channel.position(0);
+        final RowScanner headerScanner = new RowScanner(Channels.newInputStream(channel), readerParams);
+        final Columns columns = readHeader(headerScanner);
+        if (rowOrder == CsvRowOrder.NEWEST_FIRST) {
+            return readRows(headerScanner, columns, beanClass, count);
+        }
+
+        channel.position(findTailStart(channel, headerScanner.getConsumedBytes(), count));
+        final List<T> rows = readRows(
+                new RowScanner(Channels.newInputStream(channel), readerParams), columns, beanClass, count
+        );
+        Collections.reverse(rows);
+        return rows;
+    }
+
+    private <T> List<T> readRows(RowScanner scanner, Columns columns, Class<T> beanClass, int count) throws IOException {
+        final List<T> result = new ArrayList<>();
+        while (result.size() < count) {
+            final RateCBRFCsvRow row = scanner.readRow(columns);
+            if (row == null) {
+                break;
+            }
+            result.add(beanClass.cast(row));
+        }
+
+        return result;
+    }
+
+    /**
+     * Method scans file backwards from its end until provided count of not blank lines is found
+     *
+     * @param dataStart offset of the first byte after header
+     * @return offset of the first byte of the oldest found line
+     */
+    private long findTailStart(SeekableByteChannel channel, long dataStart, int count) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        int rows = 0;
+        boolean lineHasContent = false;
+        long blockEnd = channel.size();
+        while (blockEnd > dataStart) {
+            final long blockStart = Math.max(dataStart, blockEnd - BUFFER_SIZE);
+            buffer.clear().limit((int) (blockEnd - blockStart));
+            channel.position(blockStart);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("CSV file was truncated while reading");
+                }
+            }
+
+            for (int i = buffer.limit() - 1; i >= 0; i--) {
+                final byte b = buffer.get(i);
+                if (b == '\n' || b == '\r') {
+                    if (lineHasContent && ++rows == count) {
+                        return blockStart + i + 1;
+                    }
+                    lineHasContent = false;
+                } else {
+                    lineHasContent = true;
+                }
+            }
+            blockEnd = blockStart;
+        }
+
+        return dataStart;
+    }
+
+    private Columns readHeader(RowScanner scanner) throws IOException {
+        final List<String> header = scanner.readHeader();
+        if (header == null) {
+            throw new IOException("CSV file has no header");
+        }
+
+        final Columns columns = new Columns(
+                header.indexOf(NOMINAL_COLUMN),
+                header.indexOf(DATE_COLUMN),
+                header.indexOf(RATE_COLUMN),
+                header.indexOf(CDX_COLUMN)
+        );
+        if (columns.date < 0 || columns.rate < 0) {
+            throw new IOException(String.format(
+                    "CSV header must contain columns \"%s\" and \"%s\", but was = %s", DATE_COLUMN, RATE_COLUMN, header
+            ));
+        }
+
+        return columns;
+    }
+
+    private void checkBeanClass(Class<?> beanClass) {
+        if (beanClass != RateCBRFCsvRow.class) {
+            throw new IllegalArgumentException(String.format(
+                    "Only %s is supported, but was = %s", RateCBRFCsvRow.class.getName(), beanClass.getName()
+            ));
+        }
+    }
+
+    private void checkIsPositive(int arg, String name) {
+        if (arg <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "%s must be positive, but was = %d", name, arg
+            ));
+        }
+    }
+
+    /**
+     * Indexes of known columns in CSV header, negative if column is absent
+     */
+    private record Columns(int nominal, int date, int rate, int cdx) {
+    }
+
+    /**
+     * Byte level scanner that splits input into rows and fields, unquoting each field into a reusable buffer
+     */
+    static final class RowScanner {
+        private static final int FIELD_END = 0;
+        private static final int ROW_END = 1;
+        private static final int EOF = 2;
+
+        private final InputStream inputStream;
+        private final byte separator;
+        private final byte quote;
+        private final byte escape;
+
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+        private long filledBytes;
+
+        private byte[] field = new byte[64];
+        private int fieldLength;
+
+        private byte[] lastCdxBytes = new byte[0];
+        private String lastCdx;
+        private int lineNumber;
+        private int rowLineNumber;
+
+        RowScanner(InputStream inputStream, CsvParserParams readerParams) {
+            this.inputStream = inputStream;
+            this.separator = toAsciiByte(readerParams.getSeparator(), "separator");
+            this.quote = toAsciiByte(readerParams.getQuoteCharacter(), "quote character");
+            this.escape = toAsciiByte(readerParams.getEscapeCharacter(), "escape character");
+        }
+
+        List<String> readHeader() throws IOException {
+            final List<String> header = new ArrayList<>();
+            boolean endOfRow = false;
+            while (!endOfRow) {
+                final int terminator = readField();
+                if (terminator == EOF && header.isEmpty() && fieldLength == 0) {
+                    return null;
+                }
+                header.add(new String(field, 0, fieldLength, StandardCharsets.UTF_8).trim().toLowerCase(Locale.ROOT));
+                endOfRow = terminator != FIELD_END;
+            }
+            return header;
+        }
+
+        RateCBRFCsvRow readRow(Columns columns) throws IOException {
+            rowLineNumber = lineNumber;
+            int terminator = readField();
+            while (terminator == ROW_END && fieldLength == 0) {
+                // skip blank lines
+                rowLineNumber = lineNumber;
+                terminator = readField();
+            }
+            if (terminator == EOF && fieldLength == 0) {
+                return null;
+            }
+
+            final RateCBRFCsvRow row = new RateCBRFCsvRow();
+            int column = 0;
+            while (true) {
+                if (column == columns.nominal) {
+                    row.setNominal(parseNominal());
+                } else if (column == columns.date) {
+                    row.setDate(parseDate());
+                } else if (column == columns.rate) {
+                    row.setRate(parseRate());
+                } else if (column == columns.cdx) {
+                    row.setCdx(decodeCdx());
+                }
+
+                if (terminator != FIELD_END) {
+                    break;
+                }
+                terminator = readField();
+                column++;
+            }
+
+            if (row.getDate() == null || row.getRate() == null) {
+                throw formatException("required columns are missing or empty");
+            }
+            return row;
+        }
+
+        /**
+         * Reads next field into {@link #field} buffer
+         *
+         * @return what terminated the field: separator, end of line or end of input
+         */
+        private int readField() throws IOException {
+            fieldLength = 0;
+            boolean inQuotes = false;
+            while (true) {
+                final int b = next();
+                if (b < 0) {
+                    return EOF;
+                }
+
+                if (b == escape && escape != quote) {
+                    final int following = peek();
+                    if (following == quote || following == escape) {
+                        append((byte) next());
+                        continue;
+                    }
+                }
+
+                if (b == quote) {
+                    if (inQuotes && peek() == quote) {
+                        append((byte) next());
+                    } else {
+                        inQuotes = !inQuotes;
+                    }
+                } else if (inQuotes) {
+                    append((byte) b);
+                } else if (b == separator) {
+                    return FIELD_END;
+                } else if (b == '\n') {
+                    lineNumber++;
+                    return ROW_END;
+                } else if (b == '\r') {
+                    if (peek() == '\n') {
+                        next();
+                    }
+                    lineNumber++;
+                    return ROW_END;
+                } else {
+                    append((byte) b);
+                }
+            }
+        }
+
+        private Integer parseNominal() throws IOException {
+            final int start = skipLeadingSpaces();
+            final int end = trailingEnd();
+            if (start == end) {
+                return null;
+            }
+
+            int value = 0;
+            for (int i = start; i < end; i++) {
+                final byte b = field[i];
+                if (b == ',') {
+                    continue;
+                }
+                if (b < '0' || b > '9' || value > (Integer.MAX_VALUE - 9) / 10) {
+                    throw formatException("invalid nominal");
+                }
+                value = value * 10 + (b - '0');
+            }
+            return value;
+        }
+
+        private LocalDate parseDate() throws IOException {
+            int i = skipLeadingSpaces();
+            final int end = trailingEnd();
+            if (i == end) {
+                return null;
+            }
+
+            int month = 0;
+            int day = 0;
+            int year = 0;
+            int part = 0;
+            int digits = 0;
+            for (; i < end; i++) {
+                final byte b = field[i];
+                if (b == '/' && part < 2 && digits > 0) {
+                    part++;
+                    digits = 0;
+                    continue;
+                }
+                if (b < '0' || b > '9' || ++digits > (part == 2 ? 4 : 2)) {
+                    throw formatException("invalid date, expected format M/d/yyyy");
+                }
+
+                switch (part) {
+                    case 0 -> month = month * 10 + (b - '0');
+                    case 1 -> day = day * 10 + (b - '0');
+                    default -> year = year * 10 + (b - '0');
+                }
+            }
+            if (part != 2 || digits != 4) {
+                throw formatException("invalid date, expected format M/d/yyyy");
+            }
+
+            try {
+                return LocalDate.of(year, month, day);
+            } catch (DateTimeException e) {
+                throw formatException(e.getMessage());
+            }
+        }
+
+        private BigDecimal parseRate() throws IOException {
+            int i = skipLeadingSpaces();
+            final int end = trailingEnd();
+            if (i == end) {
+                return null;
+            }
+
+            final boolean negative = field[i] == '-';
+            if (negative || field[i] == '+') {
+                i++;
+            }
+
+            long unscaled = 0;
+            int scale = -1;
+            int digits = 0;
+            for (; i < end; i++) {
+                final byte b = field[i];
+                if (b == '.' && scale < 0) {
+                    scale = 0;
+                    continue;
+                }
+                if (b < '0' || b > '9') {
+                    throw formatException("invalid rate");
+                }
+                if (++digits > MAX_LONG_DIGITS) {
+                    return parseLongRate();
+                }
+
+                unscaled = unscaled * 10 + (b - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            }
+            if (digits == 0) {
+                throw formatException("invalid rate");
+            }
+
+            return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+        }
+
+        private BigDecimal parseLongRate() throws IOException {
+            final int start = skipLeadingSpaces();
+            try {
+                return new BigDecimal(new String(field, start, trailingEnd() - start, StandardCharsets.US_ASCII));
+            } catch (NumberFormatException e) {
+                throw formatException("invalid rate");
+            }
+        }
+
+        private String decodeCdx() {
+            if (!Arrays.equals(field, 0, fieldLength, lastCdxBytes, 0, lastCdxBytes.length)) {
+                lastCdxBytes = Arrays.copyOf(field, fieldLength);
+                lastCdx = new String(lastCdxBytes, StandardCharsets.UTF_8);
+            }
+            return lastCdx;
+        }
+
+        private int skipLeadingSpaces() {
+            int i = 0;
+            while (i < fieldLength && field[i] == ' ') {
+                i++;
+            }
+            return i;
+        }
+
+        private int trailingEnd() {
+            int end = fieldLength;
+            while (end > 0 && field[end - 1] == ' ') {
+                end--;
+            }
+            return end;
+        }
+
+        private void append(byte b) {
+            if (fieldLength == field.length) {
+                field = Arrays.copyOf(field, field.length * 2);
+            }
+            field[fieldLength++] = b;
+        }
+
+        private int next() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private int peek() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position] & 0xFF;
+        }
+
+        /**
+         * @return count of bytes of input that are already scanned
+         */
+        long getConsumedBytes() {
+            return filledBytes - (limit - position);
+        }
+
+        private boolean fill() throws IOException {
+            final int read = inputStream.read(buffer, 0, buffer.length);
+            if (read <= 0) {
+                return false;
+            }
+            position = 0;
+            limit = read;
+            filledBytes += read;
+            return true;
+        }
+
+        private IOException formatException(String reason) {
+            return new IOException(String.format(
+                    "Malformed CSV row at line %d: %s, field = \"%s\"",
+                    rowLineNumber + 1, reason, new String(field, 0, fieldLength, StandardCharsets.UTF_8)
+            ));
+        }
+
+        private static byte toAsciiByte(char character, String name) {
+            if (character > 0x7F) {
+                throw new IllegalArgumentException(String.format(
+                        "%s must be ASCII character, but was = %s", name, character
+                ));
+            }
+            return (byte) character;
+        }
+    }
+}
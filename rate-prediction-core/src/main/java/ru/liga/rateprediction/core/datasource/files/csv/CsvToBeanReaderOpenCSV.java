@@ -11,6 +11,7 @@ import org.jetbrains.annotations.NotNull;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -48,7 +49,7 @@ class CsvToBeanReaderOpenCSV implements CsvToBeanReader {
                 .withQuoteChar(readerParams.getQuoteCharacter())
                 .build();
 
-        return new CSVReaderBuilder(new InputStreamReader(inputStream))
+        return new CSVReaderBuilder(new InputStreamReader(inputStream, StandardCharsets.UTF_8))
                 .withCSVParser(parser)
                 .build();
     }
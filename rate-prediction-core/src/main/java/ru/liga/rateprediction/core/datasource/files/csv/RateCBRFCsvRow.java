@@ -2,6 +2,7 @@ package ru.liga.rateprediction.core.datasource.files.csv;
 
 import com.opencsv.bean.CsvBindByName;
 import com.opencsv.bean.CsvDate;
+import com.opencsv.bean.CsvNumber;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,7 +17,8 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 public class RateCBRFCsvRow {
-    @CsvBindByName(column = "nominal")
+    @CsvNumber("#,##0")
+    @CsvBindByName(column = "nominal", locale = "en-US")
     private Integer nominal;
 
     @CsvDate("M/d/yyyy")
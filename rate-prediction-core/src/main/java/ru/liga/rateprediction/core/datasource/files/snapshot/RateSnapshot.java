@@ -0,0 +1,23 @@
+package ru.liga.rateprediction.core.datasource.files.snapshot;
+
+import lombok.Value;
+import org.jetbrains.annotations.NotNull;
+import ru.liga.rateprediction.core.RateSeries;
+import ru.liga.rateprediction.core.datasource.NominalHistory;
+
+/**
+ * Content of binary snapshot file
+ */
+@Value
+public class RateSnapshot {
+    /**
+     * Checksum of source file the snapshot was built from
+     */
+    long sourceChecksum;
+
+    @NotNull
+    RateSeries series;
+
+    @NotNull
+    NominalHistory nominals;
+}
@@ -0,0 +1,167 @@
+package ru.liga.rateprediction.core.datasource.files.snapshot;
+
+import lombok.experimental.UtilityClass;
+import org.jetbrains.annotations.NotNull;
+import ru.liga.rateprediction.core.RateSeries;
+import ru.liga.rateprediction.core.datasource.NominalHistory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Reading and writing of binary columnar snapshots of {@link RateSeries} with their {@link NominalHistory}.
+ * Layout of file, little-endian:
+ * <pre>
+ * int  magic            "RSNP"
+ * int  version          2
+ * long source checksum  CRC32C of source file
+ * int  count
+ * int  changes          count of nominal changes
+ * long[count]   scaled rates
+ * int[count]    epoch days
+ * int[changes]  epoch days of nominal changes
+ * int[changes]  nominals
+ * </pre>
+ * Snapshots are read through {@link FileChannel#map}, so loading is a bulk copy of arrays without any parsing.
+ * Snapshots of other versions are rejected, so they are rebuilt from source files.
+ */
+@UtilityClass
+public class RateSnapshotFiles {
+    private static final int MAGIC = 0x504E5352;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 24;
+
+    /**
+     * Method atomically writes snapshot of rates quoted for one unit, see
+     * {@link #write(Path, RateSeries, NominalHistory, long)}.
+     */
+    public static void write(@NotNull Path path,
+                             @NotNull RateSeries series,
+                             long sourceChecksum) throws IOException {
+        write(path, series, NominalHistory.UNIT, sourceChecksum);
+    }
+
+    /**
+     * Method atomically writes snapshot: content is written to temporary file that replaces target file afterwards.
+     *
+     * @param path           target file, not null
+     * @param series         series to write, not null
+     * @param nominals       nominals of series rates, not null
+     * @param sourceChecksum checksum of source file, see {@link #checksum(byte[])}
+     * @throws IOException if any IOException occurred
+     */
+    public static void write(@NotNull Path path,
+                             @NotNull RateSeries series,
+                             @NotNull NominalHistory nominals,
+                             long sourceChecksum) throws IOException {
+        final int count = series.size();
+        final int changes = nominals.getChangeCount();
+        final ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(getSize(count, changes)))
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(sourceChecksum)
+                .putInt(count)
+                .putInt(changes);
+        for (int i = 0; i < count; i++) {
+            buffer.putLong(series.getScaledRate(i));
+        }
+        for (int i = 0; i < count; i++) {
+            buffer.putInt(series.getEpochDay(i));
+        }
+        for (int i = 0; i < changes; i++) {
+            buffer.putInt(nominals.getChangeEpochDay(i));
+        }
+        for (int i = 0; i < changes; i++) {
+            buffer.putInt(nominals.getNominal(i));
+        }
+
+        final Path temporary = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporary, buffer.array());
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Method maps snapshot file into memory and reads it.
+     *
+     * @param path snapshot file, not null
+     * @return snapshot content
+     * @throws IOException if file is not a valid snapshot or any IOException occurred
+     */
+    @NotNull
+    public static RateSnapshot read(@NotNull Path path) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Snapshot is too short: " + path);
+            }
+
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            final ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+            final int magic = buffer.getInt();
+            final int version = buffer.getInt();
+            if (magic != MAGIC || version != VERSION) {
+                throw new IOException(String.format(
+                        "Unsupported snapshot format of %s: magic = %x, version = %d", path, magic, version
+                ));
+            }
+
+            final long sourceChecksum = buffer.getLong();
+            final int count = buffer.getInt();
+            final int changes = buffer.getInt();
+            if (count < 0 || changes < 0 || size != getSize(count, changes)) {
+                throw new IOException(String.format(
+                        "Snapshot %s is corrupted: %d rows and %d nominal changes in %d bytes",
+                        path, count, changes, size
+                ));
+            }
+
+            final long[] scaledRates = new long[count];
+            final int[] epochDays = new int[count];
+            final int[] changeEpochDays = new int[changes];
+            final int[] nominals = new int[changes];
+            buffer.position(HEADER_SIZE);
+            buffer.asLongBuffer().get(scaledRates);
+            buffer.position(HEADER_SIZE + count * Long.BYTES);
+            buffer.asIntBuffer().get(epochDays);
+            buffer.position(HEADER_SIZE + count * (Long.BYTES + Integer.BYTES));
+            buffer.asIntBuffer().get(changeEpochDays).get(nominals);
+
+            try {
+                return new RateSnapshot(
+                        sourceChecksum,
+                        RateSeries.of(epochDays, scaledRates),
+                        NominalHistory.of(changeEpochDays, nominals)
+                );
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Snapshot is corrupted: " + path, e);
+            }
+        }
+    }
+
+    private static long getSize(int count, int changes) {
+        return HEADER_SIZE + (long) count * (Long.BYTES + Integer.BYTES) + (long) changes * 2 * Integer.BYTES;
+    }
+
+    /**
+     * @param sourceContent content of source file, not null
+     * @return checksum that is stored in snapshot built from this source
+     */
+    public static long checksum(byte @NotNull [] sourceContent) {
+        final CRC32C crc = new CRC32C();
+        crc.update(sourceContent);
+        return crc.getValue();
+    }
+}
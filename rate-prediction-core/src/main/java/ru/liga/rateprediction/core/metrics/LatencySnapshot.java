@@ -0,0 +1,34 @@
+package ru.liga.rateprediction.core.metrics;
+
+import lombok.Value;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Summary of {@link LatencyHistogram}, all durations are in nanoseconds. Percentiles are upper bounds of buckets
+ * that contain them.
+ */
+@Value
+public class LatencySnapshot {
+    long count;
+
+    long meanNanos;
+
+    long p50Nanos;
+
+    long p90Nanos;
+
+    long p99Nanos;
+
+    long maxNanos;
+
+    @ConstructorProperties({"count", "meanNanos", "p50Nanos", "p90Nanos", "p99Nanos", "maxNanos"})
+    public LatencySnapshot(long count, long meanNanos, long p50Nanos, long p90Nanos, long p99Nanos, long maxNanos) {
+        this.count = count;
+        this.meanNanos = meanNanos;
+        this.p50Nanos = p50Nanos;
+        this.p90Nanos = p90Nanos;
+        this.p99Nanos = p99Nanos;
+        this.maxNanos = maxNanos;
+    }
+}
@@ -0,0 +1,204 @@
+package ru.liga.rateprediction.core.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import ru.liga.rateprediction.core.CurrencyType;
+import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of prediction hot paths. Histograms and counters are allocated in constructor, except of histograms of
+ * predictions, which are allocated on the first prediction of currency and algorithm, because both catalog of
+ * currencies and algorithms are discovered at runtime. After that recording never allocates and never blocks.
+ * Components that are created by {@link java.util.ServiceLoader} or deep inside of factories record into
+ * {@link #global()} instance, which is also exposed through JMX.
+ */
+@Slf4j
+public class PredictionMetrics implements PredictionMetricsMXBean {
+    public static final String OBJECT_NAME = "ru.liga.rateprediction:type=PredictionMetrics";
+
+    private static final PredictionMetrics GLOBAL = new PredictionMetrics();
+
+    private static final LatencySnapshot EMPTY_SNAPSHOT = new LatencyHistogram().snapshot();
+
+    /**
+     * End-to-end facade calls by currency and then by algorithm code
+     */
+    private final ConcurrentMap<CurrencyType, ConcurrentMap<String, LatencyHistogram>> predictions =
+            new ConcurrentHashMap<>();
+
+    /**
+     * End-to-end facade calls of cross rate predictions by algorithm code
+     */
+    private final ConcurrentMap<String, LatencyHistogram> crossPredictions = new ConcurrentHashMap<>();
+
+    private final LongAdder predictionErrors = new LongAdder();
+
+    private final LatencyHistogram csvLoads = new LatencyHistogram();
+
+    private final LongAdder csvRows = new LongAdder();
+
+    private final LatencyHistogram meanWindowRuns = new LatencyHistogram();
+
+    private final LongAdder predictedDays = new LongAdder();
+
+    private final LatencyHistogram modelFits = new LatencyHistogram();
+
+    /**
+     * @return metrics shared by the whole application
+     */
+    public static PredictionMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Method registers {@link #global()} metrics in platform MBean server, repeated calls are ignored
+     */
+    public static void registerGlobalMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(GLOBAL, new ObjectName(OBJECT_NAME));
+            log.debug("Registered MBean {}", OBJECT_NAME);
+        } catch (InstanceAlreadyExistsException e) {
+            log.debug("MBean {} is already registered", OBJECT_NAME);
+        } catch (JMException e) {
+            log.warn("Failed to register MBean {}", OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * @param nanos duration of facade call, including consumption of streamed predictions
+     */
+    public void recordPrediction(@NotNull CurrencyType currencyType,
+                                 @NotNull RatePredictionAlgorithm algorithm,
+                                 long nanos) {
+        getHistogram(predictions.computeIfAbsent(currencyType, key -> new ConcurrentHashMap<>()), algorithm)
+                .record(nanos);
+    }
+
+    /**
+     * @param nanos duration of facade call of cross rate prediction, including consumption of streamed predictions
+     */
+    public void recordCrossPrediction(@NotNull RatePredictionAlgorithm algorithm, long nanos) {
+        getHistogram(crossPredictions, algorithm).record(nanos);
+    }
+
+    public void recordPredictionError() {
+        predictionErrors.increment();
+    }
+
+    /**
+     * @param nanos duration of reading and parsing of file
+     * @param rows  count of parsed rows
+     */
+    public void recordCsvLoad(long nanos, int rows) {
+        csvLoads.record(nanos);
+        csvRows.add(rows);
+    }
+
+    /**
+     * Method is called once per prediction request of mean algorithm, so steps of window are only counted
+     *
+     * @param nanos duration of all the steps of mean window made for request
+     * @param days  count of days that window is advanced by
+     */
+    public void recordMeanWindowRun(long nanos, long days) {
+        meanWindowRuns.record(nanos);
+        predictedDays.add(days);
+    }
+
+    /**
+     * @param nanos duration of fitting model of algorithm to history
+     */
+    public void recordModelFit(long nanos) {
+        modelFits.record(nanos);
+    }
+
+    @Override
+    public Map<String, LatencySnapshot> getLatencies() {
+        final Map<String, LatencySnapshot> latencies = new LinkedHashMap<>();
+        // predefined currencies are listed even before their first prediction, so the list is stable from start
+        final Set<CurrencyType> currencyTypes = new TreeSet<>(CurrencyType.PREDEFINED);
+        currencyTypes.addAll(predictions.keySet());
+        // so are predefined algorithms, algorithms of plugins follow them in order of code
+        final Set<String> algorithmCodes = new LinkedHashSet<>();
+        RatePredictionAlgorithm.PREDEFINED.forEach(algorithm -> algorithmCodes.add(algorithm.getCode()));
+        final Set<String> recordedCodes = new TreeSet<>(crossPredictions.keySet());
+        predictions.values().forEach(byAlgorithm -> recordedCodes.addAll(byAlgorithm.keySet()));
+        algorithmCodes.addAll(recordedCodes);
+        for (CurrencyType currencyType : currencyTypes) {
+            final Map<String, LatencyHistogram> byAlgorithm = predictions.get(currencyType);
+            for (String algorithmCode : algorithmCodes) {
+                latencies.put(
+                        "predict " + currencyType.getCode() + " " + algorithmCode,
+                        snapshot(byAlgorithm == null ? null : byAlgorithm.get(algorithmCode))
+                );
+            }
+        }
+        for (String algorithmCode : algorithmCodes) {
+            latencies.put("predict cross " + algorithmCode, snapshot(crossPredictions.get(algorithmCode)));
+        }
+        latencies.put("csv load", csvLoads.snapshot());
+        latencies.put("mean window run", meanWindowRuns.snapshot());
+        latencies.put("model fit", modelFits.snapshot());
+        return latencies;
+    }
+
+    @Override
+    public long getPredictionErrorCount() {
+        return predictionErrors.sum();
+    }
+
+    @Override
+    public long getCsvRowCount() {
+        return csvRows.sum();
+    }
+
+    @Override
+    public long getPredictedDayCount() {
+        return predictedDays.sum();
+    }
+
+    @Override
+    public long getCsvRowNanos() {
+        final long rows = csvRows.sum();
+        return rows == 0 ? 0 : csvLoads.getTotalNanos() / rows;
+    }
+
+    @Override
+    public void reset() {
+        for (Map<String, LatencyHistogram> byAlgorithm : predictions.values()) {
+            byAlgorithm.values().forEach(LatencyHistogram::reset);
+        }
+        crossPredictions.values().forEach(LatencyHistogram::reset);
+        predictionErrors.reset();
+        csvLoads.reset();
+        csvRows.reset();
+        meanWindowRuns.reset();
+        predictedDays.reset();
+        modelFits.reset();
+    }
+
+    private static LatencyHistogram getHistogram(ConcurrentMap<String, LatencyHistogram> byAlgorithm,
+                                                 RatePredictionAlgorithm algorithm) {
+        final LatencyHistogram histogram = byAlgorithm.get(algorithm.getCode());
+        return histogram != null
+                ? histogram
+                : byAlgorithm.computeIfAbsent(algorithm.getCode(), key -> new LatencyHistogram());
+    }
+
+    private static LatencySnapshot snapshot(LatencyHistogram histogram) {
+        return histogram == null ? EMPTY_SNAPSHOT : histogram.snapshot();
+    }
+}
@@ -0,0 +1,26 @@
+package ru.liga.rateprediction.core.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link PredictionMetrics}, registered as {@value PredictionMetrics#OBJECT_NAME}
+ */
+public interface PredictionMetricsMXBean {
+    /**
+     * @return latencies by metric name, in the order of {@link PredictionMetrics} metrics
+     */
+    Map<String, LatencySnapshot> getLatencies();
+
+    long getPredictionErrorCount();
+
+    long getCsvRowCount();
+
+    /**
+     * @return mean cost of reading and parsing of single CSV row in nanoseconds
+     */
+    long getCsvRowNanos();
+
+    long getPredictedDayCount();
+
+    void reset();
+}
@@ -0,0 +1,38 @@
+package ru.liga.rateprediction.core.output;
+
+import org.jetbrains.annotations.NotNull;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CSV with header {@code date,rate}, ISO dates and rates with dot as decimal separator
+ */
+class CsvRatePredictionWriter implements RatePredictionWriter {
+    private static final String HEADER = "date,rate\n";
+
+    private final Writer out;
+
+    private final LineBuffer line = new LineBuffer();
+
+    CsvRatePredictionWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader(@NotNull String currencyCode,
+                            @NotNull RatePredictionAlgorithm algorithm) throws IOException {
+        out.write(HEADER);
+    }
+
+    @Override
+    public void write(@NotNull RatePrediction ratePrediction) throws IOException {
+        line.appendIsoDate(ratePrediction.getDate())
+                .append(',')
+                .appendPlain(ratePrediction.getRate())
+                .append('\n')
+                .writeTo(out);
+    }
+}
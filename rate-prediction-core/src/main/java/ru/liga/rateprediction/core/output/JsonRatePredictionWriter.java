@@ -0,0 +1,52 @@
+package ru.liga.rateprediction.core.output;
+
+import org.jetbrains.annotations.NotNull;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Single JSON object per command:
+ * {@code {"currency":"USD","algorithm":"mean","predictions":[{"date":"2023-01-01","rate":70.1234}]}}.
+ * Currency and algorithm codes contain only letters, so they are not escaped.
+ */
+class JsonRatePredictionWriter implements RatePredictionWriter {
+    private final Writer out;
+
+    private final LineBuffer line = new LineBuffer();
+
+    private boolean first = true;
+
+    JsonRatePredictionWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader(@NotNull String currencyCode,
+                            @NotNull RatePredictionAlgorithm algorithm) throws IOException {
+        line.append("{\"currency\":\"").append(currencyCode)
+                .append("\",\"algorithm\":\"").append(algorithm.getCode())
+                .append("\",\"predictions\":[")
+                .writeTo(out);
+    }
+
+    @Override
+    public void write(@NotNull RatePrediction ratePrediction) throws IOException {
+        if (!first) {
+            line.append(',');
+        }
+        first = false;
+
+        line.append("{\"date\":\"").appendIsoDate(ratePrediction.getDate())
+                .append("\",\"rate\":").appendPlain(ratePrediction.getRate())
+                .append('}')
+                .writeTo(out);
+    }
+
+    @Override
+    public void writeFooter() throws IOException {
+        out.write("]}\n");
+    }
+}
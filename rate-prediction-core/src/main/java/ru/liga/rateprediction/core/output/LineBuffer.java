@@ -0,0 +1,138 @@
+package ru.liga.rateprediction.core.output;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Reusable buffer of a single output line. Numbers and dates are written as digits straight into the buffer,
+ * so writing a line does not create intermediate strings.
+ */
+final class LineBuffer {
+    private static final int MAX_FAST_DIGITS = 18;
+    private static final long[] POWERS_OF_TEN = new long[MAX_FAST_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private char[] chars = new char[64];
+
+    private int length;
+
+    LineBuffer append(char c) {
+        ensureCapacity(1);
+        chars[length++] = c;
+        return this;
+    }
+
+    LineBuffer append(String value) {
+        ensureCapacity(value.length());
+        value.getChars(0, value.length(), chars, length);
+        length += value.length();
+        return this;
+    }
+
+    /**
+     * @param value     not negative value
+     * @param minDigits count of digits to pad with leading zeros to
+     */
+    LineBuffer appendDigits(long value, int minDigits) {
+        int digits = 1;
+        while (digits < MAX_FAST_DIGITS + 1 && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        digits = Math.max(digits, minDigits);
+
+        ensureCapacity(digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+        return this;
+    }
+
+    /**
+     * Method appends date in ISO format yyyy-MM-dd, as {@link LocalDate#toString()} does
+     */
+    LineBuffer appendIsoDate(LocalDate date) {
+        if (date.getYear() < 0 || date.getYear() > 9999) {
+            return append(date.toString());
+        }
+
+        return appendDigits(date.getYear(), 4)
+                .append('-')
+                .appendDigits(date.getMonthValue(), 2)
+                .append('-')
+                .appendDigits(date.getDayOfMonth(), 2);
+    }
+
+    /**
+     * Method appends decimal without exponent, as {@link BigDecimal#toPlainString()} does
+     */
+    LineBuffer appendPlain(BigDecimal value) {
+        final int scale = value.scale();
+        if (scale < 0 || scale > MAX_FAST_DIGITS || value.precision() > MAX_FAST_DIGITS) {
+            return append(value.toPlainString());
+        }
+
+        final long unscaled = Math.abs(value.movePointRight(scale).longValue());
+        if (value.signum() < 0) {
+            append('-');
+        }
+        appendDigits(unscaled / POWERS_OF_TEN[scale], 1);
+        if (scale > 0) {
+            append('.').appendDigits(unscaled % POWERS_OF_TEN[scale], scale);
+        }
+        return this;
+    }
+
+    /**
+     * @param value not negative decimal
+     * @param scale count of fraction digits, at most {@value #MAX_FAST_DIGITS}
+     * @return unscaled value rounded to provided scale with {@link java.math.RoundingMode#HALF_EVEN},
+     * or -1 if it does not fit in long
+     */
+    static long unscaledHalfEven(BigDecimal value, int scale) {
+        final int valueScale = value.scale();
+        if (value.signum() < 0 || valueScale < 0 || valueScale > MAX_FAST_DIGITS
+                || value.precision() > MAX_FAST_DIGITS) {
+            return -1;
+        }
+
+        final long unscaled = value.movePointRight(valueScale).longValue();
+        if (valueScale <= scale) {
+            final int shift = scale - valueScale;
+            if (shift > MAX_FAST_DIGITS || unscaled > Long.MAX_VALUE / POWERS_OF_TEN[shift]) {
+                return -1;
+            }
+            return unscaled * POWERS_OF_TEN[shift];
+        }
+
+        final long divisor = POWERS_OF_TEN[valueScale - scale];
+        final long quotient = unscaled / divisor;
+        final long remainder = unscaled % divisor;
+        final long half = divisor / 2;
+        if (remainder > half || (remainder == half && (quotient & 1) == 1)) {
+            return quotient + 1;
+        }
+        return quotient;
+    }
+
+    void writeTo(Writer out) throws IOException {
+        out.write(chars, 0, length);
+        length = 0;
+    }
+
+    private void ensureCapacity(int count) {
+        if (length + count > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + count));
+        }
+    }
+}
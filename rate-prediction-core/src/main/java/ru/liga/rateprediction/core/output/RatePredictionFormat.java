@@ -0,0 +1,46 @@
+package ru.liga.rateprediction.core.output;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Optional;
+
+@Getter
+@RequiredArgsConstructor
+public enum RatePredictionFormat {
+    TEXT("text"),
+    JSON("json"),
+    CSV("csv");
+
+    private final String code;
+
+    @NotNull
+    public static Optional<RatePredictionFormat> byCode(String code) {
+        return Arrays.stream(values())
+                .filter(x -> x.code.equalsIgnoreCase(code))
+                .findFirst();
+    }
+
+    @NotNull
+    public static String[] codes() {
+        return Arrays.stream(values())
+                .map(RatePredictionFormat::getCode)
+                .toArray(String[]::new);
+    }
+
+    /**
+     * @param out writer to serialize predictions into, not null. It should be buffered
+     * @return new writer of predictions in this format
+     */
+    @NotNull
+    public RatePredictionWriter newWriter(@NotNull Writer out) {
+        return switch (this) {
+            case TEXT -> new TextRatePredictionWriter(out);
+            case JSON -> new JsonRatePredictionWriter(out);
+            case CSV -> new CsvRatePredictionWriter(out);
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package ru.liga.rateprediction.core.output;
+
+import org.jetbrains.annotations.NotNull;
+import ru.liga.rateprediction.core.CurrencyType;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
+
+import java.io.IOException;
+
+/**
+ * Streaming writer of rate predictions. Each prediction is serialized right into underlying writer,
+ * so memory use does not depend on count of predictions. Writer is not thread-safe and does not flush its output.
+ */
+public interface RatePredictionWriter {
+    /**
+     * Method must be called once before the first prediction
+     *
+     * @param currencyCode code of currency or currency pair of predictions, e.g. USD or EUR/USD, not null
+     * @param algorithm    algorithm of predictions, not null
+     */
+    default void writeHeader(@NotNull String currencyCode,
+                             @NotNull RatePredictionAlgorithm algorithm) throws IOException {
+    }
+
+    /**
+     * Method works as {@link #writeHeader(String, RatePredictionAlgorithm)} with code of provided currency
+     */
+    default void writeHeader(@NotNull CurrencyType currencyType,
+                             @NotNull RatePredictionAlgorithm algorithm) throws IOException {
+        writeHeader(currencyType.getCode(), algorithm);
+    }
+
+    void write(@NotNull RatePrediction ratePrediction) throws IOException;
+
+    /**
+     * Method must be called once after the last prediction
+     */
+    default void writeFooter() throws IOException {
+    }
+}
@@ -0,0 +1,93 @@
+package ru.liga.rateprediction.core.output;
+
+import org.jetbrains.annotations.NotNull;
+import ru.liga.rateprediction.core.RatePrediction;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Human-readable lines such as {@code "Пт 13.10.2023 - 103,04"}. Output is the same as of
+ * {@link #DATE_FORMATTER} and {@link #RATE_FORMAT_PATTERN}, but common dates and rates are written without them.
+ */
+class TextRatePredictionWriter implements RatePredictionWriter {
+    private static final Locale LOCALE = Locale.forLanguageTag("ru");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter
+            .ofPattern("E dd.MM.yyyy")
+            .withLocale(LOCALE);
+    private static final String RATE_FORMAT_PATTERN = "##.00";
+    private static final DateTimeFormatter DAY_OF_WEEK_FORMATTER = DateTimeFormatter.ofPattern("E").withLocale(LOCALE);
+    private static final char DECIMAL_SEPARATOR = new DecimalFormatSymbols(LOCALE).getDecimalSeparator();
+    private static final String[] DAY_OF_WEEK_NAMES = new String[DayOfWeek.values().length];
+    private static final String SEPARATOR = " - ";
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    /**
+     * {@link DecimalFormat} is not thread-safe, and writers are used concurrently in batch mode
+     */
+    private static final ThreadLocal<NumberFormat> RATE_FORMATTER = ThreadLocal.withInitial(
+            () -> new DecimalFormat(RATE_FORMAT_PATTERN, new DecimalFormatSymbols(LOCALE))
+    );
+
+    static {
+        // 2023-10-09 is Monday
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            DAY_OF_WEEK_NAMES[dayOfWeek.ordinal()] = DAY_OF_WEEK_FORMATTER.format(
+                    LocalDate.of(2023, 10, 9).plusDays(dayOfWeek.ordinal())
+            );
+        }
+    }
+
+    private final Writer out;
+
+    private final LineBuffer line = new LineBuffer();
+
+    TextRatePredictionWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(@NotNull RatePrediction ratePrediction) throws IOException {
+        appendDate(ratePrediction.getDate());
+        line.append(SEPARATOR);
+        appendRate(ratePrediction.getRate());
+        line.append(LINE_SEPARATOR).writeTo(out);
+    }
+
+    private void appendDate(LocalDate date) {
+        if (date.getYear() < 1 || date.getYear() > 9999) {
+            line.append(DATE_FORMATTER.format(date));
+            return;
+        }
+
+        line.append(DAY_OF_WEEK_NAMES[date.getDayOfWeek().ordinal()])
+                .append(' ')
+                .appendDigits(date.getDayOfMonth(), 2)
+                .append('.')
+                .appendDigits(date.getMonthValue(), 2)
+                .append('.')
+                .appendDigits(date.getYear(), 4);
+    }
+
+    private void appendRate(BigDecimal rate) {
+        final long hundredths = LineBuffer.unscaledHalfEven(rate, 2);
+        if (hundredths < 0) {
+            line.append(RATE_FORMATTER.get().format(rate));
+            return;
+        }
+
+        // pattern has no required integer digits, so zero integer part is omitted
+        if (hundredths >= 100) {
+            line.appendDigits(hundredths / 100, 1);
+        }
+        line.append(DECIMAL_SEPARATOR).appendDigits(hundredths % 100, 2);
+    }
+}
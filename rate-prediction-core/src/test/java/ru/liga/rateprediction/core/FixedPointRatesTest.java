@@ -0,0 +1,112 @@
+package ru.liga.rateprediction.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FixedPointRatesTest {
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void divideHalfUp_whenRandomOperands_thenSameAsBigDecimal() {
+        //given
+        final SplittableRandom random = new SplittableRandom(23);
+        final long[] edgeValues = {0, 1, -1, 2, -2, 5, -5, 15, -15, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1};
+
+        for (int i = 0; i < SAMPLES; i++) {
+            final long dividend = switch (i % 4) {
+                case 0 -> edgeValues[random.nextInt(edgeValues.length)];
+                case 1 -> random.nextLong(-100_000_000L, 100_000_000L);
+                default -> random.nextLong();
+            };
+            final long divisor = switch (i % 3) {
+                case 0 -> random.nextLong(1, 1_000);
+                case 1 -> edgeValues[random.nextInt(edgeValues.length)];
+                default -> random.nextLong();
+            };
+            if (divisor == 0 || dividend == Long.MIN_VALUE && divisor == -1) {
+                continue;
+            }
+
+            //when
+            final long actual = FixedPointRates.divideHalfUp(dividend, divisor);
+
+            //then
+            final BigDecimal expected = BigDecimal.valueOf(dividend, RateSeries.SCALE)
+                    .divide(BigDecimal.valueOf(divisor), RateSeries.SCALE, RoundingMode.HALF_UP);
+            assertThat(RateSeries.fromScaled(actual))
+                    .as("%d / %d", dividend, divisor)
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void mean_whenRandomRates_thenSameAsBigDecimal() {
+        //given
+        final SplittableRandom random = new SplittableRandom(42);
+
+        for (int i = 0; i < SAMPLES / 10; i++) {
+            final long[] rates = random.longs(random.nextInt(1, 400), 0, 10_000_000_000L).toArray();
+
+            //when
+            final long actual = FixedPointRates.mean(rates);
+
+            //then
+            BigDecimal sum = BigDecimal.ZERO;
+            for (long rate : rates) {
+                sum = sum.add(RateSeries.fromScaled(rate));
+            }
+            assertThat(RateSeries.fromScaled(actual))
+                    .isEqualTo(sum.divide(BigDecimal.valueOf(rates.length), RateSeries.SCALE, RoundingMode.HALF_UP));
+        }
+    }
+
+    @Test
+    void crossRate_whenRandomRatesAndNominals_thenSameAsBigDecimal() {
+        //given
+        final SplittableRandom random = new SplittableRandom(24);
+        final int[] nominals = {1, 10, 100, 1_000_000};
+
+        for (int i = 0; i < SAMPLES; i++) {
+            final long baseRate = random.nextLong(1, 100_000_000L);
+            final long quoteRate = random.nextLong(1, 100_000_000L);
+            final int baseNominal = nominals[random.nextInt(nominals.length)];
+            final int quoteNominal = nominals[random.nextInt(nominals.length)];
+
+            //when
+            final long actual = FixedPointRates.crossRate(baseRate, baseNominal, quoteRate, quoteNominal);
+
+            //then
+            final BigDecimal expected = RateSeries.fromScaled(baseRate)
+                    .multiply(BigDecimal.valueOf(quoteNominal))
+                    .divide(
+                            RateSeries.fromScaled(quoteRate).multiply(BigDecimal.valueOf(baseNominal)),
+                            RateSeries.SCALE,
+                            RoundingMode.HALF_UP
+                    );
+            assertThat(RateSeries.fromScaled(actual))
+                    .as("%d / %d to %d / %d", baseRate, baseNominal, quoteRate, quoteNominal)
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void operations_whenResultOverflows_thenThrowArithmeticException() {
+        //when + then
+        assertThatThrownBy(() -> FixedPointRates.add(Long.MAX_VALUE, 1)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> FixedPointRates.subtract(Long.MIN_VALUE, 1)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> FixedPointRates.divideHalfUp(Long.MIN_VALUE, -1))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> FixedPointRates.divideHalfUp(1, 0)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> FixedPointRates.mean(Long.MAX_VALUE, Long.MAX_VALUE))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> FixedPointRates.crossRate(1, 1, 0, 1)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> FixedPointRates.crossRate(Long.MAX_VALUE / 2, 1, 1, 1))
+                .isInstanceOf(ArithmeticException.class);
+    }
+}
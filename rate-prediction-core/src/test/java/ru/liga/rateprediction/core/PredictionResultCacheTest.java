@@ -0,0 +1,155 @@
+package ru.liga.rateprediction.core;
+
+import org.junit.jupiter.api.Test;
+import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
+import ru.liga.rateprediction.core.algorithm.RatePredictorParams;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PredictionResultCacheTest {
+    private static final RateSeries HISTORY = RateSeries.of(
+            new int[]{19000, 19001, 19002}, new long[]{10000, 20000, 30000}
+    );
+    private static final LocalDate START = LocalDate.of(2030, 1, 1);
+    private static final List<RatePrediction> RESULT = List.of(new RatePrediction(START, new BigDecimal("2.0000")));
+
+    private final AtomicInteger computationsCount = new AtomicInteger();
+
+    @Test
+    void get_whenSameKey_thenComputesOnce() {
+        //given
+        final PredictionResultCache cache = new PredictionResultCache(10, Clock.systemUTC());
+
+        //when
+        final List<RatePrediction> first = get(cache, CurrencyType.USD, HISTORY.latest(2));
+        final List<RatePrediction> second = get(cache, CurrencyType.USD, RateSeries.of(
+                new int[]{19001, 19002}, new long[]{20000, 30000}
+        ));
+
+        //then
+        assertThat(first).isEqualTo(RESULT);
+        assertThat(second).isSameAs(first);
+        assertThat(computationsCount).hasValue(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void get_whenInputWindowChanged_thenComputesAgain() {
+        //given
+        final PredictionResultCache cache = new PredictionResultCache(10, Clock.systemUTC());
+        get(cache, CurrencyType.USD, HISTORY.latest(2));
+
+        //when
+        get(cache, CurrencyType.USD, HISTORY.latest(3));
+        get(cache, CurrencyType.EUR, HISTORY.latest(2));
+
+        //then
+        assertThat(computationsCount).hasValue(3);
+    }
+
+    @Test
+    void get_whenSizeExceeded_thenEvictsLeastRecentlyUsed() {
+        //given
+        final PredictionResultCache cache = new PredictionResultCache(2, Clock.systemUTC());
+        get(cache, CurrencyType.USD, HISTORY);
+        get(cache, CurrencyType.EUR, HISTORY);
+        get(cache, CurrencyType.USD, HISTORY);
+
+        //when
+        get(cache, CurrencyType.TRY, HISTORY);
+        get(cache, CurrencyType.USD, HISTORY);
+        get(cache, CurrencyType.EUR, HISTORY);
+
+        //then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(computationsCount).hasValue(4);
+    }
+
+    @Test
+    void get_whenPredictionsCountExceeded_thenEvictsUntilItFits() {
+        //given
+        final PredictionResultCache cache = new PredictionResultCache(4, Clock.systemUTC());
+        get(cache, CurrencyType.USD, HISTORY);
+        get(cache, CurrencyType.EUR, HISTORY);
+
+        //when
+        getRange(cache, 3);
+        getRange(cache, 5);
+
+        //then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getPredictionCount()).isEqualTo(4);
+        get(cache, CurrencyType.EUR, HISTORY);
+        assertThat(computationsCount).hasValue(2);
+        get(cache, CurrencyType.USD, HISTORY);
+        assertThat(computationsCount).hasValue(3);
+    }
+
+    @Test
+    void get_whenDateRolledOver_thenComputesAgain() {
+        //given
+        final MutableClock clock = new MutableClock(Instant.parse("2023-10-13T23:59:00Z"));
+        final PredictionResultCache cache = new PredictionResultCache(10, clock);
+        get(cache, CurrencyType.USD, HISTORY);
+
+        //when
+        clock.instant = clock.instant.plus(2, ChronoUnit.MINUTES);
+        get(cache, CurrencyType.USD, HISTORY);
+
+        //then
+        assertThat(computationsCount).hasValue(2);
+    }
+
+    private List<RatePrediction> get(PredictionResultCache cache, CurrencyType currencyType, RateSeries window) {
+        return cache.get(
+                RatePredictionAlgorithm.MEAN, RatePredictorParams.DEFAULT, currencyType, window, START, null,
+                () -> {
+                    computationsCount.incrementAndGet();
+                    return RESULT;
+                }
+        );
+    }
+
+    private void getRange(PredictionResultCache cache, int days) {
+        final List<RatePrediction> result = Collections.nCopies(days, RESULT.get(0));
+        cache.get(
+                RatePredictionAlgorithm.MEAN, RatePredictorParams.DEFAULT, CurrencyType.TRY, HISTORY, START,
+                START.plusDays(days - 1L), () -> result
+        );
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ru.liga.rateprediction.core;
+
+import org.junit.jupiter.api.Test;
+import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
+import ru.liga.rateprediction.core.algorithm.RatePredictorFactory;
+import ru.liga.rateprediction.core.datasource.PredictionDataSource;
+import ru.liga.rateprediction.core.datasource.PredictionDataSourceFactory;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RatePredictionFacadeTest {
+    @Test
+    void predictRates_whenOneCurrencyFails_thenOthersArePredicted() {
+        //given
+        final PredictionDataSourceFactory failingTryFactory = new PredictionDataSourceFactory() {
+            @Override
+            public PredictionDataSource create(CurrencyType currencyType) {
+                if (currencyType == CurrencyType.TRY) {
+                    return rowsCount -> {
+                        throw new IllegalStateException("Broken file");
+                    };
+                }
+                return super.create(currencyType);
+            }
+        };
+        final RatePredictionFacade facade = new RatePredictionFacade(
+                new RatePredictorFactory(), failingTryFactory, Executors.newFixedThreadPool(3)
+        );
+        final LocalDate startDate = LocalDate.now().plusDays(1);
+        final LocalDate endDate = LocalDate.now().plusDays(7);
+
+        //when
+        final Map<CurrencyType, RatePredictionResult> actual = facade.predictRates(
+                RatePredictionAlgorithm.MEAN,
+                new LinkedHashSet<>(List.of(CurrencyType.EUR, CurrencyType.TRY, CurrencyType.USD)),
+                startDate,
+                endDate
+        );
+
+        //then
+        assertThat(actual).containsOnlyKeys(CurrencyType.EUR, CurrencyType.TRY, CurrencyType.USD);
+        assertThat(actual.get(CurrencyType.EUR).getPredictions())
+                .isEqualTo(facade.predictRate(RatePredictionAlgorithm.MEAN, CurrencyType.EUR, startDate, endDate));
+        assertThat(actual.get(CurrencyType.USD).getPredictions()).hasSize(7);
+        assertThat(actual.get(CurrencyType.TRY).isSuccess()).isFalse();
+        assertThat(actual.get(CurrencyType.TRY).getError()).hasMessage("Broken file");
+    }
+
+    @Test
+    void close_whenExecutorIsProvidedByCaller_thenExecutorIsNotShutDown() {
+        //given
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final RatePredictionFacade facade = new RatePredictionFacade(
+                new RatePredictorFactory(), new PredictionDataSourceFactory(), executor
+        );
+
+        //when
+        facade.close();
+
+        //then
+        assertThat(executor.isShutdown()).isFalse();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,133 @@
+package ru.liga.rateprediction.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateSeriesTest {
+    @Test
+    void fromPredictions_whenUnordered_thenSeriesIsSortedByDate() {
+        //given
+        final List<RatePrediction> predictions = List.of(
+                new RatePrediction(LocalDate.of(2023, 10, 13), new BigDecimal("103.035")),
+                new RatePrediction(LocalDate.of(2023, 10, 11), new BigDecimal("105.6864")),
+                new RatePrediction(LocalDate.of(2023, 10, 12), BigDecimal.valueOf(105))
+        );
+
+        //when
+        final RateSeries actual = RateSeries.fromPredictions(predictions);
+
+        //then
+        assertThat(actual.size()).isEqualTo(3);
+        assertThat(actual.getScaledRate(0)).isEqualTo(1_056_864L);
+        assertThat(actual.getScaledRate(1)).isEqualTo(1_050_000L);
+        assertThat(actual.getScaledRate(2)).isEqualTo(1_030_350L);
+        assertThat(actual.getLastEpochDay()).isEqualTo(LocalDate.of(2023, 10, 13).toEpochDay());
+        assertThat(actual.toRatePredictions()).containsExactly(
+                new RatePrediction(LocalDate.of(2023, 10, 11), new BigDecimal("105.6864")),
+                new RatePrediction(LocalDate.of(2023, 10, 12), new BigDecimal("105.0000")),
+                new RatePrediction(LocalDate.of(2023, 10, 13), new BigDecimal("103.0350"))
+        );
+    }
+
+    @Test
+    void fromPredictions_whenInvalidData_thenThrow() {
+        //given
+        final List<RatePrediction> duplicates = List.of(
+                new RatePrediction(LocalDate.of(2023, 10, 13), BigDecimal.ONE),
+                new RatePrediction(LocalDate.of(2023, 10, 13), BigDecimal.TEN)
+        );
+        final List<RatePrediction> tooPrecise = List.of(
+                new RatePrediction(LocalDate.of(2023, 10, 13), new BigDecimal("1.00001"))
+        );
+
+        //when + then
+        assertThatThrownBy(() -> RateSeries.fromPredictions(duplicates))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateSeries.fromPredictions(tooPrecise))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void latest_whenTakeView_thenViewSharesDataWithSeries() {
+        //given
+        final RateSeries series = RateSeries.of(new int[]{1, 2, 3, 4, 5}, new long[]{10, 20, 30, 40, 50});
+
+        //when
+        final RateSeries latest = series.latest(3);
+        final RateSeries window = latest.slice(1, 3);
+
+        //then
+        assertThat(latest).isEqualTo(RateSeries.of(new int[]{3, 4, 5}, new long[]{30, 40, 50}));
+        assertThat(window).isEqualTo(RateSeries.of(new int[]{4, 5}, new long[]{40, 50}));
+        assertThat(window.hashCode()).isEqualTo(RateSeries.of(new int[]{4, 5}, new long[]{40, 50}).hashCode());
+        assertThat(series.latest(10)).isEqualTo(series);
+        assertThatThrownBy(() -> window.getEpochDay(2)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> latest.slice(2, 4)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void fromOrderedPredictions_whenDescending_thenSeriesIsAscending() {
+        //given
+        final List<RatePrediction> predictions = List.of(
+                new RatePrediction(LocalDate.of(2023, 10, 13), new BigDecimal("3")),
+                new RatePrediction(LocalDate.of(2023, 10, 12), new BigDecimal("2")),
+                new RatePrediction(LocalDate.of(2023, 10, 10), new BigDecimal("1"))
+        );
+
+        //when
+        final RateSeries actual = RateSeries.fromOrderedPredictions(predictions);
+
+        //then
+        assertThat(actual).isEqualTo(RateSeries.fromPredictions(predictions));
+    }
+
+    @Test
+    void fromOrderedPredictions_whenMisorderedOrDuplicated_thenThrowsIAE() {
+        //given
+        final List<RatePrediction> misordered = List.of(
+                new RatePrediction(LocalDate.of(2023, 10, 13), BigDecimal.ONE),
+                new RatePrediction(LocalDate.of(2023, 10, 11), BigDecimal.ONE),
+                new RatePrediction(LocalDate.of(2023, 10, 12), BigDecimal.ONE)
+        );
+        final List<RatePrediction> duplicates = List.of(
+                new RatePrediction(LocalDate.of(2023, 10, 11), BigDecimal.ONE),
+                new RatePrediction(LocalDate.of(2023, 10, 12), BigDecimal.ONE),
+                new RatePrediction(LocalDate.of(2023, 10, 12), BigDecimal.TEN)
+        );
+
+        //when + then
+        assertThatThrownBy(() -> RateSeries.fromOrderedPredictions(misordered))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("2023-10-12");
+        assertThatThrownBy(() -> RateSeries.fromOrderedPredictions(duplicates))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("duplicated");
+    }
+
+    @Test
+    void range_whenDatesAreInGaps_thenReturnRatesInsideRange() {
+        //given
+        final RateSeries series = RateSeries.of(new int[]{10, 12, 15, 16, 20}, new long[]{1, 2, 3, 4, 5});
+        final RateSeries view = series.slice(1, 4);
+
+        //when + then
+        assertThat(series.range(LocalDate.ofEpochDay(11), LocalDate.ofEpochDay(16)))
+                .isEqualTo(RateSeries.of(new int[]{12, 15, 16}, new long[]{2, 3, 4}));
+        assertThat(series.range(LocalDate.ofEpochDay(13), LocalDate.ofEpochDay(14)).isEmpty()).isTrue();
+        assertThat(series.range(LocalDate.ofEpochDay(0), LocalDate.MAX)).isEqualTo(series);
+        assertThat(view.range(LocalDate.ofEpochDay(0), LocalDate.ofEpochDay(15)))
+                .isEqualTo(RateSeries.of(new int[]{12, 15}, new long[]{2, 3}));
+        assertThat(view.until(LocalDate.ofEpochDay(14)))
+                .isEqualTo(RateSeries.of(new int[]{12}, new long[]{2}));
+        assertThat(view.floorIndex(11)).isEqualTo(-1);
+        assertThat(view.ceilingIndex(17)).isEqualTo(3);
+        assertThatThrownBy(() -> series.range(LocalDate.ofEpochDay(2), LocalDate.ofEpochDay(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,40 @@
+package ru.liga.rateprediction.core.algorithm;
+
+import org.junit.jupiter.api.Test;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RateSeries;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExponentialSmoothingRatePredictorTest {
+    @Test
+    void predict_whenRatesAreProvided_thenAllPredictionsAreSmoothedLevel() {
+        //given
+        /*
+        level = 1
+        level = 1 + 0.3 * (2 - 1) = 1.3
+        level = 1.3 + 0.3 * (4 - 1.3) = 2.11
+        * */
+        final RateSeries initialData = RateSeries.fromPredictions(List.of(
+                new RatePrediction(LocalDate.of(2023, 10, 10), new BigDecimal("1.0000")),
+                new RatePrediction(LocalDate.of(2023, 10, 11), new BigDecimal("2.0000")),
+                new RatePrediction(LocalDate.of(2023, 10, 12), new BigDecimal("4.0000"))
+        ));
+        final RatePredictor ratePredictor = new ExponentialSmoothingRatePredictor();
+
+        //when
+        final List<RatePrediction> actual = ratePredictor.predict(
+                initialData, LocalDate.of(2023, 10, 11), LocalDate.of(2023, 10, 14)
+        );
+
+        //then
+        assertThat(actual).containsExactly(
+                new RatePrediction(LocalDate.of(2023, 10, 13), new BigDecimal("2.1100")),
+                new RatePrediction(LocalDate.of(2023, 10, 14), new BigDecimal("2.1100"))
+        );
+    }
+}
@@ -0,0 +1,85 @@
+package ru.liga.rateprediction.core.algorithm;
+
+import org.junit.jupiter.api.Test;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RateSeries;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LinearRegressionRatePredictorTest {
+    @Test
+    void predict_whenRatesAreLinear_thenContinuesLine() {
+        //given
+        final RateSeries initialData = RateSeries.fromPredictions(List.of(
+                new RatePrediction(LocalDate.of(2023, 10, 10), new BigDecimal("1.0000")),
+                new RatePrediction(LocalDate.of(2023, 10, 11), new BigDecimal("1.5000")),
+                // gap in dates, as on weekends
+                new RatePrediction(LocalDate.of(2023, 10, 14), new BigDecimal("3.0000"))
+        ));
+        final RatePredictor ratePredictor = new LinearRegressionRatePredictor();
+
+        //when
+        final List<RatePrediction> actual = ratePredictor.predict(
+                initialData, LocalDate.of(2023, 10, 15), LocalDate.of(2023, 10, 16)
+        );
+
+        //then
+        assertThat(actual).containsExactly(
+                new RatePrediction(LocalDate.of(2023, 10, 15), new BigDecimal("3.5000")),
+                new RatePrediction(LocalDate.of(2023, 10, 16), new BigDecimal("4.0000"))
+        );
+    }
+
+    @Test
+    void predictSingle_whenNoisyRates_thenUsesLeastSquaresLine() {
+        //given
+        // x = -2, -1, 0; y = 1, 3, 2 => slope = 0.5, intercept = 2.5
+        final List<RatePrediction> initialData = List.of(
+                new RatePrediction(LocalDate.of(2023, 10, 12), new BigDecimal("2")),
+                new RatePrediction(LocalDate.of(2023, 10, 11), new BigDecimal("3")),
+                new RatePrediction(LocalDate.of(2023, 10, 10), new BigDecimal("1"))
+        );
+        final RatePredictor ratePredictor = new LinearRegressionRatePredictor();
+
+        //when
+        final RatePrediction actual = ratePredictor.predictSingle(initialData, LocalDate.of(2023, 10, 14));
+
+        //then
+        assertThat(actual).isEqualTo(new RatePrediction(LocalDate.of(2023, 10, 14), new BigDecimal("3.5000")));
+    }
+
+    @Test
+    void predict_whenSingleRate_thenRateIsConstant() {
+        //given
+        final RateSeries initialData = RateSeries.fromPredictions(List.of(
+                new RatePrediction(LocalDate.of(2023, 10, 10), new BigDecimal("2.1234"))
+        ));
+        final RatePredictor ratePredictor = new LinearRegressionRatePredictor();
+
+        //when
+        final List<RatePrediction> actual = ratePredictor.predict(initialData, LocalDate.of(2030, 1, 1), null);
+
+        //then
+        assertThat(actual).containsExactly(new RatePrediction(LocalDate.of(2030, 1, 1), new BigDecimal("2.1234")));
+    }
+
+    @Test
+    void predict_whenInvalidDataIsProvided_thenThrowIAE() {
+        //given
+        final RatePredictor ratePredictor = new LinearRegressionRatePredictor();
+        final List<RatePrediction> futureData = List.of(
+                new RatePrediction(LocalDate.now().plusDays(1), BigDecimal.ONE)
+        );
+
+        //when + then
+        assertThatThrownBy(() -> ratePredictor.predictSingle(List.of(), LocalDate.now().plusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ratePredictor.predictSingle(futureData, LocalDate.now().plusDays(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -6,11 +6,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import ru.liga.rateprediction.core.CurrencyType;
 import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RateSeries;
+import ru.liga.rateprediction.core.datasource.PredictionDataSourceFactory;
+import ru.liga.rateprediction.core.metrics.PredictionMetrics;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -154,6 +163,153 @@ class MeanRatePredictorTest {
                 .containsExactlyElementsOf(expected);
     }
 
+    @ParameterizedTest
+    @MethodSource("predictRangeVariants")
+    void predictStream_whenIsValidInput_thenReturnSameAsPredictRange(LocalDate startDate,
+                                                                     LocalDate endDate,
+                                                                     List<RatePrediction> initialData,
+                                                                     List<RatePrediction> expected) {
+        //given
+        final MeanRatePredictor ratePredictor = new MeanRatePredictor();
+
+        //when
+        final List<RatePrediction> actual = ratePredictor.predictStream(initialData, startDate, endDate).toList();
+
+        //then
+        Assertions.assertThat(actual)
+                .usingRecursiveFieldByFieldElementComparator(createRateComparisonConfiguration())
+                .containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void predictStream_whenRangeIsHuge_thenPredictionsAreComputedLazily() {
+        //given
+        final MeanRatePredictor ratePredictor = new MeanRatePredictor();
+        final List<RatePrediction> initialData = List.of(
+                new RatePrediction(LocalDate.of(2023, 10, 10), BigDecimal.ONE),
+                new RatePrediction(LocalDate.of(2023, 10, 11), BigDecimal.valueOf(2))
+        );
+
+        //when
+        final List<RatePrediction> actual = ratePredictor
+                .predictStream(initialData, LocalDate.of(2023, 10, 12), LocalDate.MAX)
+                .limit(2)
+                .toList();
+
+        //then
+        Assertions.assertThat(actual)
+                .usingRecursiveFieldByFieldElementComparator(createRateComparisonConfiguration())
+                .containsExactly(
+                        new RatePrediction(LocalDate.of(2023, 10, 12), BigDecimal.valueOf(1.5)),
+                        new RatePrediction(LocalDate.of(2023, 10, 13), BigDecimal.valueOf(1.75))
+                );
+    }
+
+    @Test
+    void predict_whenSingleDatesAreRequestedRepeatedly_thenSameAsFreshPrediction() {
+        //given
+        final Random random = new Random(7);
+        final int[] epochDays = new int[7];
+        final long[] scaledRates = new long[7];
+        for (int i = 0; i < epochDays.length; i++) {
+            epochDays[i] = Math.toIntExact(LocalDate.now().minusDays(epochDays.length - i).toEpochDay());
+            scaledRates[i] = 500_000 + random.nextInt(200_000);
+        }
+        final RateSeries initialData = RateSeries.of(epochDays, scaledRates);
+        final MeanRatePredictor ratePredictor = new MeanRatePredictor();
+
+        for (int horizon : new int[]{100, 30, 3650, 365, 30, 1, 3651}) {
+            final LocalDate date = LocalDate.now().plusDays(horizon);
+
+            //when
+            final List<RatePrediction> actual = ratePredictor.predict(initialData, date, null);
+
+            //then
+            final RatePrediction expected = new MeanRatePredictor()
+                    .predictStream(initialData, LocalDate.now().plusDays(1), date)
+                    .reduce((first, second) -> second)
+                    .orElseThrow();
+            Assertions.assertThat(actual).containsExactly(expected);
+        }
+    }
+
+    @Test
+    void predict_whenInitialDataIsLongerThanWindow_thenOnlyNewestRowsAreAveraged() {
+        //given
+        final Random random = new Random(29);
+        final int[] epochDays = new int[100];
+        final long[] scaledRates = new long[100];
+        for (int i = 0; i < epochDays.length; i++) {
+            epochDays[i] = Math.toIntExact(LocalDate.now().minusDays(epochDays.length - i).toEpochDay());
+            scaledRates[i] = 500_000 + random.nextInt(200_000);
+        }
+        final RateSeries initialData = RateSeries.of(epochDays, scaledRates);
+        final RateSeries window = initialData.latest(30);
+        final LocalDate startDate = LocalDate.now().plusDays(1);
+        final LocalDate endDate = LocalDate.now().plusDays(10);
+
+        //when
+        final List<RatePrediction> fromSeries = new MeanRatePredictor(30).predict(initialData, startDate, endDate);
+        final List<RatePrediction> fromList = new MeanRatePredictor(30)
+                .predictRange(initialData.toRatePredictionsDescending(), startDate, endDate);
+        final RatePrediction single = new MeanRatePredictor(30).predict(initialData, endDate, null).get(0);
+
+        //then
+        final List<RatePrediction> expected = new MeanRatePredictor(30).predict(window, startDate, endDate);
+        Assertions.assertThat(fromSeries).isEqualTo(expected);
+        Assertions.assertThat(fromList).isEqualTo(expected);
+        Assertions.assertThat(single).isEqualTo(expected.get(expected.size() - 1));
+    }
+
+    @Test
+    void predictStream_whenRangeIsConsumed_thenWindowRunIsRecordedOnce() {
+        //given
+        final PredictionMetrics metrics = PredictionMetrics.global();
+        final RateSeries initialData = RateSeries.of(
+                new int[]{Math.toIntExact(LocalDate.now().minusDays(1).toEpochDay())}, new long[]{10_000}
+        );
+        final long runsBefore = metrics.getLatencies().get("mean window run").getCount();
+        final long daysBefore = metrics.getPredictedDayCount();
+
+        //when
+        final List<RatePrediction> actual = new MeanRatePredictor()
+                .predictStream(initialData, LocalDate.now().plusDays(1), LocalDate.now().plusDays(30))
+                .toList();
+
+        //then
+        Assertions.assertThat(actual).hasSize(30);
+        Assertions.assertThat(metrics.getLatencies().get("mean window run").getCount()).isEqualTo(runsBefore + 1);
+        Assertions.assertThat(metrics.getPredictedDayCount()).isEqualTo(daysBefore + 31);
+    }
+
+    @Test
+    void predictHistory_whenWindowSlides_thenSameAsPredictionFromEachWindow() {
+        //given
+        final Random random = new Random(17);
+        final int[] epochDays = new int[300];
+        final long[] scaledRates = new long[300];
+        int epochDay = Math.toIntExact(LocalDate.of(2020, 1, 1).toEpochDay());
+        for (int i = 0; i < epochDays.length; i++) {
+            // gaps as weekends and holidays
+            epochDay += 1 + random.nextInt(3);
+            epochDays[i] = epochDay;
+            scaledRates[i] = 500_000 + random.nextInt(200_000);
+        }
+        final RateSeries history = RateSeries.of(epochDays, scaledRates);
+        final MeanRatePredictor ratePredictor = new MeanRatePredictor(5);
+
+        //when
+        final long[] actual = ratePredictor.predictHistory(history, 20, 300);
+
+        //then
+        for (int i = 20; i < 300; i++) {
+            final RatePrediction expected = new MeanRatePredictor(5)
+                    .predict(history.slice(i - 5, i), history.getDate(i), null)
+                    .get(0);
+            Assertions.assertThat(actual[i - 20]).isEqualTo(RateSeries.toScaled(expected.getRate()));
+        }
+    }
+
     private RecursiveComparisonConfiguration createRateComparisonConfiguration() {
         final BigDecimal precision = BigDecimal.valueOf(0.00001);
 
@@ -166,4 +322,76 @@ class MeanRatePredictorTest {
 
         return configuration;
     }
-}
\ No newline at end of file
+
+    public static Stream<Arguments> currencyVariants() {
+        return new PredictionDataSourceFactory().getCurrencyCatalog().getCurrencyTypes().stream()
+                .map(Arguments::of);
+    }
+
+    @ParameterizedTest
+    @MethodSource("currencyVariants")
+    void predict_whenRandomWindowsOfBundledHistory_thenBitIdenticalToBigDecimalMeans(CurrencyType currencyType) {
+        //given
+        final RateSeries history = new PredictionDataSourceFactory().getRateHistoryCache().get(currencyType);
+        final Random random = new Random(currencyType.getCode().hashCode());
+
+        for (int trial = 0; trial < 200; trial++) {
+            final int windowSize = 1 + random.nextInt(trial % 2 == 0 ? 10 : 400);
+            final int windowEnd = windowSize + random.nextInt(history.size() - windowSize + 1);
+            final RateSeries window = history.slice(windowEnd - windowSize, windowEnd);
+            final int days = 1 + random.nextInt(500);
+            final LocalDate startDate = window.getDate(windowSize - 1).plusDays(1);
+
+            //when
+            final List<RatePrediction> actual = new MeanRatePredictor(windowSize)
+                    .predict(window, startDate, startDate.plusDays(days - 1L));
+
+            //then
+            Assertions.assertThat(actual)
+                    .extracting(RatePrediction::getRate)
+                    .as("window of %d rates ending at %s", windowSize, window.getDate(windowSize - 1))
+                    .containsExactlyElementsOf(bigDecimalMeans(window, days));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("currencyVariants")
+    void predictHistory_whenBundledHistory_thenBitIdenticalToBigDecimalMeans(CurrencyType currencyType) {
+        //given
+        final RateSeries history = new PredictionDataSourceFactory().getRateHistoryCache().get(currencyType);
+        final int windowSize = MeanRatePredictor.DEFAULT_WINDOW_SIZE;
+
+        //when
+        final long[] actual = new MeanRatePredictor().predictHistory(history, windowSize, history.size());
+
+        //then
+        for (int i = windowSize; i < history.size(); i++) {
+            final RateSeries window = history.slice(i - windowSize, i);
+            final int days = (int) (history.getEpochDay(i) - window.getLastEpochDay());
+            final List<BigDecimal> expected = bigDecimalMeans(window, days);
+            Assertions.assertThat(RateSeries.fromScaled(actual[i - windowSize]))
+                    .isEqualTo(expected.get(days - 1));
+        }
+    }
+
+    /**
+     * Straightforward mean algorithm over {@link BigDecimal}s: the whole window is summed at every step
+     */
+    private static List<BigDecimal> bigDecimalMeans(RateSeries initialData, int days) {
+        final Deque<BigDecimal> window = new ArrayDeque<>();
+        for (int i = 0; i < initialData.size(); i++) {
+            window.addLast(initialData.getRate(i));
+        }
+
+        final List<BigDecimal> means = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            final BigDecimal mean = window.stream()
+                    .reduce(BigDecimal.ZERO, BigDecimal::add)
+                    .divide(BigDecimal.valueOf(window.size()), RateSeries.SCALE, RoundingMode.HALF_UP);
+            window.removeFirst();
+            window.addLast(mean);
+            means.add(mean);
+        }
+        return means;
+    }
+}
@@ -0,0 +1,130 @@
+package ru.liga.rateprediction.core.algorithm;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.liga.rateprediction.core.RatePrediction;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MeanRateWindowTest {
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 7, 30, 365})
+    void advance_whenManySteps_thenSameAsFullResum(int windowSize) {
+        //given
+        final Random random = new Random(windowSize);
+        final List<RatePrediction> initialData = new ArrayList<>();
+        for (int i = 0; i < windowSize; i++) {
+            initialData.add(new RatePrediction(
+                    LocalDate.of(2023, 10, 13).minusDays(i),
+                    BigDecimal.valueOf(random.nextInt(2_000_000), 4)
+            ));
+        }
+        final MeanRateWindow window = new MeanRateWindow(initialData);
+        final Deque<BigDecimal> expectedWindow = new ArrayDeque<>();
+        initialData.stream()
+                .sorted(RatePrediction.BY_DATE_ASC)
+                .forEach(x -> expectedWindow.addLast(x.getRate()));
+
+        for (int step = 1; step <= 2000; step++) {
+            //when
+            window.advance();
+
+            //then
+            final BigDecimal expectedRate = expectedWindow.stream()
+                    .reduce(BigDecimal.ZERO, BigDecimal::add)
+                    .divide(BigDecimal.valueOf(expectedWindow.size()), 4, RoundingMode.HALF_UP);
+            expectedWindow.removeFirst();
+            expectedWindow.addLast(expectedRate);
+
+            assertThat(window.getLast())
+                    .isEqualTo(new RatePrediction(LocalDate.of(2023, 10, 13).plusDays(step), expectedRate));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 7, 30, 365})
+    void advanceTo_whenFarDay_thenSameAsStepByStep(int windowSize) {
+        //given
+        final Random random = new Random(windowSize);
+        final List<RatePrediction> initialData = new ArrayList<>();
+        for (int i = 0; i < windowSize; i++) {
+            initialData.add(new RatePrediction(
+                    LocalDate.of(2023, 10, 13).minusDays(i),
+                    BigDecimal.valueOf(random.nextInt(2_000_000), 4)
+            ));
+        }
+        final MeanRateWindow fastForwarded = new MeanRateWindow(initialData);
+        final MeanRateWindow stepped = new MeanRateWindow(initialData);
+        final long targetEpochDay = LocalDate.of(2033, 10, 13).toEpochDay();
+
+        //when
+        fastForwarded.advanceTo(targetEpochDay);
+        while (stepped.getLastEpochDay() < targetEpochDay) {
+            stepped.advance();
+        }
+
+        //then
+        assertThat(fastForwarded.getLast()).isEqualTo(stepped.getLast());
+        assertThat(fastForwarded.describe()).isEqualTo(stepped.describe());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 7, 30})
+    void peek_whenGapIsLongerThanWindow_thenSameAsAdvancedCopyAndWindowIsNotChanged(int windowSize) {
+        //given
+        final Random random = new Random(windowSize);
+        final List<RatePrediction> initialData = new ArrayList<>();
+        for (int i = 0; i < windowSize; i++) {
+            initialData.add(new RatePrediction(
+                    LocalDate.of(2023, 10, 13).minusDays(i),
+                    BigDecimal.valueOf(random.nextInt(2_000_000), 4)
+            ));
+        }
+        final MeanRateWindow window = new MeanRateWindow(initialData);
+        final String initialContent = window.describe();
+        final long[] scratch = new long[windowSize];
+
+        for (int gap = 1; gap <= 3 * windowSize + 1; gap++) {
+            final long targetEpochDay = window.getLastEpochDay() + gap;
+            final MeanRateWindow advanced = new MeanRateWindow(window);
+            advanced.advanceTo(targetEpochDay);
+
+            //when
+            final long actual = window.peek(targetEpochDay, scratch);
+
+            //then
+            assertThat(actual).isEqualTo(advanced.getLastScaledRate());
+            assertThat(window.describe()).isEqualTo(initialContent);
+        }
+    }
+
+    @Test
+    void advanceTo_whenWindowIsSteady_thenKeepsRate() {
+        //given
+        final MeanRateWindow window = new MeanRateWindow(List.of(
+                new RatePrediction(LocalDate.of(2023, 10, 12), new BigDecimal("2.0000")),
+                new RatePrediction(LocalDate.of(2023, 10, 13), new BigDecimal("2.0000"))
+        ));
+
+        //when
+        window.advanceTo(LocalDate.of(2023, 10, 15).toEpochDay());
+        final boolean steady = window.isSteady();
+        window.advanceTo(LocalDate.of(3023, 10, 13).toEpochDay());
+
+        //then
+        assertThat(steady).isTrue();
+        assertThat(window.getLast())
+                .isEqualTo(new RatePrediction(LocalDate.of(3023, 10, 13), new BigDecimal("2.0000")));
+        assertThat(window.describe()).contains("3023-10-12 - 2.0000", "3023-10-13 - 2.0000");
+    }
+}
@@ -0,0 +1,137 @@
+package ru.liga.rateprediction.core.algorithm;
+
+import org.apache.commons.lang3.NotImplementedException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RatePredictorFactoryTest {
+    @Test
+    void create_whenDefaultFactory_thenAllAlgorithmsAreDiscovered() {
+        //given
+        final RatePredictorFactory ratePredictorFactory = new RatePredictorFactory();
+
+        //when + then
+        assertThat(ratePredictorFactory.create(RatePredictionAlgorithm.MEAN))
+                .isInstanceOf(MeanRatePredictor.class);
+        assertThat(ratePredictorFactory.create(RatePredictionAlgorithm.LINEAR_REGRESSION))
+                .isInstanceOf(LinearRegressionRatePredictor.class);
+        assertThat(ratePredictorFactory.create(RatePredictionAlgorithm.EXPONENTIAL_SMOOTHING))
+                .isInstanceOf(ExponentialSmoothingRatePredictor.class);
+    }
+
+    @Test
+    void create_whenWindowIsProvided_thenPredictorUsesIt() {
+        //given
+        final RatePredictorFactory ratePredictorFactory = new RatePredictorFactory();
+        final RatePredictorParams params = RatePredictorParams.builder().window(30).build();
+
+        //when
+        final RatePredictor mean = ratePredictorFactory.create(RatePredictionAlgorithm.MEAN, params);
+        final RatePredictor linear = ratePredictorFactory.create(RatePredictionAlgorithm.LINEAR_REGRESSION, params);
+
+        //then
+        assertThat(mean.getHistoryDepth()).isEqualTo(30);
+        assertThat(linear.getHistoryDepth()).isEqualTo(30);
+        assertThat(ratePredictorFactory.create(RatePredictionAlgorithm.MEAN).getHistoryDepth())
+                .isEqualTo(MeanRatePredictor.DEFAULT_WINDOW_SIZE);
+        assertThat(ratePredictorFactory.create(RatePredictionAlgorithm.LINEAR_REGRESSION).getHistoryDepth())
+                .isEqualTo(Integer.MAX_VALUE);
+        assertThat(ratePredictorFactory.create(
+                RatePredictionAlgorithm.MEAN, RatePredictorParams.builder().window(30).build()
+        )).isSameAs(mean);
+    }
+
+    @Test
+    void create_whenWindowIsNotPositive_thenThrowIAE() {
+        //given
+        final RatePredictorFactory ratePredictorFactory = new RatePredictorFactory();
+        final RatePredictorParams params = RatePredictorParams.builder().window(0).build();
+
+        //when + then
+        for (RatePredictionAlgorithm algorithm : RatePredictionAlgorithm.PREDEFINED) {
+            assertThatThrownBy(() -> ratePredictorFactory.create(algorithm, params))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void create_whenWindowIsGreaterThanMax_thenThrowIAE() {
+        //given
+        final RatePredictorFactory ratePredictorFactory = new RatePredictorFactory();
+        final RatePredictorParams params = RatePredictorParams.builder()
+                .window(RatePredictorParams.MAX_WINDOW + 1)
+                .build();
+
+        //when + then
+        for (RatePredictionAlgorithm algorithm : RatePredictionAlgorithm.PREDEFINED) {
+            assertThatThrownBy(() -> ratePredictorFactory.create(algorithm, params))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        final RatePredictorParams maxWindowParams = RatePredictorParams.builder()
+                .window(RatePredictorParams.MAX_WINDOW)
+                .build();
+        assertThat(ratePredictorFactory.create(RatePredictionAlgorithm.MEAN, maxWindowParams)).isNotNull();
+    }
+
+    @Test
+    void loadProviders_whenAlgorithmIsProvidedTwice_thenFirstProviderWins() {
+        //given
+        final RatePredictor first = new MeanRatePredictor();
+        final RatePredictor second = new MeanRatePredictor();
+
+        //when
+        final RatePredictorFactory ratePredictorFactory = new RatePredictorFactory(RatePredictorFactory.loadProviders(
+                List.of(provider(RatePredictionAlgorithm.MEAN, first), provider(RatePredictionAlgorithm.MEAN, second))
+        ));
+
+        //then
+        assertThat(ratePredictorFactory.create(RatePredictionAlgorithm.MEAN)).isSameAs(first);
+        assertThatThrownBy(() -> ratePredictorFactory.create(RatePredictionAlgorithm.LINEAR_REGRESSION))
+                .isInstanceOf(NotImplementedException.class);
+    }
+
+    @Test
+    void findAlgorithm_whenProviderDeclaresItsOwnCode_thenAlgorithmIsFoundAndCreated() {
+        //given
+        final RatePredictionAlgorithm arima = RatePredictionAlgorithm.of("arima");
+        final RatePredictor arimaPredictor = new MeanRatePredictor();
+        final RatePredictorFactory ratePredictorFactory = new RatePredictorFactory(RatePredictorFactory.loadProviders(
+                List.of(
+                        provider(RatePredictionAlgorithm.MEAN, new MeanRatePredictor()),
+                        provider(arima, arimaPredictor)
+                )
+        ));
+
+        //when
+        final RatePredictionAlgorithm actual = ratePredictorFactory.findAlgorithm("ARIMA").orElseThrow();
+
+        //then
+        assertThat(actual).isEqualTo(arima);
+        assertThat(ratePredictorFactory.create(actual)).isSameAs(arimaPredictor);
+        assertThat(ratePredictorFactory.getAlgorithms()).containsExactly(RatePredictionAlgorithm.MEAN, arima);
+        assertThat(ratePredictorFactory.findAlgorithm("linear")).isEmpty();
+        assertThat(new RatePredictorFactory().getAlgorithms())
+                .containsExactlyElementsOf(RatePredictionAlgorithm.PREDEFINED);
+    }
+
+    private static RatePredictorProvider provider(RatePredictionAlgorithm algorithm, RatePredictor ratePredictor) {
+        return new RatePredictorProvider() {
+            @NotNull
+            @Override
+            public RatePredictionAlgorithm getAlgorithm() {
+                return algorithm;
+            }
+
+            @NotNull
+            @Override
+            public RatePredictor create(@NotNull RatePredictorParams params) {
+                return ratePredictor;
+            }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package ru.liga.rateprediction.core.algorithm;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import ru.liga.rateprediction.core.RatePrediction;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+class WindowTraceLogTest {
+    private static final int STEPS = 1_000_000;
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(WindowTraceLogTest.class);
+
+    private final MeanRateWindow window = new MeanRateWindow(List.of(
+            new RatePrediction(LocalDate.of(2023, 10, 12), BigDecimal.ONE),
+            new RatePrediction(LocalDate.of(2023, 10, 13), BigDecimal.TEN)
+    ));
+
+    @AfterEach
+    void tearDown() {
+        logger.setLevel(null);
+        logger.detachAndStopAllAppenders();
+    }
+
+    @Test
+    void trace_whenTraceIsOff_thenNothingIsAllocated() {
+        //given
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeThat(threads.isThreadAllocatedMemorySupported()).isTrue();
+        threads.setThreadAllocatedMemoryEnabled(true);
+        logger.setLevel(Level.DEBUG);
+        final WindowTraceLog traceLog = new WindowTraceLog(logger, 1);
+        // warm up, so the loop is compiled before it is measured
+        traceSteps(traceLog);
+        final long threadId = Thread.currentThread().getId();
+
+        //when
+        final long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        traceSteps(traceLog);
+        final long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        //then
+        // a few bytes of the measurement itself may be counted, but not a single object per step
+        assertThat(allocated).isLessThan(STEPS / 100);
+    }
+
+    @Test
+    void trace_whenTraceIsOn_thenOnlySampledStepsAreLogged() {
+        //given
+        final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        logger.setLevel(Level.TRACE);
+        final WindowTraceLog traceLog = new WindowTraceLog(logger, 64);
+
+        //when
+        for (int i = 0; i < 200; i++) {
+            traceLog.trace(window);
+        }
+
+        //then
+        assertThat(appender.list)
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .hasSize(4)
+                .allMatch(message -> message.contains("2023-10-13 - 10"))
+                .first().asString().startsWith("Prediction data at step 0 =");
+    }
+
+    private void traceSteps(WindowTraceLog traceLog) {
+        for (int i = 0; i < STEPS; i++) {
+            traceLog.trace(window);
+        }
+    }
+}
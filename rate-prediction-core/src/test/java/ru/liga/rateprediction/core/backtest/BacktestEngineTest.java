@@ -0,0 +1,113 @@
+package ru.liga.rateprediction.core.backtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.liga.rateprediction.core.CurrencyType;
+import ru.liga.rateprediction.core.RateSeries;
+import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
+import ru.liga.rateprediction.core.algorithm.RatePredictor;
+import ru.liga.rateprediction.core.algorithm.RatePredictorFactory;
+import ru.liga.rateprediction.core.algorithm.RatePredictorParams;
+import ru.liga.rateprediction.core.datasource.PredictionDataSourceFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class BacktestEngineTest {
+    private final RatePredictorFactory ratePredictorFactory = new RatePredictorFactory();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"mean", "linear", "smoothing"})
+    void run_whenChunksAreParallel_thenSameAsSingleChunk(String algorithmCode) {
+        //given
+        final RatePredictionAlgorithm algorithm = RatePredictionAlgorithm.of(algorithmCode);
+        final RateSeries history = new PredictionDataSourceFactory().getRateHistoryCache().get(CurrencyType.USD);
+        final RatePredictor ratePredictor = ratePredictorFactory.create(algorithm);
+        final BacktestEngine singleChunkEngine = new BacktestEngine(new ForkJoinPool(1), Integer.MAX_VALUE);
+
+        //when
+        final BacktestResult actual = new BacktestEngine().run(CurrencyType.USD, algorithm, ratePredictor, history);
+
+        //then
+        final BacktestResult expected = singleChunkEngine.run(CurrencyType.USD, algorithm, ratePredictor, history);
+        assertThat(actual.getCount()).isEqualTo(expected.getCount()).isGreaterThan(5300);
+        assertThat(actual.getMeanAbsoluteError()).isCloseTo(expected.getMeanAbsoluteError(), within(1e-9));
+        assertThat(actual.getRootMeanSquaredError()).isCloseTo(expected.getRootMeanSquaredError(), within(1e-9));
+        assertThat(actual.getMeanAbsolutePercentageError())
+                .isCloseTo(expected.getMeanAbsolutePercentageError(), within(1e-9));
+    }
+
+    @Test
+    void runAll_whenRatesGrowLinearly_thenMeasureErrors() {
+        //given
+        // rates are 1, 2, ..., 10, so mean of 7 previous rates is less than the actual rate by 4
+        final int[] epochDays = new int[10];
+        final long[] scaledRates = new long[10];
+        for (int i = 0; i < epochDays.length; i++) {
+            epochDays[i] = 19_000 + i;
+            scaledRates[i] = (i + 1) * 10_000L;
+        }
+        final RateSeries history = RateSeries.of(epochDays, scaledRates);
+
+        //when
+        final List<BacktestResult> actual = new BacktestEngine(ForkJoinPool.commonPool(), 1).runAll(
+                Map.of(CurrencyType.EUR, history),
+                Map.of(RatePredictionAlgorithm.MEAN, ratePredictorFactory.create(RatePredictionAlgorithm.MEAN))
+        );
+
+        //then
+        assertThat(actual).hasSize(1);
+        final BacktestResult result = actual.get(0);
+        assertThat(result.getCurrencyType()).isEqualTo(CurrencyType.EUR);
+        assertThat(result.getAlgorithm()).isEqualTo(RatePredictionAlgorithm.MEAN);
+        assertThat(result.getCount()).isEqualTo(3);
+        assertThat(result.getMeanAbsoluteError()).isCloseTo(4, within(1e-9));
+        assertThat(result.getRootMeanSquaredError()).isCloseTo(4, within(1e-9));
+        // (4 / 8 + 4 / 9 + 4 / 10) / 3
+        assertThat(result.getMeanAbsolutePercentageError()).isCloseTo(44.8148, within(1e-4));
+    }
+
+    @Test
+    void run_whenWindowIsLongerThanWarmup_thenDaysArePredictedFromFullWindowOnly() {
+        //given
+        // rates are 1, 2, ..., 100, so mean of 60 previous rates is less than the actual rate by 30.5
+        final int[] epochDays = new int[100];
+        final long[] scaledRates = new long[100];
+        for (int i = 0; i < epochDays.length; i++) {
+            epochDays[i] = 19_000 + i;
+            scaledRates[i] = (i + 1) * 10_000L;
+        }
+        final RateSeries history = RateSeries.of(epochDays, scaledRates);
+        final RatePredictor ratePredictor = ratePredictorFactory.create(
+                RatePredictionAlgorithm.MEAN, RatePredictorParams.builder().window(60).build()
+        );
+
+        //when
+        final BacktestResult actual = new BacktestEngine(ForkJoinPool.commonPool(), 16).run(
+                CurrencyType.EUR, RatePredictionAlgorithm.MEAN, ratePredictor, history
+        );
+
+        //then
+        assertThat(actual.getCount()).isEqualTo(40);
+        assertThat(actual.getMeanAbsoluteError()).isCloseTo(30.5, within(1e-9));
+        assertThat(actual.getRootMeanSquaredError()).isCloseTo(30.5, within(1e-9));
+    }
+
+    @Test
+    void run_whenHistoryIsTooShort_thenThrowsIAE() {
+        //given
+        final RateSeries history = RateSeries.of(new int[]{1, 2, 3}, new long[]{1, 2, 3});
+        final RatePredictor ratePredictor = ratePredictorFactory.create(RatePredictionAlgorithm.MEAN);
+
+        //when + then
+        assertThatThrownBy(() -> new BacktestEngine().run(
+                CurrencyType.EUR, RatePredictionAlgorithm.MEAN, ratePredictor, history
+        )).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,124 @@
+package ru.liga.rateprediction.core.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.liga.rateprediction.core.CurrencyPair;
+import ru.liga.rateprediction.core.CurrencyType;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RateSeries;
+import ru.liga.rateprediction.core.datasource.files.csv.RateCBRFCsvRow;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CrossRateCacheTest {
+    private static final CurrencyPair EUR_USD = new CurrencyPair(CurrencyType.EUR, CurrencyType.USD);
+
+    @Test
+    void cross_whenHistoriesHaveGaps_thenOnlyCommonDaysAreAligned() {
+        //given
+        final RateSeries base = RateSeries.of(new int[]{1, 2, 4, 5, 7}, new long[]{1_000_000, 1_100_000, 1_200_000,
+                1_300_000, 1_400_000});
+        final RateSeries quote = RateSeries.of(new int[]{2, 3, 4, 6, 7}, new long[]{1_000_000, 990_000, 900_000,
+                800_000, 30_000});
+
+        //when
+        final RateSeries actual = CrossRateCache.cross(base, NominalHistory.UNIT, quote, NominalHistory.UNIT);
+
+        //then
+        assertThat(actual).isEqualTo(RateSeries.of(new int[]{2, 4, 7}, new long[]{11_000, 13_333, 466_667}));
+    }
+
+    @Test
+    void cross_whenNominalChanges_thenRatesAreConvertedToUnitsOfDay() {
+        //given
+        final RateSeries base = RateSeries.of(new int[]{1, 2, 3}, new long[]{1_000_000, 1_000_000, 1_000_000});
+        final RateSeries quote = RateSeries.of(new int[]{1, 2, 3}, new long[]{300_000, 30_000, 300_000});
+        final NominalHistory quoteNominals = NominalHistory.fromRows(List.of(
+                new RateCBRFCsvRow(10, LocalDate.ofEpochDay(3), null, null),
+                new RateCBRFCsvRow(1, LocalDate.ofEpochDay(2), null, null),
+                new RateCBRFCsvRow(10, LocalDate.ofEpochDay(1), null, null)
+        ));
+
+        //when
+        final RateSeries actual = CrossRateCache.cross(base, NominalHistory.UNIT, quote, quoteNominals);
+
+        //then
+        assertThat(quoteNominals.getChangeCount()).isEqualTo(3);
+        assertThat(quoteNominals.nominalAt(0)).isEqualTo(10);
+        assertThat(quoteNominals.nominalAt(2)).isEqualTo(1);
+        assertThat(quoteNominals.nominalAt(100)).isEqualTo(10);
+        assertThat(actual.toRatePredictions()).extracting(RatePrediction::getRate).containsExactly(
+                new BigDecimal("33.3333"), new BigDecimal("33.3333"), new BigDecimal("33.3333")
+        );
+    }
+
+    @Test
+    void get_whenHistoryIsReloaded_thenCrossHistoryIsRecomputed() {
+        //given
+        final AtomicInteger loadsCount = new AtomicInteger();
+        final RateHistoryCache rateHistoryCache = new RateHistoryCache(currencyType -> rowsCount -> {
+            loadsCount.incrementAndGet();
+            return List.of(new RatePrediction(
+                    LocalDate.of(2023, 10, 13),
+                    currencyType == CurrencyType.EUR ? BigDecimal.valueOf(100 + loadsCount.get()) : BigDecimal.TEN
+            ));
+        });
+        final CrossRateCache crossRateCache = new CrossRateCache(rateHistoryCache);
+        final PredictionDataSource dataSource = new CrossPredictionDataSource(crossRateCache, EUR_USD);
+
+        //when
+        final RateSeries first = crossRateCache.get(EUR_USD);
+        final RateSeries cached = crossRateCache.get(EUR_USD);
+        rateHistoryCache.reload(CurrencyType.EUR);
+        final RateSeries reloaded = crossRateCache.get(EUR_USD);
+
+        //then
+        assertThat(cached).isSameAs(first);
+        assertThat(first.getRate(0)).isEqualTo(new BigDecimal("10.1000"));
+        assertThat(reloaded.getRate(0)).isEqualTo(new BigDecimal("10.3000"));
+        assertThat(dataSource.getData(10)).containsExactly(
+                new RatePrediction(LocalDate.of(2023, 10, 13), new BigDecimal("10.3000"))
+        );
+    }
+
+    @Test
+    void get_whenNominalIsChangedInReloadedFile_thenCrossRateUsesNewNominal(@TempDir Path dataDirectory)
+            throws IOException {
+        //given
+        Files.writeString(dataDirectory.resolve("USD.csv"), """
+                "nominal";"data";"curs";"cdx"
+                1;10/13/2023;100.0000;"Доллар США"
+                """, StandardCharsets.UTF_8);
+        final Path jpyFile = dataDirectory.resolve("JPY.csv");
+        Files.writeString(jpyFile, """
+                "nominal";"data";"curs";"cdx"
+                100;10/13/2023;50.0000;"Японская иена"
+                """, StandardCharsets.UTF_8);
+        final PredictionDataSourceFactory factory = new PredictionDataSourceFactory(null, dataDirectory);
+        final CurrencyType jpy = factory.getCurrencyCatalog().byCode("JPY").orElseThrow();
+        final CurrencyPair usdJpy = new CurrencyPair(CurrencyType.USD, jpy);
+
+        //when
+        final RateSeries first = factory.getCrossRateCache().get(usdJpy);
+        Files.writeString(jpyFile, """
+                "nominal";"data";"curs";"cdx"
+                10;10/13/2023;5.0000;"Японская иена"
+                """, StandardCharsets.UTF_8);
+        factory.getRateHistoryCache().reload(jpy);
+        final RateSeries reloaded = factory.getCrossRateCache().get(usdJpy);
+
+        //then
+        assertThat(first.getRate(0)).isEqualTo(new BigDecimal("200.0000"));
+        assertThat(reloaded.getRate(0)).isEqualTo(new BigDecimal("200.0000"));
+        assertThat(factory.getRateHistoryCache().getStore(jpy).getNominals().nominalAt(0)).isEqualTo(10);
+    }
+}
@@ -6,6 +6,7 @@ import com.opencsv.exceptions.CsvException;
 import lombok.Data;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.Test;
+import ru.liga.rateprediction.core.CurrencyType;
 import ru.liga.rateprediction.core.RatePrediction;
 import ru.liga.rateprediction.core.datasource.files.csv.CsvParserParams;
 import ru.liga.rateprediction.core.datasource.files.csv.CsvToBeanReader;
@@ -19,6 +20,23 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
 class CsvFileDataSourceTest {
 
+    @Test
+    void getData_whenCreatedByFactoryWithAnyReader_thenSameAsCachedRows() {
+        //given
+        final PredictionDataSourceFactory factory = new PredictionDataSourceFactory();
+        final List<RatePrediction> expected = factory.create(CurrencyType.USD).getData(365);
+
+        //when
+        final List<RatePrediction> openCsvRows = factory.createCsv(CurrencyType.USD, CsvToBeanReader.openCSV())
+                .getData(365);
+        final List<RatePrediction> cbrfRows = factory.createCsv(CurrencyType.USD, CsvToBeanReader.cbrf())
+                .getData(365);
+
+        //then
+        assertThat(openCsvRows).isEqualTo(expected);
+        assertThat(cbrfRows).isEqualTo(expected);
+    }
+
     @Test
     void getData_whenNoFile_thenThrowIAE() {
         //given
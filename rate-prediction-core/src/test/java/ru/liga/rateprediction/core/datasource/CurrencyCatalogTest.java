@@ -0,0 +1,115 @@
+package ru.liga.rateprediction.core.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.liga.rateprediction.core.CurrencyType;
+import ru.liga.rateprediction.core.RatePrediction;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CurrencyCatalogTest {
+    private static final String CSV = """
+            "nominal";"data";"curs";"cdx"
+            100;10/13/2023;3.2000;"Japanese yen"
+            100;10/12/2023;3.1000;"Japanese yen"
+            """;
+
+    @TempDir
+    Path dataDirectory;
+
+    @Test
+    void fromDirectory_whenFilesAreNamedByCodes_thenCurrenciesAreDiscoveredAndKnown() throws IOException {
+        //given
+        Files.writeString(dataDirectory.resolve("JPY.csv"), CSV, StandardCharsets.UTF_8);
+        Files.writeString(dataDirectory.resolve("usd.csv"), CSV, StandardCharsets.UTF_8);
+        Files.writeString(dataDirectory.resolve("readme.csv"), CSV, StandardCharsets.UTF_8);
+        Files.writeString(dataDirectory.resolve("GBP.txt"), CSV, StandardCharsets.UTF_8);
+
+        //when
+        final CurrencyCatalog actual = CurrencyCatalog.fromDirectory(dataDirectory);
+
+        //then
+        final CurrencyType jpy = actual.byCode("jpy").orElseThrow();
+        assertThat(actual.getCurrencyTypes()).containsExactly(jpy, CurrencyType.USD);
+        assertThat(actual.byCode("JPY")).containsSame(jpy);
+        assertThat(actual.byCode("Jpy")).containsSame(jpy);
+        assertThat(actual.byCode("GBP")).isEmpty();
+        assertThat(actual.byCode("readme")).isEmpty();
+        assertThat(actual.contains(CurrencyType.EUR)).isFalse();
+        assertThat(actual.getFileName(CurrencyType.USD)).contains(Path.of("usd.csv"));
+        assertThat(actual.getFileName(jpy)).contains(Path.of("JPY.csv"));
+    }
+
+    @Test
+    void fromDirectory_whenOtherCatalogDiscoveredCurrency_thenItIsNotKnown(@TempDir Path otherDirectory)
+            throws IOException {
+        //given
+        Files.writeString(otherDirectory.resolve("NOK.csv"), CSV, StandardCharsets.UTF_8);
+        CurrencyCatalog.fromDirectory(otherDirectory);
+
+        //when
+        final CurrencyCatalog actual = CurrencyCatalog.fromDirectory(dataDirectory);
+
+        //then
+        assertThat(actual.byCode("NOK")).isEmpty();
+        assertThat(actual.getCurrencyTypes()).isEmpty();
+    }
+
+    @Test
+    void create_whenFileNameIsInLowerCase_thenFileIsReadByItsName() throws IOException {
+        //given
+        Files.writeString(dataDirectory.resolve("chf.csv"), CSV, StandardCharsets.UTF_8);
+        final PredictionDataSourceFactory factory = new PredictionDataSourceFactory(null, dataDirectory);
+        final CurrencyType chf = factory.getCurrencyCatalog().byCode("CHF").orElseThrow();
+
+        //when
+        final RatePrediction latest = factory.create(chf).getData(1).get(0);
+
+        //then
+        assertThat(latest).isEqualTo(new RatePrediction(LocalDate.of(2023, 10, 13), new BigDecimal("3.2000")));
+    }
+
+    @Test
+    void create_whenCurrencyIsDiscovered_thenHistoryIsLoadedOnFirstQuery() throws IOException {
+        //given
+        Files.writeString(dataDirectory.resolve("CHF.csv"), CSV, StandardCharsets.UTF_8);
+        final PredictionDataSourceFactory factory = new PredictionDataSourceFactory(null, dataDirectory);
+        final CurrencyType chf = factory.getCurrencyCatalog().byCode("chf").orElseThrow();
+
+        //when
+        final RateHistoryCache rateHistoryCache = factory.getRateHistoryCache();
+        final long missesBeforeQuery = rateHistoryCache.getMissCount();
+        final RatePrediction latest = factory.create(chf).getData(1).get(0);
+
+        //then
+        assertThat(factory.getCurrencyCatalog().getCurrencyTypes()).containsExactly(chf);
+        assertThat(missesBeforeQuery).isZero();
+        assertThat(rateHistoryCache.getMissCount()).isEqualTo(1);
+        assertThat(latest).isEqualTo(new RatePrediction(LocalDate.of(2023, 10, 13), new BigDecimal("3.2000")));
+    }
+
+    @Test
+    void fromClasspathIndex_whenBundledData_thenContainsBundledCurrencies() {
+        //when
+        final CurrencyCatalog actual = CurrencyCatalog.fromClasspathIndex("/data/csv/currencies.txt");
+
+        //then
+        assertThat(actual.getCurrencyTypes()).containsExactly(CurrencyType.EUR, CurrencyType.TRY, CurrencyType.USD);
+    }
+
+    @Test
+    void of_whenCodeIsNotThreeLetters_thenThrowsIAE() {
+        //when + then
+        assertThatThrownBy(() -> CurrencyType.of("US")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CurrencyType.of("US1")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(CurrencyType.of("usd")).isEqualTo(CurrencyType.USD);
+    }
+}
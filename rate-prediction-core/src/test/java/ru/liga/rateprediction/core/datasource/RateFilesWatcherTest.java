@@ -0,0 +1,112 @@
+package ru.liga.rateprediction.core.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.liga.rateprediction.core.CurrencyType;
+import ru.liga.rateprediction.core.RateSeries;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateFilesWatcherTest {
+    private static final String HEADER = "\"nominal\";\"data\";\"curs\";\"cdx\"\n";
+    private static final String OCTOBER_13 = "1;10/13/2023;96.9948;\"Доллар США\"\n";
+    private static final String OCTOBER_12 = "1;10/12/2023;99.9808;\"Доллар США\"\n";
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @TempDir
+    private Path dataDirectory;
+
+    @Test
+    void getSeries_whenDataDirectoryIsConfigured_thenReadsFilesystem() throws IOException {
+        //given
+        write("USD.csv", HEADER + OCTOBER_13 + OCTOBER_12);
+        final PredictionDataSourceFactory factory = new PredictionDataSourceFactory(null, dataDirectory);
+
+        //when
+        final RateSeries series = factory.create(CurrencyType.USD).getSeries(Integer.MAX_VALUE);
+
+        //then
+        assertThat(series.size()).isEqualTo(2);
+        assertThat(series.getDate(1)).isEqualTo(LocalDate.of(2023, 10, 13));
+        assertThat(series.getRate(1)).isEqualTo(new BigDecimal("96.9948"));
+        assertThatThrownBy(() -> factory.create(CurrencyType.EUR).getSeries(1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void watchDataDirectory_whenFileIsChanged_thenReloadsOnlyItsCurrency() throws Exception {
+        //given
+        write("USD.csv", HEADER + OCTOBER_12);
+        write("EUR.csv", HEADER + OCTOBER_12);
+        final PredictionDataSourceFactory factory = new PredictionDataSourceFactory(null, dataDirectory);
+        final RateHistoryCache cache = factory.getRateHistoryCache();
+        cache.get(CurrencyType.USD);
+        final RateSeries eurHistory = cache.get(CurrencyType.EUR);
+
+        try (RateFilesWatcher ignored = factory.watchDataDirectory()) {
+            //when
+            write("USD.csv", HEADER + OCTOBER_13 + OCTOBER_12);
+            write("notes.txt", "not a currency");
+
+            //then
+            final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (cache.get(CurrencyType.USD).size() != 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertThat(cache.get(CurrencyType.USD).size()).isEqualTo(2);
+            assertThat(cache.get(CurrencyType.EUR)).isSameAs(eurHistory);
+        }
+    }
+
+    @Test
+    void watchDataDirectory_whenChangedFileIsBroken_thenKeepsPreviousHistory() throws Exception {
+        //given
+        write("USD.csv", HEADER + OCTOBER_12);
+        final PredictionDataSourceFactory factory = new PredictionDataSourceFactory(null, dataDirectory);
+        final RateHistoryCache cache = factory.getRateHistoryCache();
+        final RateSeries usdHistory = cache.get(CurrencyType.USD);
+
+        try (RateFilesWatcher ignored = factory.watchDataDirectory()) {
+            //when
+            write("USD.csv", HEADER + "1;13.10.2023;96.9948;\"Доллар США\"\n");
+            final long missCount = cache.getMissCount();
+            final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (cache.getMissCount() == missCount && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+
+            //then
+            assertThat(cache.getMissCount()).isGreaterThan(missCount);
+            assertThat(cache.get(CurrencyType.USD)).isSameAs(usdHistory);
+        }
+    }
+
+    @Test
+    void watchDataDirectory_whenNoDataDirectory_thenThrowISE() {
+        //given
+        final PredictionDataSourceFactory factory = new PredictionDataSourceFactory();
+
+        //when + then
+        assertThatThrownBy(factory::watchDataDirectory).isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * Writes file atomically, as exports should be published into watched directory
+     */
+    private void write(String fileName, String content) throws IOException {
+        final Path temp = Files.createTempFile(dataDirectory.getParent(), fileName, ".tmp");
+        Files.writeString(temp, content, StandardCharsets.UTF_8);
+        Files.move(
+                temp, dataDirectory.resolve(fileName), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE
+        );
+    }
+}
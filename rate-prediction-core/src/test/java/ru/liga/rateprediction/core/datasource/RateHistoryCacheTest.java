@@ -0,0 +1,153 @@
+package ru.liga.rateprediction.core.datasource;
+
+import org.junit.jupiter.api.Test;
+import ru.liga.rateprediction.core.CurrencyType;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RateSeries;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateHistoryCacheTest {
+    private static final List<RatePrediction> HISTORY = List.of(
+            new RatePrediction(LocalDate.of(2023, 10, 13), new BigDecimal("3.0000")),
+            new RatePrediction(LocalDate.of(2023, 10, 12), new BigDecimal("2.0000")),
+            new RatePrediction(LocalDate.of(2023, 10, 11), new BigDecimal("1.0000"))
+    );
+
+    private final AtomicInteger loadsCount = new AtomicInteger();
+
+    private final RateHistoryCache rateHistoryCache = new RateHistoryCache(currencyType -> rowsCount -> {
+        loadsCount.incrementAndGet();
+        return HISTORY.subList(0, Math.min(rowsCount, HISTORY.size()));
+    });
+
+    @Test
+    void getData_whenCalledRepeatedly_thenLoadsHistoryOnce() {
+        //given
+        final PredictionDataSource dataSource = new CachedPredictionDataSource(rateHistoryCache, CurrencyType.USD);
+
+        //when
+        final List<RatePrediction> first = dataSource.getData(2);
+        final List<RatePrediction> second = dataSource.getData(5);
+        final RateSeries series = dataSource.getSeries(2);
+
+        //then
+        assertThat(first).containsExactlyElementsOf(HISTORY.subList(0, 2));
+        assertThat(second).containsExactlyElementsOf(HISTORY);
+        assertThat(series.toRatePredictions()).containsExactly(HISTORY.get(1), HISTORY.get(0));
+        assertThat(loadsCount).hasValue(1);
+        assertThat(rateHistoryCache.getMissCount()).isEqualTo(1);
+        assertThat(rateHistoryCache.getHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getLatest_whenHistoryIsNotLoaded_thenNewestRowsAreReadOnceUntilReload() {
+        //given
+        final List<Integer> requestedCounts = new ArrayList<>();
+        final List<RatePrediction> longHistory = IntStream.range(0, 2 * RateHistoryCache.MIN_LATEST_ROWS)
+                .mapToObj(i -> new RatePrediction(LocalDate.of(2023, 10, 13).minusDays(i), BigDecimal.valueOf(i)))
+                .toList();
+        final RateHistoryCache cache = new RateHistoryCache(currencyType -> rowsCount -> {
+            requestedCounts.add(rowsCount);
+            return longHistory.subList(0, Math.min(rowsCount, longHistory.size()));
+        });
+
+        //when
+        cache.getLatest(CurrencyType.USD, 7);
+        cache.getLatest(CurrencyType.USD, 30);
+        final RateSeries longer = cache.getLatest(CurrencyType.USD, RateHistoryCache.MIN_LATEST_ROWS + 1);
+        cache.getLatest(CurrencyType.USD, 7);
+        cache.invalidate(CurrencyType.USD);
+        final RateSeries afterInvalidate = cache.getLatest(CurrencyType.USD, 7);
+
+        //then
+        assertThat(longer.size()).isEqualTo(RateHistoryCache.MIN_LATEST_ROWS + 1);
+        assertThat(afterInvalidate.getRate(6)).isEqualTo(new BigDecimal("0.0000"));
+        assertThat(requestedCounts).containsExactly(
+                RateHistoryCache.MIN_LATEST_ROWS, RateHistoryCache.MIN_LATEST_ROWS + 1, RateHistoryCache.MIN_LATEST_ROWS
+        );
+        assertThat(cache.getMissCount()).isEqualTo(3);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getLatest_whenAllRowsAreRequested_thenFullHistoryIsLoaded() {
+        //when
+        rateHistoryCache.getLatest(CurrencyType.USD, Integer.MAX_VALUE);
+        final RateHistoryStore store = rateHistoryCache.getStore(CurrencyType.USD);
+
+        //then
+        assertThat(store.getSeries().toRatePredictionsDescending()).containsExactlyElementsOf(HISTORY);
+        assertThat(loadsCount).hasValue(1);
+    }
+
+    @Test
+    void get_whenInvalidatedOrReloaded_thenLoadsHistoryAgain() {
+        //given
+        rateHistoryCache.get(CurrencyType.EUR);
+
+        //when
+        rateHistoryCache.invalidate(CurrencyType.EUR);
+        rateHistoryCache.get(CurrencyType.EUR);
+        rateHistoryCache.reload(CurrencyType.EUR);
+        rateHistoryCache.get(CurrencyType.EUR);
+
+        //then
+        assertThat(loadsCount).hasValue(3);
+        assertThat(rateHistoryCache.getMissCount()).isEqualTo(3);
+        assertThat(rateHistoryCache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reload_whenCalledConcurrently_thenLoadsOfCurrencyDoNotOverlap() throws InterruptedException {
+        //given
+        final AtomicInteger activeLoads = new AtomicInteger();
+        final AtomicInteger maxActiveLoads = new AtomicInteger();
+        final RateHistoryCache slowCache = new RateHistoryCache(currencyType -> rowsCount -> {
+            maxActiveLoads.accumulateAndGet(activeLoads.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                activeLoads.decrementAndGet();
+            }
+            return HISTORY;
+        });
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        //when
+        for (int i = 0; i < 8; i++) {
+            executor.execute(i % 2 == 0
+                    ? () -> slowCache.reload(CurrencyType.USD)
+                    : () -> slowCache.get(CurrencyType.USD));
+        }
+        executor.shutdown();
+
+        //then
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxActiveLoads).hasValue(1);
+    }
+
+    @Test
+    void getData_whenRowsCountIsNotPositive_thenThrowIAE() {
+        //given
+        final PredictionDataSource dataSource = new CachedPredictionDataSource(rateHistoryCache, CurrencyType.TRY);
+
+        //when + then
+        assertThatThrownBy(() -> dataSource.getData(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(loadsCount).hasValue(0);
+    }
+}
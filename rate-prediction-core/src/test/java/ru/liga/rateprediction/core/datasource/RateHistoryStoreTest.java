@@ -0,0 +1,77 @@
+package ru.liga.rateprediction.core.datasource;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RateSeries;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateHistoryStoreTest {
+    private static final LocalDate FRIDAY = LocalDate.of(2023, 10, 13);
+
+    private static final RateHistoryStore STORE = new RateHistoryStore(RateSeries.fromPredictions(List.of(
+            new RatePrediction(FRIDAY.minusDays(1), new BigDecimal("1.0000")),
+            new RatePrediction(FRIDAY, new BigDecimal("2.0000")),
+            new RatePrediction(FRIDAY.plusDays(3), new BigDecimal("3.0000"))
+    )));
+
+    @ParameterizedTest
+    @MethodSource("asOfArgs")
+    void getAsOf_whenDateIsInGap_thenReturnLastRateBefore(LocalDate date, Optional<RatePrediction> expected) {
+        //given
+        //no setup
+
+        //when
+        final Optional<RatePrediction> actual = STORE.getAsOf(date);
+
+        //then
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @MethodSource("latestAsOfArgs")
+    void getLatest_whenAsOfDate_thenReturnOnlyKnownRates(LocalDate date, List<RatePrediction> expected) {
+        //given
+        //no setup
+
+        //when
+        final RateSeries actual = STORE.getLatest(2, date);
+
+        //then
+        assertThat(actual.toRatePredictions()).containsExactlyElementsOf(expected);
+    }
+
+    private static Stream<Arguments> asOfArgs() {
+        return Stream.of(
+                Arguments.of(FRIDAY.minusDays(2), Optional.empty()),
+                Arguments.of(FRIDAY, Optional.of(new RatePrediction(FRIDAY, new BigDecimal("2.0000")))),
+                Arguments.of(FRIDAY.plusDays(2), Optional.of(new RatePrediction(FRIDAY, new BigDecimal("2.0000")))),
+                Arguments.of(
+                        FRIDAY.plusYears(1),
+                        Optional.of(new RatePrediction(FRIDAY.plusDays(3), new BigDecimal("3.0000")))
+                )
+        );
+    }
+
+    private static Stream<Arguments> latestAsOfArgs() {
+        return Stream.of(
+                Arguments.of(FRIDAY.minusDays(2), List.of()),
+                Arguments.of(FRIDAY.plusDays(1), List.of(
+                        new RatePrediction(FRIDAY.minusDays(1), new BigDecimal("1.0000")),
+                        new RatePrediction(FRIDAY, new BigDecimal("2.0000"))
+                )),
+                Arguments.of(FRIDAY.plusDays(3), List.of(
+                        new RatePrediction(FRIDAY, new BigDecimal("2.0000")),
+                        new RatePrediction(FRIDAY.plusDays(3), new BigDecimal("3.0000"))
+                ))
+        );
+    }
+}
@@ -0,0 +1,110 @@
+package ru.liga.rateprediction.core.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RateSeries;
+import ru.liga.rateprediction.core.datasource.files.snapshot.RateSnapshotFiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnapshotPredictionDataSourceTest {
+    private static final String CSV_PATH = "/datasource/beans.csv";
+
+    private static final List<RatePrediction> CSV_ROWS = List.of(
+            new RatePrediction(LocalDate.of(2023, 10, 24), new BigDecimal("345.6780"))
+    );
+
+    private static final RateSeries SNAPSHOT_SERIES = RateSeries.of(
+            new int[]{19_650, 19_651, 19_652},
+            new long[]{1_234_560L, 2_345_670L, 3_456_780L}
+    );
+
+    private final AtomicInteger csvReadsCount = new AtomicInteger();
+
+    private final PredictionDataSource csvDataSource = rowsCount -> {
+        csvReadsCount.incrementAndGet();
+        return CSV_ROWS;
+    };
+
+    @TempDir
+    Path snapshotDirectory;
+
+    @Test
+    void getSeries_whenSnapshotMatchesCsv_thenReadSnapshot() throws IOException {
+        //given
+        final Path snapshotPath = snapshotDirectory.resolve("beans.rsnp");
+        RateSnapshotFiles.write(snapshotPath, SNAPSHOT_SERIES, RateSnapshotFiles.checksum(readCsv()));
+        final PredictionDataSource dataSource = new SnapshotPredictionDataSource(snapshotPath, CSV_PATH, csvDataSource);
+
+        //when
+        final RateSeries actualSeries = dataSource.getSeries(2);
+        final List<RatePrediction> actualRows = dataSource.getData(1);
+
+        //then
+        assertThat(actualSeries).isEqualTo(SNAPSHOT_SERIES.latest(2));
+        assertThat(actualRows).containsExactly(SNAPSHOT_SERIES.get(2));
+        assertThat(csvReadsCount).hasValue(0);
+    }
+
+    @Test
+    void getHistory_whenSnapshotMatchesCsv_thenNominalsAreReadFromSnapshot() throws IOException {
+        //given
+        final Path snapshotPath = snapshotDirectory.resolve("beans.rsnp");
+        final NominalHistory nominals = NominalHistory.of(new int[]{19_650, 19_652}, new int[]{10, 100});
+        RateSnapshotFiles.write(snapshotPath, SNAPSHOT_SERIES, nominals, RateSnapshotFiles.checksum(readCsv()));
+        final PredictionDataSource dataSource = new SnapshotPredictionDataSource(snapshotPath, CSV_PATH, csvDataSource);
+
+        //when
+        final RateHistoryStore actual = dataSource.getHistory();
+
+        //then
+        assertThat(actual.getSeries()).isEqualTo(SNAPSHOT_SERIES);
+        assertThat(actual.getNominals().getChangeCount()).isEqualTo(2);
+        assertThat(actual.getNominals().nominalAt(19_651)).isEqualTo(10);
+        assertThat(actual.getNominals().nominalAt(19_652)).isEqualTo(100);
+        assertThat(csvReadsCount).hasValue(0);
+    }
+
+    @Test
+    void getSeries_whenSnapshotIsStale_thenReadCsv() throws IOException {
+        //given
+        final Path snapshotPath = snapshotDirectory.resolve("beans.rsnp");
+        RateSnapshotFiles.write(snapshotPath, SNAPSHOT_SERIES, RateSnapshotFiles.checksum(readCsv()) + 1);
+        final PredictionDataSource dataSource = new SnapshotPredictionDataSource(snapshotPath, CSV_PATH, csvDataSource);
+
+        //when
+        final RateSeries actual = dataSource.getSeries(2);
+
+        //then
+        assertThat(actual).isEqualTo(RateSeries.fromPredictions(CSV_ROWS));
+        assertThat(csvReadsCount).hasValue(1);
+    }
+
+    @Test
+    void getSeries_whenSnapshotIsCorruptedOrMissing_thenReadCsv() throws IOException {
+        //given
+        final Path corruptedPath = snapshotDirectory.resolve("corrupted.rsnp");
+        Files.write(corruptedPath, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25});
+        final Path missingPath = snapshotDirectory.resolve("missing.rsnp");
+
+        //when
+        new SnapshotPredictionDataSource(corruptedPath, CSV_PATH, csvDataSource).getSeries(1);
+        new SnapshotPredictionDataSource(missingPath, CSV_PATH, csvDataSource).getSeries(1);
+
+        //then
+        assertThat(csvReadsCount).hasValue(2);
+    }
+
+    private byte[] readCsv() throws IOException {
+        return ClasspathResources.readAllBytes(CSV_PATH);
+    }
+}
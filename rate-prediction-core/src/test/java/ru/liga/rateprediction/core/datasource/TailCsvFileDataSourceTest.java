@@ -0,0 +1,154 @@
+package ru.liga.rateprediction.core.datasource;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.liga.rateprediction.core.CurrencyType;
+import ru.liga.rateprediction.core.RateSeries;
+import ru.liga.rateprediction.core.datasource.files.csv.CsvParserParams;
+import ru.liga.rateprediction.core.datasource.files.csv.CsvRowOrder;
+import ru.liga.rateprediction.core.datasource.files.csv.CsvTailReader;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TailCsvFileDataSourceTest {
+    private static final CsvParserParams CBRF_PARAMS = CsvParserParams.builder()
+            .separator(';')
+            .quoteCharacter('\"')
+            .escapeCharacter('\\')
+            .build();
+
+    private static final DateTimeFormatter CBRF_DATE = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(1970, 1, 1);
+
+    private static final int ROWS_COUNT = 20_000;
+
+    @TempDir
+    Path dataDirectory;
+
+    private final AtomicLong readBytes = new AtomicLong();
+
+    @Test
+    void getSeries_whenHistoryIsNotLoaded_thenReadBytesAreBoundedByRowsCount() throws IOException {
+        //given
+        final Path file = writeOldestFirstCsv(dataDirectory.resolve("USD.csv"));
+        final RateHistoryCache rateHistoryCache = new RateHistoryCache(currencyType -> new TailCsvFileDataSource(
+                new CountingTailReader(CsvTailReader.cbrf()), CBRF_PARAMS, file, CsvRowOrder.OLDEST_FIRST
+        ));
+        final PredictionDataSource dataSource = new CachedPredictionDataSource(rateHistoryCache, CurrencyType.USD);
+
+        //when
+        final RateSeries latest = dataSource.getSeries(30);
+        final long latestReadBytes = readBytes.get();
+        final RateSeries history = rateHistoryCache.getStore(CurrencyType.USD).getSeries();
+
+        //then
+        assertThat(latest.size()).isEqualTo(30);
+        assertThat(latest.getDate(29)).isEqualTo(FIRST_DATE.plusDays(ROWS_COUNT - 1));
+        assertThat(latest.getRate(29)).isEqualTo(getRate(ROWS_COUNT - 1));
+        // header buffer, blocks scanned backwards and the newest rows themselves, whatever the size of file is
+        assertThat(latestReadBytes).isLessThan(RateHistoryCache.MIN_LATEST_ROWS * 128L + 2 * 8192L);
+        assertThat(latestReadBytes).isLessThan(Files.size(file) / 5);
+        assertThat(history.size()).isEqualTo(ROWS_COUNT);
+        assertThat(readBytes.get() - latestReadBytes).isGreaterThanOrEqualTo(Files.size(file) - 8192L);
+    }
+
+    private static Path writeOldestFirstCsv(Path file) throws IOException {
+        final StringBuilder csv = new StringBuilder("\"nominal\";\"data\";\"curs\";\"cdx\"\n");
+        for (int i = 0; i < ROWS_COUNT; i++) {
+            csv.append("1;").append(FIRST_DATE.plusDays(i).format(CBRF_DATE)).append(';')
+                    .append(getRate(i)).append(";\"Доллар США\"\n");
+        }
+        return Files.writeString(file, csv, StandardCharsets.UTF_8);
+    }
+
+    private static BigDecimal getRate(int index) {
+        return BigDecimal.valueOf(10_000 + index, 4);
+    }
+
+    /**
+     * Tail reader that counts bytes read from channels of delegate
+     */
+    private class CountingTailReader implements CsvTailReader {
+        private final CsvTailReader delegate;
+
+        private CountingTailReader(CsvTailReader delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public <T> List<T> readLatestLines(@NotNull SeekableByteChannel channel,
+                                           @NotNull CsvParserParams readerParams,
+                                           @NotNull Class<T> beanClass,
+                                           int count,
+                                           @NotNull CsvRowOrder rowOrder) throws IOException {
+            return delegate.readLatestLines(new CountingChannel(channel), readerParams, beanClass, count, rowOrder);
+        }
+    }
+
+    private class CountingChannel implements SeekableByteChannel {
+        private final SeekableByteChannel delegate;
+
+        private CountingChannel(SeekableByteChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            final int count = delegate.read(dst);
+            if (count > 0) {
+                readBytes.addAndGet(count);
+            }
+            return count;
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public SeekableByteChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public SeekableByteChannel truncate(long size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package ru.liga.rateprediction.core.files.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.liga.rateprediction.core.datasource.files.csv.CsvParserParams;
+import ru.liga.rateprediction.core.datasource.files.csv.CsvRowOrder;
+import ru.liga.rateprediction.core.datasource.files.csv.CsvTailReader;
+import ru.liga.rateprediction.core.datasource.files.csv.CsvToBeanReader;
+import ru.liga.rateprediction.core.datasource.files.csv.RateCBRFCsvRow;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+
+class CsvToBeanReaderCBRFTest {
+    private static final CsvParserParams CBRF_PARAMS = CsvParserParams.builder()
+            .separator(';')
+            .quoteCharacter('"')
+            .escapeCharacter('\\')
+            .build();
+
+    private final CsvToBeanReader csvToBeanReader = CsvToBeanReader.cbrf();
+
+    private final CsvTailReader csvTailReader = CsvTailReader.cbrf();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"EUR", "USD", "TRY"})
+    void readLines_whenReadBundledFile_thenResultIsSameAsOpenCSV(String currency) throws IOException {
+        //given
+        final String path = String.format("/data/csv/%s.csv", currency);
+
+        //when
+        final List<RateCBRFCsvRow> expected = CsvToBeanReader.openCSV()
+                .readLines(getClass().getResourceAsStream(path), CBRF_PARAMS, RateCBRFCsvRow.class, Integer.MAX_VALUE);
+        final List<RateCBRFCsvRow> actual = csvToBeanReader
+                .readLines(getClass().getResourceAsStream(path), CBRF_PARAMS, RateCBRFCsvRow.class, Integer.MAX_VALUE);
+
+        //then
+        assertThat(actual).hasSize(5399).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void readLines_whenFieldsAreQuotedAndEscaped_thenReturnUnquotedValues() throws IOException {
+        //given
+        final String csvText = "\"cdx\",\"curs\",\"data\",\"nominal\"\r\n"
+                + "\"Say \"\"hi\"\"\",\"1.5\",\"1/2/2023\",\"1,000\"\r\n"
+                + "\r\n"
+                + "\"back\\\\slash \\\"quote\\\"\", 2 ,12/31/2022,10\r\n";
+        final InputStream inputStream = new ByteArrayInputStream(csvText.getBytes(StandardCharsets.UTF_8));
+
+        //when
+        final List<RateCBRFCsvRow> actual = csvToBeanReader.readLines(
+                inputStream,
+                CsvParserParams.builder().separator(',').build(),
+                RateCBRFCsvRow.class,
+                10
+        );
+
+        //then
+        assertThat(actual).containsExactly(
+                new RateCBRFCsvRow(1000, LocalDate.of(2023, 1, 2), new BigDecimal("1.5"), "Say \"hi\""),
+                new RateCBRFCsvRow(10, LocalDate.of(2022, 12, 31), new BigDecimal("2"), "back\\slash \"quote\"")
+        );
+    }
+
+    @Test
+    void readLines_whenCountIsLessThanCountOfLines_thenReturnFirstLines() throws IOException {
+        //given
+        final String csvText = """
+                "nominal";"data";"curs";"cdx"
+                1;10/13/2023;103.0350;"Евро"
+                1;10/12/2023;105.9544;"Евро"
+                1;10/11/2023;105.6864;"Евро"
+                """;
+        final InputStream inputStream = new ByteArrayInputStream(csvText.getBytes(StandardCharsets.UTF_8));
+
+        //when
+        final List<RateCBRFCsvRow> actual = csvToBeanReader.readLines(inputStream, CBRF_PARAMS, RateCBRFCsvRow.class, 2);
+
+        //then
+        assertThat(actual).containsExactly(
+                new RateCBRFCsvRow(1, LocalDate.of(2023, 10, 13), new BigDecimal("103.0350"), "Евро"),
+                new RateCBRFCsvRow(1, LocalDate.of(2023, 10, 12), new BigDecimal("105.9544"), "Евро")
+        );
+    }
+
+    @Test
+    void readLines_whenCountIsNotPositive_thenThrowsIAE() {
+        //given
+        //no setup
+
+        //when + then
+        assertThatThrownBy(() -> csvToBeanReader.readLines(
+                new ByteArrayInputStream("mock".getBytes()),
+                CBRF_PARAMS,
+                RateCBRFCsvRow.class,
+                0
+        )).isInstanceOf(IllegalArgumentException.class).hasNoCause();
+    }
+
+    @Test
+    void readLines_whenBeanIsNotSupported_thenThrowsIAE() {
+        //given
+        //no setup
+
+        //when + then
+        assertThatThrownBy(() -> csvToBeanReader.readLines(
+                new ByteArrayInputStream("mock".getBytes()),
+                CBRF_PARAMS,
+                String.class,
+                1
+        )).isInstanceOf(IllegalArgumentException.class).hasNoCause();
+    }
+
+    @Test
+    void readLines_whenRowIsMalformed_thenThrowsIOException() {
+        //given
+        final String csvText = """
+                "nominal";"data";"curs";"cdx"
+                1;13/10/2023;103.0350;"Евро"
+                """;
+
+        //when + then
+        assertThatThrownBy(() -> csvToBeanReader.readLines(
+                new ByteArrayInputStream(csvText.getBytes(StandardCharsets.UTF_8)),
+                CBRF_PARAMS,
+                RateCBRFCsvRow.class,
+                1
+        )).isInstanceOf(IOException.class).hasMessageContaining("line 2");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"EUR", "USD", "TRY"})
+    void readLatestLines_whenFileIsNewestFirst_thenResultIsSameAsReadLines(String currency) throws IOException {
+        //given
+        final String path = String.format("/data/csv/%s.csv", currency);
+        final List<RateCBRFCsvRow> expected = csvToBeanReader
+                .readLines(getClass().getResourceAsStream(path), CBRF_PARAMS, RateCBRFCsvRow.class, 30);
+        final ByteArrayChannel channel = new ByteArrayChannel(readResource(path));
+
+        //when
+        final List<RateCBRFCsvRow> actual = csvTailReader
+                .readLatestLines(channel, CBRF_PARAMS, RateCBRFCsvRow.class, 30, CsvRowOrder.NEWEST_FIRST);
+
+        //then
+        assertThat(actual).containsExactlyElementsOf(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"EUR", "USD", "TRY"})
+    void readLatestLines_whenFileIsOldestFirst_thenReadOnlyTailOfFile(String currency) throws IOException {
+        //given
+        final String path = String.format("/data/csv/%s.csv", currency);
+        final List<RateCBRFCsvRow> newestFirst = csvToBeanReader
+                .readLines(getClass().getResourceAsStream(path), CBRF_PARAMS, RateCBRFCsvRow.class, Integer.MAX_VALUE);
+        final ByteArrayChannel channel = new ByteArrayChannel(toOldestFirst(readResource(path)));
+
+        //when
+        final List<RateCBRFCsvRow> actual = csvTailReader
+                .readLatestLines(channel, CBRF_PARAMS, RateCBRFCsvRow.class, 30, CsvRowOrder.OLDEST_FIRST);
+
+        //then
+        assertThat(actual).containsExactlyElementsOf(newestFirst.subList(0, 30));
+        // header buffer, one block scanned backwards and the tail itself, whatever the size of file is
+        assertThat(channel.getReadBytes()).isLessThan(3 * 8192L);
+    }
+
+    @Test
+    void readLatestLines_whenOldestFirstWithCRLFAndBlankLines_thenReturnNewestLines() throws IOException {
+        //given
+        final String csvText = "\"nominal\";\"data\";\"curs\";\"cdx\"\r\n"
+                + "1;10/11/2023;105.6864;\"Евро\"\r\n"
+                + "\r\n"
+                + "1;10/12/2023;105.9544;\"Евро\"\r\n"
+                + "1;10/13/2023;103.0350;\"Евро\"\r\n"
+                + "\r\n\r\n";
+        final ByteArrayChannel channel = new ByteArrayChannel(csvText.getBytes(StandardCharsets.UTF_8));
+
+        //when
+        final List<RateCBRFCsvRow> actual = csvTailReader
+                .readLatestLines(channel, CBRF_PARAMS, RateCBRFCsvRow.class, 2, CsvRowOrder.OLDEST_FIRST);
+
+        //then
+        assertThat(actual).containsExactly(
+                new RateCBRFCsvRow(1, LocalDate.of(2023, 10, 13), new BigDecimal("103.0350"), "Евро"),
+                new RateCBRFCsvRow(1, LocalDate.of(2023, 10, 12), new BigDecimal("105.9544"), "Евро")
+        );
+    }
+
+    @Test
+    void readLatestLines_whenCountIsGreaterThanCountOfLines_thenReturnAllLines() throws IOException {
+        //given
+        final String csvText = "\"nominal\";\"data\";\"curs\";\"cdx\"\n"
+                + "1;10/12/2023;105.9544;\"Евро\"\n"
+                + "1;10/13/2023;103.0350;\"Евро\"";
+        final ByteArrayChannel channel = new ByteArrayChannel(csvText.getBytes(StandardCharsets.UTF_8));
+
+        //when
+        final List<RateCBRFCsvRow> actual = csvTailReader
+                .readLatestLines(channel, CBRF_PARAMS, RateCBRFCsvRow.class, 10, CsvRowOrder.OLDEST_FIRST);
+
+        //then
+        assertThat(actual).containsExactly(
+                new RateCBRFCsvRow(1, LocalDate.of(2023, 10, 13), new BigDecimal("103.0350"), "Евро"),
+                new RateCBRFCsvRow(1, LocalDate.of(2023, 10, 12), new BigDecimal("105.9544"), "Евро")
+        );
+    }
+
+    @Test
+    void readLatestLines_whenFileHasOnlyHeader_thenReturnEmptyList() throws IOException {
+        //given
+        final ByteArrayChannel channel = new ByteArrayChannel(
+                "\"nominal\";\"data\";\"curs\";\"cdx\"\n".getBytes(StandardCharsets.UTF_8)
+        );
+
+        //when
+        final List<RateCBRFCsvRow> actual = csvTailReader
+                .readLatestLines(channel, CBRF_PARAMS, RateCBRFCsvRow.class, 10, CsvRowOrder.OLDEST_FIRST);
+
+        //then
+        assertThat(actual).isEmpty();
+    }
+
+    private byte[] readResource(String path) throws IOException {
+        try (final InputStream inputStream = getClass().getResourceAsStream(path)) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    private static byte[] toOldestFirst(byte[] newestFirstCsv) {
+        final String[] lines = new String(newestFirstCsv, StandardCharsets.UTF_8).split("\r?\n");
+        final List<String> rows = new ArrayList<>(List.of(lines).subList(1, lines.length));
+        Collections.reverse(rows);
+        return (lines[0] + "\n" + String.join("\n", rows) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * In-memory channel that counts read bytes
+     */
+    private static class ByteArrayChannel implements SeekableByteChannel {
+        private final byte[] content;
+        private int position;
+        private long readBytes;
+
+        private ByteArrayChannel(byte[] content) {
+            this.content = content;
+        }
+
+        long getReadBytes() {
+            return readBytes;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (position >= content.length) {
+                return -1;
+            }
+            final int count = Math.min(dst.remaining(), content.length - position);
+            dst.put(content, position, count);
+            position += count;
+            readBytes += count;
+            return count;
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long position() {
+            return position;
+        }
+
+        @Override
+        public SeekableByteChannel position(long newPosition) {
+            position = Math.toIntExact(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() {
+            return content.length;
+        }
+
+        @Override
+        public SeekableByteChannel truncate(long size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+    }
+}
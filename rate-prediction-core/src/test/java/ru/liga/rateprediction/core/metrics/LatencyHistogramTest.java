@@ -0,0 +1,83 @@
+package ru.liga.rateprediction.core.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+    @Test
+    void bucketIndex_whenAnyValue_thenBucketContainsValueWithSmallError() {
+        //given
+        final long[] values = {0, 1, 15, 16, 17, 31, 32, 33, 1_000, 123_456_789, Long.MAX_VALUE};
+
+        //when + then
+        int previousIndex = -1;
+        for (long value : values) {
+            final int index = LatencyHistogram.bucketIndex(value);
+            final long upperBound = LatencyHistogram.bucketUpperBound(index);
+            assertThat(index).isGreaterThanOrEqualTo(previousIndex);
+            assertThat(upperBound).isGreaterThanOrEqualTo(value);
+            assertThat((double) (upperBound - value)).isLessThanOrEqualTo(value / 16.0);
+            if (index > 0) {
+                assertThat(LatencyHistogram.bucketUpperBound(index - 1)).isLessThan(value);
+            }
+            previousIndex = index;
+        }
+    }
+
+    @Test
+    void snapshot_whenUniformValues_thenPercentilesAreClose() {
+        //given
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        //when
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+        final LatencySnapshot snapshot = histogram.snapshot();
+
+        //then
+        assertThat(snapshot.getCount()).isEqualTo(10_000);
+        assertThat(snapshot.getMeanNanos()).isEqualTo(5_000);
+        assertThat((double) snapshot.getP50Nanos()).isCloseTo(5_000, within(5_000 / 16.0));
+        assertThat((double) snapshot.getP90Nanos()).isCloseTo(9_000, within(9_000 / 16.0));
+        assertThat((double) snapshot.getP99Nanos()).isCloseTo(9_900, within(9_900 / 16.0));
+        assertThat(snapshot.getMaxNanos()).isEqualTo(10_000);
+    }
+
+    @Test
+    void record_whenConcurrentWriters_thenNoValueIsLost() throws Exception {
+        //given
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        //when
+        try {
+            final Future<?>[] futures = IntStream.range(0, 4)
+                    .mapToObj(thread -> executor.submit(() -> {
+                        for (int i = 0; i < 100_000; i++) {
+                            histogram.record(i % 100);
+                        }
+                    }))
+                    .toArray(Future[]::new);
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        //then
+        assertThat(histogram.getCount()).isEqualTo(400_000);
+        assertThat(histogram.snapshot().getCount()).isEqualTo(400_000);
+        assertThat(histogram.snapshot().getMaxNanos()).isEqualTo(99);
+        histogram.reset();
+        assertThat(histogram.snapshot()).isEqualTo(new LatencySnapshot(0, 0, 0, 0, 0, 0));
+    }
+}
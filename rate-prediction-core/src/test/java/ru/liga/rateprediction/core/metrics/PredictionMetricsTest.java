@@ -0,0 +1,63 @@
+package ru.liga.rateprediction.core.metrics;
+
+import org.junit.jupiter.api.Test;
+import ru.liga.rateprediction.core.CurrencyType;
+import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PredictionMetricsTest {
+    @Test
+    void getLatencies_whenRecorded_thenSnapshotsByName() {
+        //given
+        final PredictionMetrics metrics = new PredictionMetrics();
+
+        //when
+        metrics.recordPrediction(CurrencyType.USD, RatePredictionAlgorithm.MEAN, 1_000);
+        metrics.recordPrediction(CurrencyType.USD, RatePredictionAlgorithm.MEAN, 3_000);
+        metrics.recordCrossPrediction(RatePredictionAlgorithm.of("arima"), 5_000);
+        metrics.recordCsvLoad(10_000, 100);
+        metrics.recordMeanWindowRun(50, 7);
+        final Map<String, LatencySnapshot> latencies = metrics.getLatencies();
+
+        //then
+        assertThat(latencies.get("predict USD mean").getCount()).isEqualTo(2);
+        assertThat(latencies.get("predict USD mean").getMeanNanos()).isEqualTo(2_000);
+        assertThat(latencies.get("predict EUR mean").getCount()).isZero();
+        assertThat(latencies.get("predict cross arima").getCount()).isEqualTo(1);
+        assertThat(latencies.get("predict USD arima").getCount()).isZero();
+        assertThat(latencies.get("csv load").getCount()).isEqualTo(1);
+        assertThat(metrics.getCsvRowCount()).isEqualTo(100);
+        assertThat(metrics.getCsvRowNanos()).isEqualTo(100);
+        assertThat(latencies.get("mean window run").getCount()).isEqualTo(1);
+        assertThat(metrics.getPredictedDayCount()).isEqualTo(7);
+        metrics.reset();
+        assertThat(metrics.getLatencies().get("predict USD mean").getCount()).isZero();
+    }
+
+    @Test
+    void registerGlobalMBean_whenRegistered_thenAttributesAreReadable() throws Exception {
+        //given
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(PredictionMetrics.OBJECT_NAME);
+
+        //when
+        PredictionMetrics.registerGlobalMBean();
+        PredictionMetrics.registerGlobalMBean();
+
+        //then
+        assertThat(server.isRegistered(name)).isTrue();
+        assertThat(server.getAttribute(name, "PredictionErrorCount")).isInstanceOf(Long.class);
+        final TabularData latencies = (TabularData) server.getAttribute(name, "Latencies");
+        final CompositeData csvLoad = latencies.get(new Object[]{"csv load"});
+        assertThat(csvLoad).isNotNull();
+        assertThat(((CompositeData) csvLoad.get("value")).get("p99Nanos")).isInstanceOf(Long.class);
+    }
+}
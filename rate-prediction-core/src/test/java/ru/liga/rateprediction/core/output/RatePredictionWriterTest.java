@@ -0,0 +1,101 @@
+package ru.liga.rateprediction.core.output;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ru.liga.rateprediction.core.CurrencyType;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RatePredictionWriterTest {
+    private static final List<RatePrediction> PREDICTIONS = List.of(
+            new RatePrediction(LocalDate.of(2023, 10, 13), new BigDecimal("103.0350")),
+            new RatePrediction(LocalDate.of(2023, 10, 14), new BigDecimal("0.5")),
+            new RatePrediction(LocalDate.of(2023, 10, 15), new BigDecimal("7"))
+    );
+
+    public static Stream<Arguments> formatVariants() {
+        return Stream.<Arguments>builder()
+                .add(Arguments.of(
+                        RatePredictionFormat.JSON,
+                        "{\"currency\":\"USD\",\"algorithm\":\"mean\",\"predictions\":["
+                                + "{\"date\":\"2023-10-13\",\"rate\":103.0350},"
+                                + "{\"date\":\"2023-10-14\",\"rate\":0.5},"
+                                + "{\"date\":\"2023-10-15\",\"rate\":7}]}\n"
+                ))
+                .add(Arguments.of(
+                        RatePredictionFormat.CSV,
+                        "date,rate\n2023-10-13,103.0350\n2023-10-14,0.5\n2023-10-15,7\n"
+                ))
+                .build();
+    }
+
+    @ParameterizedTest
+    @MethodSource("formatVariants")
+    void write_whenMachineReadableFormat_thenWriteExpectedText(RatePredictionFormat format,
+                                                               String expected) throws IOException {
+        //given
+        final StringWriter out = new StringWriter();
+        final RatePredictionWriter writer = format.newWriter(out);
+
+        //when
+        writer.writeHeader(CurrencyType.USD, RatePredictionAlgorithm.MEAN);
+        for (RatePrediction prediction : PREDICTIONS) {
+            writer.write(prediction);
+        }
+        writer.writeFooter();
+
+        //then
+        assertThat(out.toString()).isEqualTo(expected);
+    }
+
+    @Test
+    void write_whenTextFormat_thenSameAsFormatters() throws IOException {
+        //given
+        final DateTimeFormatter dateFormatter = DateTimeFormatter
+                .ofPattern("E dd.MM.yyyy")
+                .withLocale(Locale.forLanguageTag("ru"));
+        final DecimalFormat rateFormat = new DecimalFormat(
+                "##.00", new DecimalFormatSymbols(Locale.forLanguageTag("ru"))
+        );
+        final Random random = new Random(19);
+        final StringWriter out = new StringWriter();
+        final StringBuilder expected = new StringBuilder();
+        final RatePredictionWriter writer = RatePredictionFormat.TEXT.newWriter(out);
+        final List<BigDecimal> rates = Stream.concat(
+                Stream.of("0.005", "0.015", "0.5", "0", "1.0050", "1.0150", "99.995", "12", "1234567.125",
+                        "0.123456789012345678901", "1E+3"
+                ).map(BigDecimal::new),
+                random.longs(1000, 0, 100_000_000).mapToObj(unscaled -> BigDecimal.valueOf(unscaled, 4))
+        ).toList();
+
+        //when
+        LocalDate date = LocalDate.of(1999, 12, 25);
+        for (BigDecimal rate : rates) {
+            date = date.plusDays(random.nextInt(40));
+            writer.write(new RatePrediction(date, rate));
+            expected.append(dateFormatter.format(date))
+                    .append(" - ")
+                    .append(rateFormat.format(rate))
+                    .append(System.lineSeparator());
+        }
+
+        //then
+        assertThat(out.toString()).isEqualTo(expected.toString());
+    }
+}
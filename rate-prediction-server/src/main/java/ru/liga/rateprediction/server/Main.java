@@ -0,0 +1,7 @@
+package ru.liga.rateprediction.server;
+
+public class Main {
+    public static void main(String[] args) {
+        RatePredictionServer.start();
+    }
+}
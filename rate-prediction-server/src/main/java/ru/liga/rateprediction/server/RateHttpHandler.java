@@ -0,0 +1,172 @@
+package ru.liga.rateprediction.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import ru.liga.rateprediction.core.PredictionRange;
+import ru.liga.rateprediction.core.output.RatePredictionFormat;
+import ru.liga.rateprediction.core.output.RatePredictionWriter;
+import ru.liga.rateprediction.core.CurrencyType;
+import ru.liga.rateprediction.core.RatePrediction;
+import ru.liga.rateprediction.core.RatePredictionFacade;
+import ru.liga.rateprediction.core.algorithm.RatePredictionAlgorithm;
+import ru.liga.rateprediction.core.algorithm.RatePredictorParams;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Handler of {@code GET /rate/{currency}?range={tomorrow|week}&alg={algorithm}&window={days}}.
+ * Range defaults to tomorrow, algorithm defaults to mean and window defaults to algorithm default, it is
+ * at most {@value RatePredictorParams#MAX_WINDOW} days.
+ * Responds with JSON: {@code {"currency":"USD","algorithm":"mean","predictions":[{"date":"2023-01-01","rate":70.1234}]}}
+ */
+@Slf4j
+@RequiredArgsConstructor
+class RateHttpHandler implements HttpHandler {
+    static final String PATH = "/rate/";
+
+    private static final String CONTENT_TYPE = "application/json; charset=utf-8";
+
+    @NotNull
+    private final RatePredictionFacade facade;
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        // errors are sent inside of try-with-resources, because exchange is already closed in its catch blocks
+        try (exchange) {
+            try {
+                respond(exchange);
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, String.valueOf(e.getMessage()));
+            } catch (RuntimeException e) {
+                log.error("Failed to handle request {}", exchange.getRequestURI(), e);
+                sendError(exchange, 500, String.valueOf(e.getMessage()));
+            }
+        }
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Allow", "GET");
+            sendError(exchange, 405, "Method " + exchange.getRequestMethod() + " is not allowed");
+            return;
+        }
+
+        final String currencyCode = exchange.getRequestURI().getPath().substring(PATH.length());
+        final CurrencyType currencyType = facade.findCurrencyType(currencyCode).orElse(null);
+        if (currencyType == null) {
+            sendError(exchange, 404, "Unknown currency: " + currencyCode);
+            return;
+        }
+
+        final Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+        final String rangeCode = params.getOrDefault("range", PredictionRange.TOMORROW.getCode());
+        final PredictionRange range = PredictionRange.byCode(rangeCode).orElse(null);
+        if (range == null) {
+            sendError(exchange, 400, "Unknown range: " + rangeCode);
+            return;
+        }
+        final String algorithmCode = params.getOrDefault("alg", RatePredictionAlgorithm.MEAN.getCode());
+        final RatePredictionAlgorithm algorithm = facade.findAlgorithm(algorithmCode).orElse(null);
+        if (algorithm == null) {
+            sendError(exchange, 400, "Unknown algorithm: " + algorithmCode);
+            return;
+        }
+
+        final RatePredictorParams predictorParams;
+        try {
+            predictorParams = RatePredictorParams.builder()
+                    .window(params.containsKey("window") ? Integer.valueOf(params.get("window")) : null)
+                    .build();
+        } catch (NumberFormatException e) {
+            sendError(exchange, 400, "Invalid window: " + params.get("window"));
+            return;
+        }
+
+        final PredictionRange.Dates dates = range.toDates();
+        final String body;
+        try (Stream<RatePrediction> predictions = facade.predictRateStream(
+                algorithm, predictorParams, currencyType, dates.getStart(), dates.getEnd()
+        )) {
+            body = toJson(currencyType, algorithm, predictions.iterator());
+        }
+        send(exchange, 200, body);
+    }
+
+    private static String toJson(CurrencyType currencyType,
+                                 RatePredictionAlgorithm algorithm,
+                                 Iterator<RatePrediction> predictions) throws IOException {
+        final StringWriter json = new StringWriter(256);
+        final RatePredictionWriter writer = RatePredictionFormat.JSON.newWriter(json);
+        writer.writeHeader(currencyType, algorithm);
+        while (predictions.hasNext()) {
+            writer.write(predictions.next());
+        }
+        writer.writeFooter();
+        // writer ends every object with a line break for console output, response body is a single object
+        return json.toString().stripTrailing();
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        final Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+
+        for (String pair : rawQuery.split("&")) {
+            final int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.putIfAbsent(
+                        URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8)
+                );
+            }
+        }
+        return params;
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, "{\"error\":\"" + escape(message) + "\"}");
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+
+    private static String escape(String value) {
+        final StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package ru.liga.rateprediction.server;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import ru.liga.rateprediction.core.RatePredictionFacade;
+import ru.liga.rateprediction.core.algorithm.RatePredictorFactory;
+import ru.liga.rateprediction.core.concurrent.PredictionExecutors;
+import ru.liga.rateprediction.core.datasource.PredictionDataSourceFactory;
+import ru.liga.rateprediction.core.metrics.PredictionMetrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Long-running HTTP front end of {@link RatePredictionFacade}. Single facade instance is shared by all requests,
+ * so rate history of every currency is loaded on its first request and stays warm in memory for the whole
+ * server lifetime. Currencies that are never requested are never loaded, however large the catalog is.
+ */
+@Slf4j
+public class RatePredictionServer {
+    /**
+     * System property with port to listen on
+     */
+    private static final String PORT_PROPERTY = "rateprediction.server.port";
+    private static final int DEFAULT_PORT = 8080;
+    private static final int BACKLOG = 1024;
+
+    private final HttpServer httpServer;
+
+    /**
+     * @param facade   facade that serves predictions
+     * @param port     port to listen on, 0 means any free port
+     * @param executor executor of request handlers
+     */
+    public RatePredictionServer(@NotNull RatePredictionFacade facade, int port, @NotNull Executor executor) {
+        try {
+            this.httpServer = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        httpServer.createContext(RateHttpHandler.PATH, new RateHttpHandler(facade));
+        httpServer.setExecutor(executor);
+    }
+
+    public static void start() {
+        final PredictionDataSourceFactory predictionDataSourceFactory =
+                PredictionDataSourceFactory.fromSystemProperties();
+        if (predictionDataSourceFactory.hasDataDirectory()) {
+            // watcher thread is daemon, so it stops together with the server
+            predictionDataSourceFactory.watchDataDirectory();
+        }
+        PredictionMetrics.registerGlobalMBean();
+
+        final RatePredictionFacade facade = new RatePredictionFacade(
+                new RatePredictorFactory(), predictionDataSourceFactory
+        );
+        final ExecutorService executor = PredictionExecutors.newDefaultExecutor("rate-prediction-server");
+        final RatePredictionServer server = new RatePredictionServer(
+                facade, Integer.getInteger(PORT_PROPERTY, DEFAULT_PORT), executor
+        );
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            executor.shutdown();
+            facade.close();
+        }, "rate-prediction-server-shutdown"));
+        server.listen();
+        log.info("Rate prediction server is listening on port {}", server.getPort());
+    }
+
+    public void listen() {
+        httpServer.start();
+    }
+
+    public void stop() {
+        httpServer.stop(0);
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+}
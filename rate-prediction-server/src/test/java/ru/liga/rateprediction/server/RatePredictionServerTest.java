@@ -0,0 +1,100 @@
+package ru.liga.rateprediction.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ru.liga.rateprediction.core.RatePredictionFacade;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RatePredictionServerTest {
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private ExecutorService executor;
+    private RatePredictionFacade facade;
+    private RatePredictionServer server;
+
+    public static Stream<Arguments> invalidRequests() {
+        return Stream.<Arguments>builder()
+                .add(Arguments.of("/rate/qwe", 404))
+                .add(Arguments.of("/rate/usd?range=qwe", 400))
+                .add(Arguments.of("/rate/usd?alg=qwe", 400))
+                .add(Arguments.of("/rate/usd?window=qwe", 400))
+                .add(Arguments.of("/rate/usd?window=0", 400))
+                .add(Arguments.of("/rate/usd?window=366", 400))
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        facade = new RatePredictionFacade();
+        server = new RatePredictionServer(facade, 0, executor);
+        server.listen();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+        executor.shutdownNow();
+        facade.close();
+    }
+
+    @Test
+    void testWeekPrediction() throws IOException, InterruptedException {
+        //when
+        final HttpResponse<String> response = get("/rate/usd?range=week&alg=mean&window=30");
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValue("application/json; charset=utf-8");
+        assertThat(response.body())
+                .startsWith("{\"currency\":\"USD\",\"algorithm\":\"mean\",\"predictions\":[")
+                .contains("{\"date\":\"" + LocalDate.now().plusDays(1) + "\",\"rate\":")
+                .contains("{\"date\":\"" + LocalDate.now().plusDays(7) + "\",\"rate\":")
+                .doesNotContain(LocalDate.now().plusDays(8).toString())
+                .endsWith("}]}");
+    }
+
+    @Test
+    void testDefaultsToTomorrow() throws IOException, InterruptedException {
+        //when
+        final HttpResponse<String> response = get("/rate/EUR");
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body())
+                .contains("\"date\":\"" + LocalDate.now().plusDays(1) + "\"")
+                .doesNotContain(LocalDate.now().plusDays(2).toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidRequests")
+    void testInvalidRequest(String path, int expectedStatus) throws IOException, InterruptedException {
+        //when
+        final HttpResponse<String> response = get(path);
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(expectedStatus);
+        assertThat(response.body()).startsWith("{\"error\":\"");
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return httpClient.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+    }
+}